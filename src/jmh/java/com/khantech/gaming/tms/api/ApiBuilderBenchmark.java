@@ -0,0 +1,51 @@
+package com.khantech.gaming.tms.api;
+
+import com.khantech.gaming.tms.dto.TransactionResponseDto;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of wrapping a response item in the API envelope, and of its UTC timestamp on its own, cached per second,
+ * against formatting it for every response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiBuilderBenchmark {
+    private final ApiBuilder apiBuilder = new ApiBuilder() {
+    };
+    private TransactionResponseDto response;
+
+    @Setup
+    public void setUp() {
+        response = new TransactionResponseDto();
+        response.setId(42L);
+        response.setWalletId(1L);
+        response.setAmount(new BigDecimal("123.45"));
+        response.setStatus(TransactionStatus.APPROVED);
+    }
+
+    @Benchmark
+    public SingleMessage<TransactionResponseDto> generateSingleMessage() {
+        return apiBuilder.generateSingleMessage(response);
+    }
+
+    @Benchmark
+    public String timeStamp() {
+        return apiBuilder.timeStamp();
+    }
+
+    @Benchmark
+    public String formattedTimeStamp() {
+        return LocalDateTime.now(ZoneId.of("UTC")).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+}
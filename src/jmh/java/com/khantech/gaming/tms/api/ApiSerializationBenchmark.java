@@ -0,0 +1,65 @@
+package com.khantech.gaming.tms.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khantech.gaming.tms.mapper.TransactionEntityToDtoMapper;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping transactions and writing them as a collection response, from the entities to the response bytes.
+ * The entities are converted into a list of DTOs first and the envelope and DTOs are written by the default bean
+ * serializers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiSerializationBenchmark {
+    private final ApiBuilder apiBuilder = new ApiBuilder() {
+    };
+    private final TransactionEntityToDtoMapper mapper = new TransactionEntityToDtoMapper();
+    // The output stream is reused across invocations, so the mapper must not close it
+    private final ObjectMapper reflectiveMapper = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    @Param({"1", "50", "500"})
+    private int items;
+
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        transactions = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i);
+            transaction.setWallet(wallet);
+            transaction.setAmount(12_345L + i);
+            transaction.setTransactionType(i % 2 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT);
+            transaction.setStatus(TransactionStatus.APPROVED);
+            transaction.setCreatedAt(LocalDateTime.now());
+            transactions.add(transaction);
+        }
+    }
+
+    @Benchmark
+    public void reflective() throws IOException {
+        reflectiveMapper.writeValue(out, apiBuilder.generateCollectionMessage(mapper.convertToList(transactions)));
+    }
+}
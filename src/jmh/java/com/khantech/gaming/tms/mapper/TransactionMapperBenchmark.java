@@ -0,0 +1,44 @@
+package com.khantech.gaming.tms.mapper;
+
+import com.khantech.gaming.tms.dto.TransactionResponseDto;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting a transaction entity into its response DTO, including the minor unit to decimal conversion
+ * and the creation time to epoch millis conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionMapperBenchmark {
+    private final TransactionEntityToDtoMapper mapper = new TransactionEntityToDtoMapper();
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        transaction = new Transaction();
+        transaction.setId(42L);
+        transaction.setWallet(wallet);
+        transaction.setAmount(12_345L);
+        transaction.setTransactionType(TransactionType.CREDIT);
+        transaction.setStatus(TransactionStatus.APPROVED);
+        transaction.setCreatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public TransactionResponseDto convert() {
+        return mapper.convert(transaction);
+    }
+}
@@ -0,0 +1,18 @@
+package com.khantech.gaming.tms.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Switches the application loggers between the levels compared by the benchmarks.
+ */
+public final class BenchmarkLogging {
+    private BenchmarkLogging() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static void setApplicationLevel(String level) {
+        ((Logger) LoggerFactory.getLogger("com.khantech.gaming.tms")).setLevel(Level.toLevel(level, Level.OFF));
+    }
+}
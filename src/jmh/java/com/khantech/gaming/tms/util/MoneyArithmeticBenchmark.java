@@ -0,0 +1,71 @@
+package com.khantech.gaming.tms.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the effective balance check and of a settlement net delta over a chunk of amounts, with
+ * {@link BigDecimal} against {@code long} minor units. Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+    private static final int CHUNK = 1_000;
+
+    private final BigDecimal[] decimalAmounts = new BigDecimal[CHUNK];
+    private final long[] minorAmounts = new long[CHUNK];
+
+    private BigDecimal decimalBalance;
+    private BigDecimal decimalReserved;
+    private long minorBalance;
+    private long minorReserved;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < CHUNK; i++) {
+            long cents = 1 + (i * 7919L) % 250_000;
+            minorAmounts[i] = cents;
+            decimalAmounts[i] = MoneyUtil.toDecimal(cents);
+        }
+        decimalBalance = new BigDecimal("100000.00");
+        decimalReserved = new BigDecimal("25000.00");
+        minorBalance = MoneyUtil.toMinorUnits(decimalBalance);
+        minorReserved = MoneyUtil.toMinorUnits(decimalReserved);
+    }
+
+    @Benchmark
+    public boolean effectiveBalanceCheckBigDecimal() {
+        return decimalBalance.subtract(decimalReserved).compareTo(decimalAmounts[CHUNK / 2]) >= 0;
+    }
+
+    @Benchmark
+    public boolean effectiveBalanceCheckMinorUnits() {
+        return MoneyUtil.subtract(minorBalance, minorReserved) >= minorAmounts[CHUNK / 2];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public BigDecimal settlementDeltaBigDecimal() {
+        BigDecimal delta = BigDecimal.ZERO;
+        for (BigDecimal amount : decimalAmounts) {
+            delta = delta.add(amount);
+        }
+        return delta;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public long settlementDeltaMinorUnits() {
+        long delta = 0;
+        for (long amount : minorAmounts) {
+            delta = MoneyUtil.add(delta, amount);
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,79 @@
+package com.khantech.gaming.tms.validation;
+
+import com.khantech.gaming.tms.config.InstrumentationSettings;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.util.BenchmarkLogging;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of running a transaction through the full validation pipeline, with the application loggers off and at
+ * DEBUG, for a debit that is approved and one that is rejected for insufficient balance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionValidationBenchmark {
+    @Param({"OFF", "DEBUG"})
+    private String logLevel;
+
+    private TransactionValidationPipeline pipeline;
+    private Transaction approvedDebit;
+    private Transaction rejectedDebit;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.setApplicationLevel(logLevel);
+        ThresholdHandler thresholdHandler = new ThresholdHandler();
+        thresholdHandler.setApprovalThreshold(BigDecimal.valueOf(1000));
+        pipeline = new TransactionValidationPipeline(List.of(
+                new NegativeAmountHandler(), new ZeroAmountHandler(), new InsufficientBalanceHandler(), thresholdHandler),
+                new SimpleMeterRegistry(), new InstrumentationSettings(Set.of(), 0));
+
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        wallet.setBalance(500_000L);
+        wallet.setReservedAmount(100_000L);
+        approvedDebit = debit(wallet, 10_000L);
+        rejectedDebit = debit(wallet, 450_000L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkLogging.setApplicationLevel("OFF");
+    }
+
+    @Benchmark
+    public TransactionStatus validateApprovedDebit() {
+        approvedDebit.setStatus(TransactionStatus.PENDING);
+        pipeline.validate(approvedDebit);
+        return approvedDebit.getStatus();
+    }
+
+    @Benchmark
+    public TransactionStatus validateRejectedDebit() {
+        rejectedDebit.setStatus(TransactionStatus.PENDING);
+        rejectedDebit.setMessage(null);
+        pipeline.validate(rejectedDebit);
+        return rejectedDebit.getStatus();
+    }
+
+    private static Transaction debit(Wallet wallet, long amount) {
+        Transaction transaction = new Transaction();
+        transaction.setWallet(wallet);
+        transaction.setAmount(amount);
+        transaction.setTransactionType(TransactionType.DEBIT);
+        return transaction;
+    }
+}
@@ -0,0 +1,81 @@
+package com.khantech.gaming.tms.load;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Delays every statement execution by a fixed latency, standing in for the network round trip and server time of a
+ * remote database that the in-memory H2 database of the harness does not have. The delay is spent while the
+ * statement holds its pooled connection and any row locks it took, as it would be against a real database.
+ */
+final class DatabaseLatencyPostProcessor implements BeanPostProcessor {
+    private final long latencyNanos;
+
+    DatabaseLatencyPostProcessor(Duration latency) {
+        this.latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection(), this::delayStatements);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password), this::delayStatements);
+            }
+
+            private Object delayStatements(Object target, Method method, Object[] args) throws Throwable {
+                Object result = invoke(target, method, args);
+                return switch (result) {
+                    case CallableStatement statement -> proxy(CallableStatement.class, statement, this::delayExecute);
+                    case PreparedStatement statement -> proxy(PreparedStatement.class, statement, this::delayExecute);
+                    case Statement statement -> proxy(Statement.class, statement, this::delayExecute);
+                    case null, default -> result;
+                };
+            }
+
+            private Object delayExecute(Object target, Method method, Object[] args) throws Throwable {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(Duration.ofNanos(latencyNanos));
+                }
+                return invoke(target, method, args);
+            }
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(DatabaseLatencyPostProcessor.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(target, method, args)));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
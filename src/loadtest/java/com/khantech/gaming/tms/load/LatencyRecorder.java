@@ -0,0 +1,63 @@
+package com.khantech.gaming.tms.load;
+
+import java.util.Arrays;
+
+/**
+ * Keeps every latency of one endpoint as recorded by one client. Each client owns its recorders, so recording takes
+ * no lock; the recorders of all clients are merged once the run is over.
+ */
+public final class LatencyRecorder {
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+
+    public void record(long nanos, boolean success) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        if (size + other.size > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(size + other.size, latencies.length * 2));
+        }
+        System.arraycopy(other.latencies, 0, latencies, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    public long count() {
+        return size;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * Sorts the recorded latencies and returns their summary. Call it once, after every client has been merged.
+     */
+    public Summary summarize() {
+        Arrays.sort(latencies, 0, size);
+        return new Summary(size, errors, percentile(0.5), percentile(0.99), percentile(0.999),
+                size == 0 ? 0 : latencies[size - 1]);
+    }
+
+    private long percentile(double quantile) {
+        if (size == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * size);
+        return latencies[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Latencies are in nanoseconds.
+     */
+    public record Summary(long count, long errors, long p50, long p99, long p999, long max) {
+    }
+}
@@ -0,0 +1,307 @@
+package com.khantech.gaming.tms.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.khantech.gaming.tms.TransactionManagementSystemApplication;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.User;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.UserRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import com.khantech.gaming.tms.util.MoneyUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.random.RandomGenerator;
+
+import static com.khantech.gaming.tms.util.MetricNames.WALLET_LOCK_WAIT;
+
+/**
+ * End-to-end load generator. It boots the application on the H2 {@code test} profile on a random port, seeds the
+ * users and wallets of the {@link LoadProfile}, then drives the real controllers over HTTP with closed-loop clients:
+ * <ul>
+ *     <li>{@code POST /api/v1/transactions}: a debit or a credit on a wallet, some of them above the approval
+ *     threshold so that they wait for approval.</li>
+ *     <li>{@code POST /api/v1/transactions/{id}/approve}: approves one of those transactions, falling back to a
+ *     creation when none is waiting.</li>
+ *     <li>{@code GET /api/v1/wallets/{userId}}: reads the wallets of the owner of a wallet.</li>
+ * </ul>
+ * Wallets are picked with a Zipfian distribution over a shuffled wallet order, so a few wallets take most of the
+ * writes and contend on their row lock. After the warmup, every latency is recorded; the report gives the
+ * throughput and the p50/p99/p999 latency of each endpoint, and the time spent waiting for wallet locks as recorded
+ * under {@code tms.wallet.lock.wait}.
+ *
+ * <p>The application runs on platform or virtual threads with the Tomcat and connection pool sizes of the profile,
+ * and a database latency can be added to every statement, so the two thread modes can be compared under many slow
+ * database waits.
+ */
+public final class LoadHarness {
+    private static final String TRANSACTIONS_PATH = "/api/v1/transactions";
+    private static final String WALLETS_PATH = "/api/v1/wallets/";
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+    // Amounts of regular transactions, between 1.00 and 50.00
+    private static final long MIN_AMOUNT = 100;
+    private static final long MAX_AMOUNT = 5_000;
+
+    private final LoadProfile profile;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ZipfianGenerator walletPicker;
+    private final Queue<Long> awaitingApproval = new ConcurrentLinkedQueue<>();
+    private final String baseUrl;
+    private final long largeAmount;
+    private long[] walletIds;
+    private long[] walletOwners;
+
+    private LoadHarness(LoadProfile profile, String baseUrl, long approvalThreshold, ExecutorService executor) {
+        this.profile = profile;
+        this.baseUrl = baseUrl;
+        this.largeAmount = approvalThreshold + MAX_AMOUNT;
+        this.walletPicker = new ZipfianGenerator(profile.wallets(), profile.zipfExponent());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        // Passed as arguments so that they win over application.properties. SQL is echoed to stdout, which would
+        // serialize the requests on the console
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.profiles.active=test",
+                "--spring.jpa.show-sql=false",
+                "--spring.threads.virtual.enabled=" + profile.virtualThreads(),
+                "--server.tomcat.threads.max=" + profile.tomcatThreads(),
+                "--spring.datasource.hikari.maximum-pool-size=" + profile.poolSize()));
+        arguments.addAll(List.of(args));
+        SpringApplicationBuilder application = new SpringApplicationBuilder(TransactionManagementSystemApplication.class);
+        if (!profile.dbLatency().isZero()) {
+            application.initializers(context -> context.getBeanFactory()
+                    .addBeanPostProcessor(new DatabaseLatencyPostProcessor(profile.dbLatency())));
+        }
+        ConfigurableApplicationContext context = application.run(arguments.toArray(String[]::new));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            BigDecimal threshold = context.getEnvironment()
+                    .getRequiredProperty("transaction.approval.threshold", BigDecimal.class);
+            LoadHarness harness = new LoadHarness(profile, "http://localhost:" + port, MoneyUtil.toMinorUnits(threshold), executor);
+            harness.seed(context.getBean(UserRepository.class), context.getBean(WalletRepository.class));
+            Map<String, Object> report = harness.run(executor, context.getBean(MeterRegistry.class));
+            harness.write(report);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void seed(UserRepository userRepository, WalletRepository walletRepository) {
+        List<User> users = new ArrayList<>(profile.users());
+        for (int i = 0; i < profile.users(); i++) {
+            User user = new User();
+            user.setName("load-user-" + i);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Wallet> wallets = new ArrayList<>(profile.wallets());
+        for (User user : users) {
+            for (int i = 0; i < profile.walletsPerUser(); i++) {
+                Wallet wallet = new Wallet();
+                wallet.setUser(user);
+                wallet.setName("load-wallet-" + i);
+                wallet.setBalance(profile.initialBalance());
+                wallets.add(wallet);
+            }
+        }
+        wallets = new ArrayList<>(walletRepository.saveAll(wallets));
+
+        // Shuffle so that the hot ranks of the distribution land on unrelated wallets and users
+        Collections.shuffle(wallets, new Random(profile.seed()));
+        walletIds = new long[wallets.size()];
+        walletOwners = new long[wallets.size()];
+        for (int i = 0; i < wallets.size(); i++) {
+            walletIds[i] = wallets.get(i).getId();
+            walletOwners[i] = wallets.get(i).getUser().getId();
+        }
+    }
+
+    private Map<String, Object> run(ExecutorService executor, MeterRegistry meterRegistry) throws Exception {
+        long start = System.nanoTime();
+        long recordFrom = start + profile.warmup().toNanos();
+        long recordUntil = recordFrom + profile.duration().toNanos();
+
+        List<Future<Map<Endpoint, LatencyRecorder>>> clients = new ArrayList<>(profile.concurrency());
+        for (int i = 0; i < profile.concurrency(); i++) {
+            clients.add(executor.submit(() -> drive(recordFrom, recordUntil)));
+        }
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, recordFrom - System.nanoTime()));
+        Timer lockWait = meterRegistry.timer(WALLET_LOCK_WAIT);
+        long lockWaitCountBefore = lockWait.count();
+        double lockWaitTotalBefore = lockWait.totalTime(TimeUnit.NANOSECONDS);
+
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            merged.put(endpoint, new LatencyRecorder());
+        }
+        for (Future<Map<Endpoint, LatencyRecorder>> client : clients) {
+            client.get().forEach((endpoint, recorder) -> merged.get(endpoint).merge(recorder));
+        }
+
+        double seconds = profile.duration().toNanos() / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyRecorder.Summary summary = merged.get(endpoint).summarize();
+            total += summary.count();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", summary.count());
+            entry.put("errors", summary.errors());
+            entry.put("throughputPerSecond", summary.count() / seconds);
+            entry.put("p50Millis", summary.p50() / NANOS_PER_MILLI);
+            entry.put("p99Millis", summary.p99() / NANOS_PER_MILLI);
+            entry.put("p999Millis", summary.p999() / NANOS_PER_MILLI);
+            entry.put("maxMillis", summary.max() / NANOS_PER_MILLI);
+            endpoints.put(endpoint.label, entry);
+        }
+
+        long lockWaitCount = lockWait.count() - lockWaitCountBefore;
+        double lockWaitTotal = lockWait.totalTime(TimeUnit.NANOSECONDS) - lockWaitTotalBefore;
+        Map<String, Object> lockWaitReport = new LinkedHashMap<>();
+        lockWaitReport.put("acquisitions", lockWaitCount);
+        lockWaitReport.put("totalMillis", lockWaitTotal / NANOS_PER_MILLI);
+        lockWaitReport.put("meanMillis", lockWaitCount == 0 ? 0 : lockWaitTotal / lockWaitCount / NANOS_PER_MILLI);
+        // The percentiles and max are decaying statistics of the timer, they cover the last couple of minutes
+        HistogramSnapshot snapshot = lockWait.takeSnapshot();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            lockWaitReport.put(String.format(Locale.ROOT, "p%sMillis", percentileLabel(percentile.percentile())),
+                    percentile.value(TimeUnit.MILLISECONDS));
+        }
+        lockWaitReport.put("maxMillis", snapshot.max(TimeUnit.MILLISECONDS));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profile", profile);
+        report.put("hottestWalletShare", walletPicker.share(1));
+        report.put("hottestOnePercentShare", walletPicker.share(Math.max(1, profile.wallets() / 100)));
+        report.put("throughputPerSecond", total / seconds);
+        report.put("endpoints", endpoints);
+        report.put("lockWait", lockWaitReport);
+        return report;
+    }
+
+    private Map<Endpoint, LatencyRecorder> drive(long recordFrom, long recordUntil) throws InterruptedException {
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+        RandomGenerator random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < recordUntil) {
+            int wallet = walletPicker.next(random);
+            double operation = random.nextDouble();
+            Long approval = operation >= profile.readRatio() && operation < profile.readRatio() + profile.approveRatio()
+                    ? awaitingApproval.poll()
+                    : null;
+
+            Endpoint endpoint;
+            HttpRequest request;
+            if (operation < profile.readRatio()) {
+                endpoint = Endpoint.GET_WALLETS;
+                request = HttpRequest.newBuilder(URI.create(baseUrl + WALLETS_PATH + walletOwners[wallet])).GET().build();
+            } else if (approval != null) {
+                endpoint = Endpoint.APPROVE_TRANSACTION;
+                request = HttpRequest.newBuilder(URI.create(baseUrl + TRANSACTIONS_PATH + "/" + approval + "/approve"))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+            } else {
+                endpoint = Endpoint.CREATE_TRANSACTION;
+                request = HttpRequest.newBuilder(URI.create(baseUrl + TRANSACTIONS_PATH))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(transactionBody(walletIds[wallet], random)))
+                        .build();
+            }
+
+            HttpResponse<String> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                response = null;
+            }
+            long elapsed = System.nanoTime() - now;
+            boolean success = response != null && response.statusCode() / 100 == 2;
+            if (now >= recordFrom) {
+                recorders.get(endpoint).record(elapsed, success);
+            }
+            if (success && endpoint == Endpoint.CREATE_TRANSACTION) {
+                queueForApproval(response.body());
+            }
+        }
+        return recorders;
+    }
+
+    private String transactionBody(long walletId, RandomGenerator random) {
+        long amount = random.nextDouble() < profile.largeRatio()
+                ? largeAmount
+                : random.nextLong(MIN_AMOUNT, MAX_AMOUNT + 1);
+        TransactionType type = random.nextDouble() < profile.debitRatio() ? TransactionType.DEBIT : TransactionType.CREDIT;
+        return String.format(Locale.ROOT, "{\"walletId\":%d,\"amount\":%s,\"transactionType\":\"%s\"}",
+                walletId, MoneyUtil.toDecimal(amount).toPlainString(), type);
+    }
+
+    private void queueForApproval(String body) {
+        try {
+            JsonNode item = objectMapper.readTree(body).path("item");
+            if (TransactionStatus.AWAITING_APPROVAL.name().equals(item.path("status").asText())) {
+                awaitingApproval.add(item.path("id").asLong());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(Map<String, Object> report) throws IOException {
+        String json = objectMapper.copy()
+                .findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .writeValueAsString(report);
+        Files.createDirectories(profile.report().toAbsolutePath().getParent());
+        Files.writeString(profile.report(), json);
+        System.out.println(json);
+        System.out.println("Report written to " + profile.report().toAbsolutePath());
+    }
+
+    private static String percentileLabel(double percentile) {
+        return BigDecimal.valueOf(percentile * 100).stripTrailingZeros().toPlainString().replace(".", "");
+    }
+
+    private enum Endpoint {
+        CREATE_TRANSACTION("POST " + TRANSACTIONS_PATH),
+        APPROVE_TRANSACTION("POST " + TRANSACTIONS_PATH + "/{id}/approve"),
+        GET_WALLETS("GET " + WALLETS_PATH + "{userId}");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.khantech.gaming.tms.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of a load run, read from {@code load.*} system properties. The Gradle {@code loadTest} task forwards the
+ * matching {@code -Pload.*} project properties.
+ *
+ * @param users          number of users seeded before the run.
+ * @param walletsPerUser wallets seeded for every user.
+ * @param initialBalance starting balance of every seeded wallet, in minor units.
+ * @param concurrency    number of closed-loop clients, each sending its next request when the previous one returns.
+ * @param warmup         time spent sending requests before latencies are recorded.
+ * @param duration       time during which latencies are recorded.
+ * @param readRatio      share of requests that read the wallets of a user.
+ * @param approveRatio   share of requests that approve a transaction awaiting approval.
+ * @param debitRatio     share of created transactions that are debits, the rest being credits.
+ * @param largeRatio     share of created transactions above the approval threshold, which feed the approvals.
+ * @param zipfExponent   skew of the wallet distribution, 0 being uniform and values near 1 concentrating the traffic
+ *                       on a few hot wallets.
+ * @param seed           seed of the wallet ordering, so runs with the same settings hit the same hot wallets.
+ * @param virtualThreads whether the application handles requests on virtual threads instead of Tomcat's pool.
+ * @param tomcatThreads  size of Tomcat's request thread pool, only used on platform threads.
+ * @param poolSize       size of the database connection pool.
+ * @param dbLatency      delay added to every statement execution, simulating a remote database; zero for none.
+ * @param report         file the JSON report is written to.
+ */
+public record LoadProfile(
+        int users,
+        int walletsPerUser,
+        long initialBalance,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        double readRatio,
+        double approveRatio,
+        double debitRatio,
+        double largeRatio,
+        double zipfExponent,
+        long seed,
+        boolean virtualThreads,
+        int tomcatThreads,
+        int poolSize,
+        Duration dbLatency,
+        Path report
+) {
+    public LoadProfile {
+        if (users < 1 || walletsPerUser < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("load.users, load.wallets-per-user and load.concurrency must be positive");
+        }
+        if (readRatio < 0 || approveRatio < 0 || readRatio + approveRatio > 1) {
+            throw new IllegalArgumentException("load.read-ratio and load.approve-ratio must add up to at most 1");
+        }
+        if (debitRatio < 0 || debitRatio > 1 || largeRatio < 0 || largeRatio > 1) {
+            throw new IllegalArgumentException("load.debit-ratio and load.large-ratio must be between 0 and 1");
+        }
+        if (zipfExponent < 0) {
+            throw new IllegalArgumentException("load.zipf-exponent must not be negative");
+        }
+        if (tomcatThreads < 1 || poolSize < 1 || dbLatency.isNegative()) {
+            throw new IllegalArgumentException("load.tomcat-threads and load.pool-size must be positive and load.db-latency not negative");
+        }
+    }
+
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.parseInt(property("users", "1000")),
+                Integer.parseInt(property("wallets-per-user", "2")),
+                Long.parseLong(property("initial-balance", "100000000")),
+                Integer.parseInt(property("concurrency", "32")),
+                Duration.parse(property("warmup", "PT10S")),
+                Duration.parse(property("duration", "PT30S")),
+                Double.parseDouble(property("read-ratio", "0.3")),
+                Double.parseDouble(property("approve-ratio", "0.05")),
+                Double.parseDouble(property("debit-ratio", "0.7")),
+                Double.parseDouble(property("large-ratio", "0.1")),
+                Double.parseDouble(property("zipf-exponent", "0.99")),
+                Long.parseLong(property("seed", "42")),
+                Boolean.parseBoolean(property("virtual-threads", "false")),
+                Integer.parseInt(property("tomcat-threads", "200")),
+                Integer.parseInt(property("pool-size", "20")),
+                Duration.parse(property("db-latency", "PT0S")),
+                Path.of(property("report", "build/results/load/report.json")));
+    }
+
+    public int wallets() {
+        return users * walletsPerUser;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("load." + name, defaultValue);
+    }
+}
@@ -0,0 +1,41 @@
+package com.khantech.gaming.tms.load;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks in {@code [0, n)} where rank {@code k} is picked with a probability proportional to
+ * {@code 1 / (k + 1)^exponent}. The cumulative distribution is computed once, so a draw is one binary search and the
+ * generator can be shared by all clients, each passing its own random source.
+ */
+public final class ZipfianGenerator {
+    private final double[] cumulative;
+
+    public ZipfianGenerator(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    /**
+     * @return the share of the draws that land on the {@code top} most frequent ranks.
+     */
+    public double share(int top) {
+        return top <= 0 ? 0 : cumulative[Math.min(top, cumulative.length) - 1];
+    }
+}
@@ -1,24 +0,0 @@
-package com.khantech.gaming.tms.aop;
-
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
-
-@Aspect
-@Component
-public class LoggingAspect {
-
-    private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
-
-    @Around("execution(* com.khantech.gaming.tms.service.*(..))")
-    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        Object result = joinPoint.proceed();
-        long timeTaken = System.currentTimeMillis() - startTime;
-        logger.info("Method {} executed in {} ms", joinPoint.getSignature().getName(), timeTaken);
-        return result;
-    }
-}
@@ -0,0 +1,83 @@
+package com.khantech.gaming.tms.aop;
+
+import com.khantech.gaming.tms.exception.ConcurrentWalletUpdateException;
+import com.khantech.gaming.tms.util.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.khantech.gaming.tms.util.LogMessages.OPTIMISTIC_LOCK_RETRIES_EXHAUSTED;
+import static com.khantech.gaming.tms.util.LogMessages.OPTIMISTIC_LOCK_RETRY;
+import static com.khantech.gaming.tms.util.MetricNames.OPTIMISTIC_LOCK_EXHAUSTED;
+import static com.khantech.gaming.tms.util.MetricNames.OPTIMISTIC_LOCK_RETRIES;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_METHOD;
+
+/**
+ * Retries methods annotated with {@link RetryOnOptimisticLock} when they fail with an
+ * {@link OptimisticLockingFailureException}. The aspect runs with the highest precedence so that it wraps the
+ * transaction interceptor and each attempt gets its own transaction. Backoff grows exponentially with full jitter,
+ * and the number of retries and exhausted attempts are exported as metrics.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OptimisticLockRetryAspect {
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetryAspect.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${wallet.optimistic.max-attempts:3}")
+    private int maxAttempts;
+    @Value("${wallet.optimistic.backoff-millis:10}")
+    private long backoffMillis;
+
+    public OptimisticLockRetryAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(com.khantech.gaming.tms.aop.RetryOnOptimisticLock)")
+    public Object retryOnOptimisticLock(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().toShortString();
+        int attempt = 1;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    log.error(OPTIMISTIC_LOCK_RETRIES_EXHAUSTED, method, attempt);
+                    counter(OPTIMISTIC_LOCK_EXHAUSTED, method).increment();
+                    throw new ConcurrentWalletUpdateException(BusinessException.ConcurrentWalletUpdateException, attempt);
+                }
+                log.warn(OPTIMISTIC_LOCK_RETRY, method, attempt, maxAttempts);
+                counter(OPTIMISTIC_LOCK_RETRIES, method).increment();
+                backoff(attempt, ex);
+                attempt++;
+            }
+        }
+    }
+
+    private Counter counter(String name, String method) {
+        return meterRegistry.counter(name, TAG_METHOD, method);
+    }
+
+    private void backoff(int attempt, OptimisticLockingFailureException cause) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
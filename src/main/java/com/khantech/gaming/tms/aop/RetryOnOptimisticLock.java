@@ -0,0 +1,15 @@
+package com.khantech.gaming.tms.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional method that is re-executed with jittered backoff when it fails with an optimistic
+ * locking conflict. The retry wraps the transaction, so every attempt runs in a fresh transaction.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+}
@@ -0,0 +1,87 @@
+package com.khantech.gaming.tms.aop;
+
+import com.khantech.gaming.tms.config.InstrumentationSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.khantech.gaming.tms.util.LogMessages.SERVICE_METHOD_TRACE;
+import static com.khantech.gaming.tms.util.MetricNames.SERVICE_METHOD_DURATION;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_CLASS;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_METHOD;
+
+/**
+ * Times every public service method under {@code tms.service.method.duration}, tagged with the service class and
+ * method, with a percentile histogram. The timer and logger of a method are resolved once and cached, so a call
+ * costs two {@link System#nanoTime()} reads and a timer update.
+ *
+ * <p>For the sampled share of the calls, and only when the TRACE level is enabled for the service class logger, the
+ * duration and the arguments of the call are logged as well. Services disabled in {@link InstrumentationSettings}
+ * are not timed.
+ *
+ * <p>The aspect runs right inside {@link OptimisticLockRetryAspect}, so each attempt is timed including its
+ * transaction commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServiceMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final InstrumentationSettings instrumentationSettings;
+    private final Map<Method, MethodMetrics> methodMetrics = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry, InstrumentationSettings instrumentationSettings) {
+        this.meterRegistry = meterRegistry;
+        this.instrumentationSettings = instrumentationSettings;
+    }
+
+    @Around("execution(public * com.khantech.gaming.tms.service..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMetrics metrics = methodMetrics.get(method);
+        if (metrics == null) {
+            metrics = methodMetrics.computeIfAbsent(method, key -> register(key, AopUtils.getTargetClass(joinPoint.getTarget())));
+        }
+        if (!instrumentationSettings.isEnabled(metrics.component())) {
+            return joinPoint.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            metrics.timer().record(elapsed, TimeUnit.NANOSECONDS);
+            if (metrics.log().isTraceEnabled() && instrumentationSettings.sampleTrace()) {
+                metrics.log().trace(SERVICE_METHOD_TRACE, metrics.name(), elapsed, joinPoint.getArgs());
+            }
+        }
+    }
+
+    private MethodMetrics register(Method method, Class<?> targetClass) {
+        String component = targetClass.getSimpleName();
+        Timer timer = Timer.builder(SERVICE_METHOD_DURATION)
+                .tag(TAG_CLASS, component)
+                .tag(TAG_METHOD, method.getName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new MethodMetrics(component, component + "." + method.getName(), timer, LoggerFactory.getLogger(targetClass));
+    }
+
+    private record MethodMetrics(String component, String name, Timer timer, Logger log) {
+    }
+}
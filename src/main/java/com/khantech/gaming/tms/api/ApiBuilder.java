@@ -7,9 +7,6 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.io.Serializable;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -25,12 +22,13 @@ public interface ApiBuilder {
 
 
     /**
-     * Generates the current timestamp in ISO_LOCAL_DATE_TIME format for the UTC timezone.
+     * Generates the current timestamp in ISO_LOCAL_DATE_TIME format for the UTC timezone, with second precision.
+     * The text is formatted once per second and reused by the responses within that second.
      *
      * @return a formatted string representing the current timestamp in UTC.
      */
     default String timeStamp(){
-        return LocalDateTime.now(ZoneId.of("UTC")).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        return ApiTimestamps.now();
     }
 
     /**
@@ -203,4 +201,21 @@ public interface ApiBuilder {
         collectionMessage.setInfo(generateApiInfo());
         return collectionMessage;
     }
+
+    /**
+     * Generates a {@link PageMessage} response for one page of a cursor paginated collection, wrapping the items,
+     * the cursor of the next page and success information.
+     *
+     * @param collection the data items of the page.
+     * @param nextCursor the cursor to request the next page with, or {@code null} on the last page.
+     * @param <L>        the type of the data items.
+     * @return an instance of {@link PageMessage} containing the page, the next cursor and success info.
+     */
+    default <L extends Serializable> PageMessage<L> generatePageMessage(Collection<L> collection, String nextCursor){
+        PageMessage<L> pageMessage = new PageMessage<L>();
+        pageMessage.setItems(collection);
+        pageMessage.setNextCursor(nextCursor);
+        pageMessage.setInfo(generateApiInfo());
+        return pageMessage;
+    }
 }
@@ -0,0 +1,36 @@
+package com.khantech.gaming.tms.api;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Timestamps of API responses in ISO_LOCAL_DATE_TIME format for the UTC timezone, with second precision. The text is
+ * formatted once per second and shared by every response within that second.
+ */
+final class ApiTimestamps {
+    private static volatile Cached cached = new Cached(Long.MIN_VALUE, null);
+
+    private ApiTimestamps() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    static String now() {
+        return at(System.currentTimeMillis());
+    }
+
+    static String at(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        Cached current = cached;
+        if (current.epochSecond() != epochSecond) {
+            // Racing threads format the same second twice at worst, every result is correct
+            current = new Cached(epochSecond, LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC)
+                    .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            cached = current;
+        }
+        return current.text();
+    }
+
+    private record Cached(long epochSecond, String text) {
+    }
+}
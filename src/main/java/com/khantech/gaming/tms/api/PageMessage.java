@@ -0,0 +1,44 @@
+package com.khantech.gaming.tms.api;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+public class PageMessage<D extends Serializable> extends CollectionMessage<D> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -6012883416457221931L;
+    private String nextCursor;
+
+    public PageMessage() {
+    }
+
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        PageMessage<?> that = (PageMessage<?>) o;
+        return Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "PageMessage{" +
+                "items=" + getItems() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
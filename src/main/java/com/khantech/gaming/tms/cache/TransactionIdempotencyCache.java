@@ -0,0 +1,67 @@
+package com.khantech.gaming.tms.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.khantech.gaming.tms.dto.TransactionRequestDto;
+import com.khantech.gaming.tms.dto.TransactionResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.khantech.gaming.tms.util.MetricNames.TRANSACTION_IDEMPOTENCY_CACHE;
+
+/**
+ * TransactionIdempotencyCache keeps the responses of recently created transactions by their idempotency key, so
+ * that most client retries are answered without touching the database or locking the wallet again. The cache is
+ * bounded by size and time to live; a key that has been evicted falls back to the idempotency key lookup in
+ * the database, which is backed by a unique index.
+ */
+@Component
+public class TransactionIdempotencyCache {
+    private final Cache<String, TransactionResponseDto> cache;
+
+    public TransactionIdempotencyCache(@Value("${transaction.idempotency.cache.max-size:100000}") long maxSize,
+                                       @Value("${transaction.idempotency.cache.ttl:PT10M}") Duration ttl,
+                                       MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, TRANSACTION_IDEMPOTENCY_CACHE);
+    }
+
+    /**
+     * Finds the response stored for an idempotency key. A response created for a different wallet, amount or
+     * transaction type is not returned, so the request falls through to the database lookup that rejects the key.
+     *
+     * @param idempotencyKey the key sent by the client, may be null.
+     * @param request        the request sent with the key.
+     * @return the stored response, or empty if the key is null, not cached or cached for a different request.
+     */
+    public Optional<TransactionResponseDto> find(String idempotencyKey, TransactionRequestDto request) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(idempotencyKey))
+                .filter(response -> response.getWalletId().equals(request.getWalletId())
+                        && response.getAmount().compareTo(request.getAmount()) == 0
+                        && response.getTransactionType() == request.getTransactionType());
+    }
+
+    /**
+     * Stores the response of a created transaction under its idempotency key.
+     *
+     * @param idempotencyKey the key sent by the client, nothing is stored if it is null.
+     * @param response       the response returned for the key.
+     */
+    public void put(String idempotencyKey, TransactionResponseDto response) {
+        if (idempotencyKey != null) {
+            cache.put(idempotencyKey, response);
+        }
+    }
+}
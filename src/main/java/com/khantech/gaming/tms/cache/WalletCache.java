@@ -0,0 +1,144 @@
+package com.khantech.gaming.tms.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.khantech.gaming.tms.dto.WalletResponseDto;
+import com.khantech.gaming.tms.event.WalletChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.khantech.gaming.tms.util.MetricNames.WALLET_CACHE;
+
+/**
+ * WalletCache keeps the wallet list of recently read users, so clients polling their balances are answered without
+ * touching the database. The cache is bounded by size and time to live, and the list of a user is evicted after
+ * the commit of every transaction that creates one of their wallets or changes a balance, through
+ * {@link WalletChangedEvent}.
+ *
+ * <p>Changes made by the conditional updates and by the settlement are only known by wallet ID, so the owner of every
+ * wallet in a cached list is kept alongside it. The owners are added in the same atomic operation that adds a list
+ * and dropped in the one that evicts or invalidates it, so an expired list replaced by a fresh one cannot drop the
+ * owners of the fresh list.
+ *
+ * <p>A change committed while the list of its user is being loaded may not be in the loaded list, and evicting finds
+ * nothing to evict yet. Every load therefore registers itself with the invalidation generation of its user, which
+ * each change of that user bumps, and a loaded list is only added if the generation is unchanged. A change only known
+ * by a wallet ID with no cached owner could belong to any user being loaded, so it bumps a shared counter that
+ * every load in flight checks as well.
+ *
+ * <p>Lists are loaded outside of the cache and then added if no other request added one meanwhile. A loader run by
+ * the cache itself would read the database while holding a lock of the underlying map, which pins a virtual thread
+ * to its carrier for the whole read. Adding a loaded list only updates the owner map under that lock.
+ */
+@Component
+public class WalletCache {
+    private final Cache<Long, List<WalletResponseDto>> walletsByUser;
+    private final Map<Long, Long> userByWallet = new ConcurrentHashMap<>();
+    // Loads in flight per user, the entry is removed when the last one finishes
+    private final Map<Long, Loads> loadsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong unattributedChanges = new AtomicLong();
+
+    @Autowired
+    public WalletCache(@Value("${wallet.cache.max-size:100000}") long maxSize,
+                       @Value("${wallet.cache.ttl:PT30S}") Duration ttl,
+                       MeterRegistry meterRegistry) {
+        this(maxSize, ttl, meterRegistry, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    WalletCache(long maxSize, Duration ttl, MeterRegistry meterRegistry, Ticker ticker, Executor executor) {
+        this.walletsByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(executor)
+                .evictionListener((Long userId, List<WalletResponseDto> wallets, RemovalCause cause) ->
+                        forgetOwner(userId, wallets))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, walletsByUser, WALLET_CACHE);
+    }
+
+    /**
+     * Returns the cached wallets of a user, loading and caching them on a miss.
+     *
+     * @param userId the ID of the user.
+     * @param loader reads the wallets of the user from the database.
+     * @return the wallets of the user.
+     */
+    public List<WalletResponseDto> getWallets(Long userId, Function<Long, List<WalletResponseDto>> loader) {
+        List<WalletResponseDto> cached = walletsByUser.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = loadsByUser.merge(userId, new Loads(1, 0L),
+                (loads, added) -> new Loads(loads.inFlight() + 1, loads.generation())).generation();
+        long unattributed = unattributedChanges.get();
+        try {
+            List<WalletResponseDto> wallets = List.copyOf(loader.apply(userId));
+            List<WalletResponseDto> stored = walletsByUser.asMap().compute(userId, (key, loadedMeanwhile) -> {
+                if (loadedMeanwhile != null || changedSince(key, generation, unattributed)) {
+                    return loadedMeanwhile;
+                }
+                wallets.forEach(wallet -> userByWallet.put(wallet.getId(), key));
+                return wallets;
+            });
+            return stored != null ? stored : wallets;
+        } finally {
+            loadsByUser.computeIfPresent(userId, (key, loads) -> loads.inFlight() == 1
+                    ? null
+                    : new Loads(loads.inFlight() - 1, loads.generation()));
+        }
+    }
+
+    /**
+     * Evicts the wallet list of the user the changed wallet belongs to. Runs after the commit of the transaction
+     * that published the event, or right away when there is none.
+     *
+     * @param event the changed wallet.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWalletChanged(WalletChangedEvent event) {
+        Long userId = event.userId() != null ? event.userId() : userByWallet.get(event.walletId());
+        if (userId == null) {
+            if (!loadsByUser.isEmpty()) {
+                unattributedChanges.incrementAndGet();
+            }
+            return;
+        }
+        // Bumped before evicting, so a load adding its list between the two sees the change
+        loadsByUser.computeIfPresent(userId, (key, loads) -> new Loads(loads.inFlight(), loads.generation() + 1));
+        walletsByUser.asMap().computeIfPresent(userId, (key, wallets) -> {
+            forgetOwner(key, wallets);
+            return null;
+        });
+    }
+
+    private boolean changedSince(Long userId, long generation, long unattributed) {
+        Loads loads = loadsByUser.get(userId);
+        return loads == null || loads.generation() != generation || unattributedChanges.get() != unattributed;
+    }
+
+    private void forgetOwner(Long userId, List<WalletResponseDto> wallets) {
+        if (wallets != null) {
+            wallets.forEach(wallet -> userByWallet.remove(wallet.getId(), userId));
+        }
+    }
+
+    private record Loads(int inFlight, long generation) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.khantech.gaming.tms.config;
+
+import com.khantech.gaming.tms.dto.InstrumentationSettingsDto;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the {@link InstrumentationSettings}:
+ * <ul>
+ *     <li>{@code GET /actuator/instrumentation} returns the current settings.</li>
+ *     <li>{@code POST /actuator/instrumentation} with {@code {"traceSampleRate": 0.1}} changes the trace sample rate.</li>
+ *     <li>{@code POST /actuator/instrumentation/{component}} with {@code {"enabled": false}} switches the timers of a
+ *     service or validation rule off.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "instrumentation")
+public class InstrumentationEndpoint {
+    private final InstrumentationSettings instrumentationSettings;
+
+    public InstrumentationEndpoint(InstrumentationSettings instrumentationSettings) {
+        this.instrumentationSettings = instrumentationSettings;
+    }
+
+    @ReadOperation
+    public InstrumentationSettingsDto settings() {
+        return new InstrumentationSettingsDto(
+                instrumentationSettings.getTraceSampleRate(), instrumentationSettings.getDisabledComponents());
+    }
+
+    @WriteOperation
+    public InstrumentationSettingsDto configureTraceSampleRate(double traceSampleRate) {
+        instrumentationSettings.setTraceSampleRate(traceSampleRate);
+        return settings();
+    }
+
+    @WriteOperation
+    public InstrumentationSettingsDto configureComponent(@Selector String component, boolean enabled) {
+        instrumentationSettings.setEnabled(component, enabled);
+        return settings();
+    }
+}
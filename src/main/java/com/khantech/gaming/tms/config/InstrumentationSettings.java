@@ -0,0 +1,76 @@
+package com.khantech.gaming.tms.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.khantech.gaming.tms.util.LogMessages.INSTRUMENTATION_COMPONENT_TOGGLED;
+import static com.khantech.gaming.tms.util.LogMessages.INSTRUMENTATION_TRACE_SAMPLE_RATE_CHANGED;
+
+/**
+ * InstrumentationSettings holds the switches of the hot path instrumentation. A component is a service class, named
+ * by its simple class name, or a validation rule, named by its rule name. Timers of a disabled component are not
+ * recorded. Trace details of service calls are only logged for the sampled share of the calls, when the TRACE level
+ * is enabled for the service logger.
+ *
+ * <p>Both settings start from the configuration and can be changed at runtime through the {@code instrumentation}
+ * actuator endpoint; log levels are changed through the {@code loggers} endpoint.
+ */
+@Component
+public class InstrumentationSettings {
+    private static final Logger log = LoggerFactory.getLogger(InstrumentationSettings.class);
+
+    private final Set<String> disabledComponents = ConcurrentHashMap.newKeySet();
+    private volatile double traceSampleRate;
+
+    public InstrumentationSettings(
+            @Value("${instrumentation.disabled-components:}") Set<String> disabledComponents,
+            @Value("${instrumentation.trace.sample-rate:0.01}") double traceSampleRate
+    ) {
+        this.disabledComponents.addAll(disabledComponents);
+        setTraceSampleRate(traceSampleRate);
+    }
+
+    public boolean isEnabled(String component) {
+        return disabledComponents.isEmpty() || !disabledComponents.contains(component);
+    }
+
+    public void setEnabled(String component, boolean enabled) {
+        if (enabled) {
+            disabledComponents.remove(component);
+        } else {
+            disabledComponents.add(component);
+        }
+        log.info(INSTRUMENTATION_COMPONENT_TOGGLED, component, enabled);
+    }
+
+    public Set<String> getDisabledComponents() {
+        return new TreeSet<>(disabledComponents);
+    }
+
+    public double getTraceSampleRate() {
+        return traceSampleRate;
+    }
+
+    public void setTraceSampleRate(double traceSampleRate) {
+        if (traceSampleRate < 0 || traceSampleRate > 1) {
+            throw new IllegalArgumentException("The trace sample rate must be between 0 and 1");
+        }
+        this.traceSampleRate = traceSampleRate;
+        log.info(INSTRUMENTATION_TRACE_SAMPLE_RATE_CHANGED, traceSampleRate);
+    }
+
+    /**
+     * @return true if the current call falls in the sampled share of the calls.
+     */
+    public boolean sampleTrace() {
+        double rate = traceSampleRate;
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
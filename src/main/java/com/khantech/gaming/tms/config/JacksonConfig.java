@@ -0,0 +1,19 @@
+package com.khantech.gaming.tms.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link BlackbirdModule} with the auto-configured ObjectMapper. It replaces the reflective getter
+ * and setter calls of the bean serializers and deserializers with generated lambdas.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,34 @@
+package com.khantech.gaming.tms.config;
+
+import com.khantech.gaming.tms.model.WalletConcurrencyMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * WalletConcurrencyPolicy decides how a wallet is protected against concurrent balance updates.
+ * The configured mode applies to every wallet except the known hot wallets, which always use
+ * {@link WalletConcurrencyMode#PESSIMISTIC} locking because optimistic retries would keep colliding on them.
+ */
+@Component
+public class WalletConcurrencyPolicy {
+    @Value("${wallet.concurrency.mode:PESSIMISTIC}")
+    private WalletConcurrencyMode concurrencyMode;
+
+    @Value("${wallet.concurrency.hot-wallet-ids:}")
+    private Set<Long> hotWalletIds;
+
+    /**
+     * Resolves the concurrency mode to use for the given wallet.
+     *
+     * @param walletId the ID of the wallet about to be updated.
+     * @return the concurrency mode for the wallet.
+     */
+    public WalletConcurrencyMode modeFor(Long walletId) {
+        if (hotWalletIds != null && hotWalletIds.contains(walletId)) {
+            return WalletConcurrencyMode.PESSIMISTIC;
+        }
+        return concurrencyMode;
+    }
+}
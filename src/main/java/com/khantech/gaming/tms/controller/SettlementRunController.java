@@ -0,0 +1,65 @@
+package com.khantech.gaming.tms.controller;
+
+import com.khantech.gaming.tms.api.ApiBuilder;
+import com.khantech.gaming.tms.api.ApiMessage;
+import com.khantech.gaming.tms.api.CollectionMessage;
+import com.khantech.gaming.tms.api.SingleMessage;
+import com.khantech.gaming.tms.dto.SettlementRunResponseDto;
+import com.khantech.gaming.tms.mapper.SettlementRunEntityToDtoMapper;
+import com.khantech.gaming.tms.service.SettlementRunService;
+import com.khantech.gaming.tms.service.impl.SettlementRunLauncher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/settlement-runs")
+@Tag(name = "Settlement", description = "Settlement Run Administration API")
+public class SettlementRunController implements ApiBuilder {
+
+    private final SettlementRunService settlementRunService;
+    private final SettlementRunLauncher settlementRunLauncher;
+    private final SettlementRunEntityToDtoMapper settlementRunMapper;
+
+    public SettlementRunController(SettlementRunService settlementRunService,
+                                   SettlementRunLauncher settlementRunLauncher,
+                                   SettlementRunEntityToDtoMapper settlementRunMapper) {
+        this.settlementRunService = settlementRunService;
+        this.settlementRunLauncher = settlementRunLauncher;
+        this.settlementRunMapper = settlementRunMapper;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get recent settlement runs",
+            description = "Fetches the most recent settlement runs with their progress and throughput, newest first",
+            tags = {"Settlement"})
+    public ResponseEntity<CollectionMessage<SettlementRunResponseDto>> getSettlementRuns(
+            @Parameter(description = "Maximum number of runs to return, at most 100")
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(generateCollectionMessage(
+                settlementRunMapper.convertToList(settlementRunService.findRecentRuns(limit))));
+    }
+
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get a settlement run",
+            description = "Fetches a settlement run with the checkpoint of every worker",
+            tags = {"Settlement"})
+    public ResponseEntity<SingleMessage<SettlementRunResponseDto>> getSettlementRun(
+            @Parameter(description = "ID of the settlement run") @PathVariable Long runId
+    ) {
+        return ResponseEntity.ok(generateSingleMessage(settlementRunMapper.convert(settlementRunService.findRun(runId))));
+    }
+
+    @PostMapping
+    @Operation(summary = "Trigger a settlement run",
+            description = "Starts settling every pending transaction in the background, continuing the last unfinished run from its checkpoints. Answers 409 while a run is settling on this or another instance",
+            tags = {"Settlement"})
+    public ResponseEntity<ApiMessage> triggerSettlementRun() {
+        settlementRunLauncher.launch();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(generateApiMessage(generateApiInfo()));
+    }
+}
@@ -1,7 +1,10 @@
 package com.khantech.gaming.tms.controller;
 
 import com.khantech.gaming.tms.api.ApiBuilder;
+import com.khantech.gaming.tms.api.CollectionMessage;
 import com.khantech.gaming.tms.api.SingleMessage;
+import com.khantech.gaming.tms.cache.TransactionIdempotencyCache;
+import com.khantech.gaming.tms.dto.TransactionBatchRequestDto;
 import com.khantech.gaming.tms.dto.TransactionRequestDto;
 import com.khantech.gaming.tms.dto.TransactionResponseDto;
 import com.khantech.gaming.tms.mapper.TransactionEntityToDtoMapper;
@@ -12,10 +15,16 @@ import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.util.List;
+import java.util.Optional;
+
+import static com.khantech.gaming.tms.util.Constants.IDEMPOTENCY_KEY_HEADER;
 import static com.khantech.gaming.tms.util.Constants.TRANSACTION_APPROVAL_SERVICE;
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_BATCH_CREATION_SERVICE;
 import static com.khantech.gaming.tms.util.Constants.TRANSACTION_CREATION_SERVICE;
 
 @RestController
@@ -25,27 +34,56 @@ public class TransactionController implements ApiBuilder {
 
     private final TransactionOperation<TransactionRequestDto, Transaction> transactionCreationService;
     private final TransactionOperation<Long, Transaction> transactionApprovalService;
+    private final TransactionOperation<List<TransactionRequestDto>, List<Transaction>> transactionBatchCreationService;
     private final TransactionEntityToDtoMapper transactionMapper;
+    private final TransactionIdempotencyCache transactionIdempotencyCache;
 
     public TransactionController(
             @Qualifier(TRANSACTION_CREATION_SERVICE) TransactionOperation<TransactionRequestDto, Transaction> transactionCreationService,
             @Qualifier(TRANSACTION_APPROVAL_SERVICE) TransactionOperation<Long, Transaction> transactionApprovalService,
-            TransactionEntityToDtoMapper transactionMapper
+            @Qualifier(TRANSACTION_BATCH_CREATION_SERVICE) TransactionOperation<List<TransactionRequestDto>, List<Transaction>> transactionBatchCreationService,
+            TransactionEntityToDtoMapper transactionMapper,
+            TransactionIdempotencyCache transactionIdempotencyCache
     ) {
         this.transactionCreationService = transactionCreationService;
         this.transactionApprovalService = transactionApprovalService;
+        this.transactionBatchCreationService = transactionBatchCreationService;
         this.transactionMapper = transactionMapper;
+        this.transactionIdempotencyCache = transactionIdempotencyCache;
     }
 
     @PostMapping
     @Operation(summary = "Create a new transaction",
-            description = "Creates a new debit or credit transaction for the given wallet.",
+            description = "Creates a new debit or credit transaction for the given wallet. Retries sent with the same " +
+                    "Idempotency-Key header return the originally created transaction.",
             tags = {"Transaction"})
     public ResponseEntity<SingleMessage<TransactionResponseDto>> createTransaction(
+            @Parameter(description = "Client generated key identifying the request across retries")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody TransactionRequestDto transactionRequestDto
     ) {
+        String key = StringUtils.hasText(idempotencyKey) ? idempotencyKey : null;
+        Optional<TransactionResponseDto> cachedResponse = transactionIdempotencyCache.find(key, transactionRequestDto);
+        if (cachedResponse.isPresent()) {
+            return ResponseEntity.ok(generateSingleMessage(cachedResponse.get()));
+        }
+
+        transactionRequestDto.setIdempotencyKey(key);
         Transaction transaction = transactionCreationService.execute(transactionRequestDto);
-        return ResponseEntity.ok(generateSingleMessage(transactionMapper.convert(transaction)));
+        TransactionResponseDto response = transactionMapper.convert(transaction);
+        transactionIdempotencyCache.put(key, response);
+        return ResponseEntity.ok(generateSingleMessage(response));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create a batch of transactions",
+            description = "Creates up to 500 debit or credit transactions in one request and returns one result per item.",
+            tags = {"Transaction"})
+    public ResponseEntity<CollectionMessage<TransactionResponseDto>> createTransactions(
+            @Valid @RequestBody TransactionBatchRequestDto transactionBatchRequestDto
+    ) {
+        List<Transaction> transactions = transactionBatchCreationService.execute(transactionBatchRequestDto.getTransactions());
+        return ResponseEntity.ok(generateCollectionMessage(transactionMapper.convertToList(transactions)));
     }
 
     @PostMapping("/{transactionId}/approve")
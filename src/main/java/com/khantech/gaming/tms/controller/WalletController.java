@@ -2,11 +2,21 @@ package com.khantech.gaming.tms.controller;
 
 import com.khantech.gaming.tms.api.ApiBuilder;
 import com.khantech.gaming.tms.api.CollectionMessage;
+import com.khantech.gaming.tms.api.PageMessage;
 import com.khantech.gaming.tms.api.SingleMessage;
+import com.khantech.gaming.tms.cache.WalletCache;
+import com.khantech.gaming.tms.dto.TransactionHistoryPageDto;
+import com.khantech.gaming.tms.dto.TransactionHistoryQueryDto;
+import com.khantech.gaming.tms.dto.TransactionResponseDto;
 import com.khantech.gaming.tms.dto.WalletRequestDto;
 import com.khantech.gaming.tms.dto.WalletResponseDto;
+import com.khantech.gaming.tms.mapper.TransactionEntityToDtoMapper;
 import com.khantech.gaming.tms.mapper.WalletEntityToDtoMapper;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
 import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.service.TransactionHistoryService;
+import com.khantech.gaming.tms.util.DateTimeConverter;
 import com.khantech.gaming.tms.service.impl.WalletServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,10 +35,18 @@ public class WalletController implements ApiBuilder {
 
     private final WalletServiceImpl walletServiceImpl;
     private final WalletEntityToDtoMapper walletMapper;
+    private final WalletCache walletCache;
+    private final TransactionHistoryService transactionHistoryService;
+    private final TransactionEntityToDtoMapper transactionMapper;
 
-    public WalletController(WalletServiceImpl walletServiceImpl, WalletEntityToDtoMapper walletMapper) {
+    public WalletController(WalletServiceImpl walletServiceImpl, WalletEntityToDtoMapper walletMapper,
+                            WalletCache walletCache, TransactionHistoryService transactionHistoryService,
+                            TransactionEntityToDtoMapper transactionMapper) {
         this.walletServiceImpl = walletServiceImpl;
         this.walletMapper = walletMapper;
+        this.walletCache = walletCache;
+        this.transactionHistoryService = transactionHistoryService;
+        this.transactionMapper = transactionMapper;
     }
 
     @PostMapping
@@ -49,7 +67,31 @@ public class WalletController implements ApiBuilder {
     public ResponseEntity<CollectionMessage<WalletResponseDto>> getWallets(
             @Parameter(description = "ID of the user") @PathVariable Long userId
     ) {
-        List<Wallet> wallets = walletServiceImpl.getWalletsByUserId(userId);
-        return ResponseEntity.ok(generateCollectionMessage(walletMapper.convertToList(wallets)));
+        List<WalletResponseDto> wallets = walletCache.getWallets(userId,
+                id -> walletMapper.convertToList(walletServiceImpl.getWalletsByUserId(id)));
+        return ResponseEntity.ok(generateCollectionMessage(wallets));
+    }
+
+    @GetMapping("/{walletId}/transactions")
+    @Operation(summary = "Get the transaction history of a wallet",
+            description = "Fetches the transactions of a wallet newest first, one page at a time. Pass the nextCursor of a page as cursor to get the next one",
+            tags = {"Wallet"})
+    public ResponseEntity<PageMessage<TransactionResponseDto>> getTransactionHistory(
+            @Parameter(description = "ID of the wallet") @PathVariable Long walletId,
+            @Parameter(description = "Only transactions in this status") @RequestParam(required = false) TransactionStatus status,
+            @Parameter(description = "Only transactions of this type") @RequestParam(required = false) TransactionType type,
+            @Parameter(description = "Only transactions created at or after this time, in epoch milliseconds")
+            @RequestParam(required = false) Long from,
+            @Parameter(description = "Only transactions created before this time, in epoch milliseconds")
+            @RequestParam(required = false) Long to,
+            @Parameter(description = "The nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of transactions to return, at most 500")
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        TransactionHistoryPageDto page = transactionHistoryService.findHistory(walletId, new TransactionHistoryQueryDto(
+                status, type, DateTimeConverter.convertMillisToDate(from), DateTimeConverter.convertMillisToDate(to),
+                cursor, limit));
+        return ResponseEntity.ok(generatePageMessage(transactionMapper.convertToList(page.transactions()),
+                page.nextCursor()));
     }
 }
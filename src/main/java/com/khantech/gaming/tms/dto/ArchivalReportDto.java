@@ -0,0 +1,14 @@
+package com.khantech.gaming.tms.dto;
+
+import java.time.Duration;
+
+/**
+ * Summary of one archival run.
+ *
+ * @param transactions the number of settled transactions moved to the history table.
+ * @param chunks       the number of chunks archived.
+ * @param failedChunks the number of chunks that failed and were left for the next run.
+ * @param wallClock    the time the run took.
+ */
+public record ArchivalReportDto(int transactions, int chunks, int failedChunks, Duration wallClock) {
+}
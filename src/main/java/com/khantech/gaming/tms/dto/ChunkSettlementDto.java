@@ -0,0 +1,10 @@
+package com.khantech.gaming.tms.dto;
+
+/**
+ * Outcome of settling one chunk of pending transactions.
+ *
+ * @param wallets      the number of wallets updated.
+ * @param transactions the number of transactions approved.
+ */
+public record ChunkSettlementDto(int wallets, int transactions) {
+}
@@ -0,0 +1,12 @@
+package com.khantech.gaming.tms.dto;
+
+import java.util.Set;
+
+/**
+ * Current switches of the hot path instrumentation.
+ *
+ * @param traceSampleRate    share of the service calls whose details are logged at TRACE level.
+ * @param disabledComponents services and validation rules that are not timed.
+ */
+public record InstrumentationSettingsDto(double traceSampleRate, Set<String> disabledComponents) {
+}
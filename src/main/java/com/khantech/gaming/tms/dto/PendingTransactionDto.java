@@ -0,0 +1,10 @@
+package com.khantech.gaming.tms.dto;
+
+import com.khantech.gaming.tms.model.TransactionType;
+
+/**
+ * The columns of a pending transaction needed to settle it, read without loading the transaction and wallet
+ * entities. The amount is in minor units.
+ */
+public record PendingTransactionDto(Long id, Long walletId, long amount, TransactionType transactionType) {
+}
@@ -0,0 +1,12 @@
+package com.khantech.gaming.tms.dto;
+
+import java.util.Set;
+
+/**
+ * Settlement lease taken on a group of wallets.
+ *
+ * @param token     the token written to the claimed wallets, unique per claim.
+ * @param walletIds the wallets actually claimed, wallets leased by another settlement are left out.
+ */
+public record SettlementClaimDto(String token, Set<Long> walletIds) {
+}
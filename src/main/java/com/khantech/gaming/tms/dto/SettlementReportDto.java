@@ -0,0 +1,49 @@
+package com.khantech.gaming.tms.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Summary of one settlement run, used to follow how long the settlement window takes and how evenly the work was
+ * spread over the workers.
+ *
+ * @param wallClock the time from the start of the run until the last worker finished.
+ * @param workers   the report of every worker.
+ */
+public record SettlementReportDto(Duration wallClock, List<Worker> workers) {
+
+    public int wallets() {
+        return workers.stream().mapToInt(Worker::wallets).sum();
+    }
+
+    public int transactions() {
+        return workers.stream().mapToInt(Worker::transactions).sum();
+    }
+
+    public int failedChunks() {
+        return workers.stream().mapToInt(Worker::failedChunks).sum();
+    }
+
+    public double walletsPerSecond() {
+        return wallClock.isZero() ? 0 : wallets() * 1_000_000_000.0 / wallClock.toNanos();
+    }
+
+    /**
+     * @return the elapsed time of the slowest worker divided by the mean elapsed time, 1.0 being a perfect split.
+     */
+    public double workerSkew() {
+        double mean = workers.stream().mapToLong(worker -> worker.elapsed().toNanos()).average().orElse(0);
+        long slowest = workers.stream().mapToLong(worker -> worker.elapsed().toNanos()).max().orElse(0);
+        return mean == 0 ? 1.0 : slowest / mean;
+    }
+
+    /**
+     * @param index        the worker index, the worker settles the wallets whose ID modulo the worker count is the index.
+     * @param wallets      the number of wallets settled.
+     * @param transactions the number of transactions approved.
+     * @param failedChunks the number of chunks that failed and were skipped.
+     * @param elapsed      the time the worker spent.
+     */
+    public record Worker(int index, int wallets, int transactions, int failedChunks, Duration elapsed) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.khantech.gaming.tms.dto;
+
+/**
+ * Bounds one settlement run. A {@code null} request settles every pending transaction.
+ *
+ * @param maxTransactions the maximum number of pending transactions read by the run, split evenly over the workers.
+ */
+public record SettlementRequestDto(int maxTransactions) {
+}
@@ -0,0 +1,69 @@
+package com.khantech.gaming.tms.dto;
+
+import java.io.Serializable;
+
+public class SettlementRunCheckpointResponseDto implements Serializable {
+    private Integer worker;
+    private Long lastWalletId;
+    private Long lastTransactionId;
+    private Long wallets;
+    private Long transactions;
+    private Long failedChunks;
+    private Long updatedAt;
+
+    public Integer getWorker() {
+        return worker;
+    }
+
+    public void setWorker(Integer worker) {
+        this.worker = worker;
+    }
+
+    public Long getLastWalletId() {
+        return lastWalletId;
+    }
+
+    public void setLastWalletId(Long lastWalletId) {
+        this.lastWalletId = lastWalletId;
+    }
+
+    public Long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public void setLastTransactionId(Long lastTransactionId) {
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    public Long getWallets() {
+        return wallets;
+    }
+
+    public void setWallets(Long wallets) {
+        this.wallets = wallets;
+    }
+
+    public Long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(Long transactions) {
+        this.transactions = transactions;
+    }
+
+    public Long getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(Long failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public Long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
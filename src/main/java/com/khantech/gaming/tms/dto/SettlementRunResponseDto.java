@@ -0,0 +1,127 @@
+package com.khantech.gaming.tms.dto;
+
+import com.khantech.gaming.tms.model.SettlementRunStatus;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class SettlementRunResponseDto implements Serializable {
+    private Long id;
+    private SettlementRunStatus status;
+    private Integer workers;
+    private Long startedAt;
+    private Long finishedAt;
+    private Long wallets;
+    private Long transactions;
+    private Long failedChunks;
+    // Time since the run started, up to now while it is still running
+    private Long elapsedMillis;
+    private Double transactionsPerSecond;
+    private Double walletsPerSecond;
+    private String lastError;
+    private List<SettlementRunCheckpointResponseDto> checkpoints;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SettlementRunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SettlementRunStatus status) {
+        this.status = status;
+    }
+
+    public Integer getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(Integer workers) {
+        this.workers = workers;
+    }
+
+    public Long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getWallets() {
+        return wallets;
+    }
+
+    public void setWallets(Long wallets) {
+        this.wallets = wallets;
+    }
+
+    public Long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(Long transactions) {
+        this.transactions = transactions;
+    }
+
+    public Long getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(Long failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public Long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(Long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Double getTransactionsPerSecond() {
+        return transactionsPerSecond;
+    }
+
+    public void setTransactionsPerSecond(Double transactionsPerSecond) {
+        this.transactionsPerSecond = transactionsPerSecond;
+    }
+
+    public Double getWalletsPerSecond() {
+        return walletsPerSecond;
+    }
+
+    public void setWalletsPerSecond(Double walletsPerSecond) {
+        this.walletsPerSecond = walletsPerSecond;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public List<SettlementRunCheckpointResponseDto> getCheckpoints() {
+        return checkpoints;
+    }
+
+    public void setCheckpoints(List<SettlementRunCheckpointResponseDto> checkpoints) {
+        this.checkpoints = checkpoints;
+    }
+}
@@ -0,0 +1,21 @@
+package com.khantech.gaming.tms.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class TransactionBatchRequestDto {
+    @NotEmpty(message = "Transactions are required")
+    @Size(max = 500, message = "A batch can contain at most 500 transactions")
+    private List<@Valid TransactionRequestDto> transactions;
+
+    public List<TransactionRequestDto> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionRequestDto> transactions) {
+        this.transactions = transactions;
+    }
+}
@@ -0,0 +1,41 @@
+package com.khantech.gaming.tms.dto;
+
+import com.khantech.gaming.tms.exception.InvalidHistoryCursorException;
+import com.khantech.gaming.tms.util.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a wallet's transaction history: the (created at, ID) of the last transaction of a page. It is handed
+ * to clients as an opaque URL safe string, and the next page starts right after it.
+ *
+ * @param createdAt the creation time of the last transaction of the page.
+ * @param id        the ID of the last transaction of the page.
+ */
+public record TransactionHistoryCursor(LocalDateTime createdAt, Long id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor a cursor returned with a previous page.
+     * @return the decoded position.
+     * @throws InvalidHistoryCursorException if the cursor was not produced by {@link #encode()}.
+     */
+    public static TransactionHistoryCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new TransactionHistoryCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidHistoryCursorException(BusinessException.InvalidHistoryCursorException, cursor);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.khantech.gaming.tms.dto;
+
+import com.khantech.gaming.tms.model.Transaction;
+
+import java.util.List;
+
+/**
+ * One page of a wallet's transaction history, newest first.
+ *
+ * @param transactions the transactions of the page.
+ * @param nextCursor   the cursor of the next page, or {@code null} if this is the last page.
+ */
+public record TransactionHistoryPageDto(List<Transaction> transactions, String nextCursor) {
+}
@@ -0,0 +1,20 @@
+package com.khantech.gaming.tms.dto;
+
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a transaction history page. Every filter is optional.
+ *
+ * @param status only transactions in this status.
+ * @param type   only transactions of this type.
+ * @param from   only transactions created at or after this time.
+ * @param to     only transactions created before this time.
+ * @param cursor the cursor returned with the previous page, {@code null} for the first page.
+ * @param limit  the maximum number of transactions of the page.
+ */
+public record TransactionHistoryQueryDto(TransactionStatus status, TransactionType type, LocalDateTime from,
+                                         LocalDateTime to, String cursor, int limit) {
+}
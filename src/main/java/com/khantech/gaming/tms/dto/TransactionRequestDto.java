@@ -1,6 +1,8 @@
 package com.khantech.gaming.tms.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.khantech.gaming.tms.model.TransactionType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
@@ -12,11 +14,16 @@ public class TransactionRequestDto {
     private Long walletId;
 
     @NotNull(message = "Amount is required")
+    @Digits(integer = 16, fraction = 2, message = "Amount must have at most 16 integer digits and 2 decimal places")
     private BigDecimal amount;
 
     @NotNull(message = "Transaction type is required")
     private TransactionType transactionType;
 
+    // Taken from the Idempotency-Key header, not from the request body
+    @JsonIgnore
+    private String idempotencyKey;
+
     public Long getWalletId() {
         return walletId;
     }
@@ -40,4 +47,12 @@ public class TransactionRequestDto {
     public void setTransactionType(TransactionType transactionType) {
         this.transactionType = transactionType;
     }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
 }
@@ -1,6 +1,7 @@
 package com.khantech.gaming.tms.dto;
 
 import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -11,6 +12,7 @@ public class TransactionResponseDto implements Serializable {
     private Long walletId;
     private BigDecimal amount;
     private TransactionStatus status;
+    private TransactionType transactionType;
     private Long createdAt;
     private String message;
 
@@ -54,6 +56,14 @@ public class TransactionResponseDto implements Serializable {
         this.createdAt = createdAt;
     }
 
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
     public String getMessage() {
         return message;
     }
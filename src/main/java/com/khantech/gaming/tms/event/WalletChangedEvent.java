@@ -0,0 +1,11 @@
+package com.khantech.gaming.tms.event;
+
+/**
+ * Published when the balance of a wallet or the wallets of a user change. Listeners that keep copies of wallet
+ * data handle it after the surrounding transaction commits.
+ *
+ * @param userId   the owner of the wallet, or {@code null} if the change is only known by wallet ID.
+ * @param walletId the changed wallet.
+ */
+public record WalletChangedEvent(Long userId, Long walletId) {
+}
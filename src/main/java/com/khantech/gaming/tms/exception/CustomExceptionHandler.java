@@ -2,15 +2,19 @@ package com.khantech.gaming.tms.exception;
 
 import com.khantech.gaming.tms.api.ApiBuilder;
 import com.khantech.gaming.tms.api.ApiMessage;
+import com.khantech.gaming.tms.util.BusinessException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import static com.khantech.gaming.tms.util.LogMessages.DATABASE_CONNECTION_UNAVAILABLE;
+
 @RestControllerAdvice
 public class CustomExceptionHandler implements ApiBuilder {
     Logger log = LoggerFactory.getLogger(CustomExceptionHandler.class);
@@ -56,6 +60,22 @@ public class CustomExceptionHandler implements ApiBuilder {
                 .body(apiMessage);
     }
 
+    @ExceptionHandler(SettlementRunNotFoundException.class)
+    public ResponseEntity<ApiMessage> handleSettlementRunNotFoundException(SettlementRunNotFoundException ex) {
+        ApiMessage apiMessage = generateApiMessage(generateApiInfo(ex));
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(apiMessage);
+    }
+
+    @ExceptionHandler(SettlementRunInProgressException.class)
+    public ResponseEntity<ApiMessage> handleSettlementRunInProgressException(SettlementRunInProgressException ex) {
+        ApiMessage apiMessage = generateApiMessage(generateApiInfo(ex));
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(apiMessage);
+    }
+
     @ExceptionHandler(InvalidWalletNameException.class)
     public ResponseEntity<ApiMessage> handleInvalidWalletNameException(InvalidWalletNameException ex) {
         ApiMessage apiMessage = generateApiMessage(generateApiInfo(ex));
@@ -72,6 +92,42 @@ public class CustomExceptionHandler implements ApiBuilder {
                 .body(apiMessage);
     }
 
+    @ExceptionHandler(ConcurrentWalletUpdateException.class)
+    public ResponseEntity<ApiMessage> handleConcurrentWalletUpdateException(ConcurrentWalletUpdateException ex) {
+        ApiMessage apiMessage = generateApiMessage(generateApiInfo(ex));
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(apiMessage);
+    }
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ApiMessage> handleIdempotencyKeyConflictException(IdempotencyKeyConflictException ex) {
+        ApiMessage apiMessage = generateApiMessage(generateApiInfo(ex));
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(apiMessage);
+    }
+
+    // The connection pool is the concurrency limit of the database work, a request that cannot get a connection
+    // within the pool's connection timeout is rejected instead of queueing without bound
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiMessage> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        log.warn(DATABASE_CONNECTION_UNAVAILABLE, ex.getMessage());
+        ApiMessage apiMessage = generateApiMessage(generateApiInfo(
+                new ServiceBusyException(BusinessException.ServiceBusyException)));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(apiMessage);
+    }
+
+    @ExceptionHandler(InvalidHistoryCursorException.class)
+    public ResponseEntity<ApiMessage> handleInvalidHistoryCursorException(InvalidHistoryCursorException ex) {
+        ApiMessage apiMessage = generateApiMessage(generateApiInfo(ex));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(apiMessage);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiMessage> handleInvalidMethodArgumentException(MethodArgumentNotValidException ex) {
         ApiMessage apiMessage = generateApiMessage(generateApiInfo(ex));
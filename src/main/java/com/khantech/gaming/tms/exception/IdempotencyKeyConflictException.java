@@ -0,0 +1,9 @@
+package com.khantech.gaming.tms.exception;
+
+import com.khantech.gaming.tms.util.BusinessException;
+
+public class IdempotencyKeyConflictException extends BaseApiRuntimeException {
+    public IdempotencyKeyConflictException(BusinessException exception, Object... params) {
+        super(exception.getMessage(params), exception.getCode(), exception.getReason(params));
+    }
+}
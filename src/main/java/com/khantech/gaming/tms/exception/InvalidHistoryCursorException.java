@@ -0,0 +1,9 @@
+package com.khantech.gaming.tms.exception;
+
+import com.khantech.gaming.tms.util.BusinessException;
+
+public class InvalidHistoryCursorException extends BaseApiRuntimeException {
+    public InvalidHistoryCursorException(BusinessException exception, Object... params) {
+        super(exception.getMessage(params), exception.getCode(), exception.getReason(params));
+    }
+}
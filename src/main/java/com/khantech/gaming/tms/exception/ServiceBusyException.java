@@ -0,0 +1,9 @@
+package com.khantech.gaming.tms.exception;
+
+import com.khantech.gaming.tms.util.BusinessException;
+
+public class ServiceBusyException extends BaseApiRuntimeException {
+    public ServiceBusyException(BusinessException exception, Object... params) {
+        super(exception.getMessage(params), exception.getCode(), exception.getReason(params));
+    }
+}
@@ -0,0 +1,95 @@
+package com.khantech.gaming.tms.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.khantech.gaming.tms.util.LogMessages.FLIGHT_RECORDING_STARTED;
+import static com.khantech.gaming.tms.util.LogMessages.FLIGHT_RECORDING_STOPPED;
+
+/**
+ * Starts a continuous flight recording with the application when {@code jfr.recording.enabled} is set. The recording
+ * uses the settings of a JDK configuration ({@code profile} by default) overlaid with the bundled
+ * {@code jfr/tms.jfc}, which enables the events of this application. Data is kept on disk up to the configured age
+ * and size, and written to the destination file when the application stops or the JVM exits.
+ */
+@Component
+@ConditionalOnProperty(name = "jfr.recording.enabled", havingValue = "true")
+public class FlightRecording {
+    private static final Logger log = LoggerFactory.getLogger(FlightRecording.class);
+    static final String APPLICATION_SETTINGS = "jfr/tms.jfc";
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Path destination;
+    private Recording recording;
+
+    public FlightRecording(
+            @Value("${jfr.recording.settings:profile}") String settings,
+            @Value("${jfr.recording.max-age:PT6H}") Duration maxAge,
+            @Value("${jfr.recording.max-size:256MB}") DataSize maxSize,
+            @Value("${jfr.recording.destination:tms-recording.jfr}") Path destination
+    ) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.destination = destination;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        recording = new Recording(settings(settings));
+        recording.setName("tms");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        log.info(FLIGHT_RECORDING_STARTED, settings, destination.toAbsolutePath());
+    }
+
+    @PreDestroy
+    public void stop() {
+        // On JVM shutdown the recorder may already have written and stopped the recording in its own hook
+        if (recording.getState() == RecordingState.RUNNING) {
+            // Stopping writes the recording to its destination
+            recording.stop();
+            log.info(FLIGHT_RECORDING_STOPPED, destination.toAbsolutePath());
+        }
+        recording.close();
+    }
+
+    /**
+     * @param base the name of a JDK configuration, such as {@code default} or {@code profile}.
+     * @return the settings of the JDK configuration with the application event settings applied on top.
+     */
+    static Map<String, String> settings(String base) throws IOException, ParseException {
+        Map<String, String> merged = new HashMap<>(Configuration.getConfiguration(base).getSettings());
+        try (Reader reader = new InputStreamReader(
+                new ClassPathResource(APPLICATION_SETTINGS).getInputStream(), StandardCharsets.UTF_8)) {
+            merged.putAll(Configuration.create(reader).getSettings());
+        }
+        return merged;
+    }
+}
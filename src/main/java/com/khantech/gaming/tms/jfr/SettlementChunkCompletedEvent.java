@@ -0,0 +1,62 @@
+package com.khantech.gaming.tms.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning the settlement of one chunk of pending transactions by a settlement worker,
+ * including the wallet claim and its release.
+ */
+@Name("com.khantech.gaming.tms.SettlementChunkCompleted")
+@Label("Settlement Chunk Completed")
+@Description("Settlement of a chunk of pending transactions")
+@Category({"Transaction Management System", "Settlement"})
+@StackTrace(false)
+public class SettlementChunkCompletedEvent extends Event {
+    @Label("Worker")
+    private int worker;
+
+    @Label("First Wallet ID")
+    private long firstWalletId;
+
+    @Label("Pending Transactions")
+    @Description("Pending transactions read in the chunk")
+    private int pending;
+
+    @Label("Settled Transactions")
+    private int transactions;
+
+    @Label("Settled Wallets")
+    private int wallets;
+
+    @Label("Failed")
+    private boolean failed;
+
+    public void setWorker(int worker) {
+        this.worker = worker;
+    }
+
+    public void setFirstWalletId(long firstWalletId) {
+        this.firstWalletId = firstWalletId;
+    }
+
+    public void setPending(int pending) {
+        this.pending = pending;
+    }
+
+    public void setTransactions(int transactions) {
+        this.transactions = transactions;
+    }
+
+    public void setWallets(int wallets) {
+        this.wallets = wallets;
+    }
+
+    public void setFailed(boolean failed) {
+        this.failed = failed;
+    }
+}
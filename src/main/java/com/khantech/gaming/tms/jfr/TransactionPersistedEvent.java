@@ -0,0 +1,34 @@
+package com.khantech.gaming.tms.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning the save and flush of created transactions, so its duration includes the
+ * Hibernate flush of the transaction rows and of the wallet changes made in the same database transaction.
+ */
+@Name("com.khantech.gaming.tms.TransactionPersisted")
+@Label("Transaction Persisted")
+@Description("Save and flush of created transactions")
+@Category({"Transaction Management System", "Transaction"})
+@StackTrace(false)
+public class TransactionPersistedEvent extends Event {
+    @Label("Transactions")
+    @Description("Number of transactions saved, more than one for a batch")
+    private int transactions;
+
+    @Label("Batch")
+    private boolean batch;
+
+    public void setTransactions(int transactions) {
+        this.transactions = transactions;
+    }
+
+    public void setBatch(boolean batch) {
+        this.batch = batch;
+    }
+}
@@ -0,0 +1,33 @@
+package com.khantech.gaming.tms.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning the execution of one validation rule against a transaction.
+ */
+@Name("com.khantech.gaming.tms.ValidationRuleExecuted")
+@Label("Validation Rule Executed")
+@Description("Execution of a transaction validation rule")
+@Category({"Transaction Management System", "Validation"})
+@StackTrace(false)
+public class ValidationRuleExecutedEvent extends Event {
+    @Label("Rule")
+    private String rule;
+
+    @Label("Rejected")
+    @Description("True if the rule rejected the transaction")
+    private boolean rejected;
+
+    public void setRule(String rule) {
+        this.rule = rule;
+    }
+
+    public void setRejected(boolean rejected) {
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,34 @@
+package com.khantech.gaming.tms.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning the locking read of a wallet row, so its duration is the time spent waiting for
+ * the {@code PESSIMISTIC_WRITE} lock plus the read itself.
+ */
+@Name("com.khantech.gaming.tms.WalletLockAcquired")
+@Label("Wallet Lock Acquired")
+@Description("Locking read of a wallet row")
+@Category({"Transaction Management System", "Wallet"})
+@StackTrace(false)
+public class WalletLockAcquiredEvent extends Event {
+    @Label("Wallet ID")
+    private long walletId;
+
+    @Label("Found")
+    @Description("False if the wallet does not exist")
+    private boolean found;
+
+    public void setWalletId(long walletId) {
+        this.walletId = walletId;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+}
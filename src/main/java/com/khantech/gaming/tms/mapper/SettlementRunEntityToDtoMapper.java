@@ -0,0 +1,55 @@
+package com.khantech.gaming.tms.mapper;
+
+import com.khantech.gaming.tms.dto.SettlementRunCheckpointResponseDto;
+import com.khantech.gaming.tms.dto.SettlementRunResponseDto;
+import com.khantech.gaming.tms.model.SettlementRun;
+import com.khantech.gaming.tms.model.SettlementRunCheckpoint;
+import com.khantech.gaming.tms.util.DateTimeConverter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+public class SettlementRunEntityToDtoMapper implements BaseCollectionMapper<SettlementRun, SettlementRunResponseDto> {
+    @Override
+    public SettlementRunResponseDto convert(SettlementRun run) {
+        SettlementRunResponseDto dto = new SettlementRunResponseDto();
+        dto.setId(run.getId());
+        dto.setStatus(run.getStatus());
+        dto.setWorkers(run.getWorkers());
+        dto.setStartedAt(DateTimeConverter.convertDateToMillis(run.getStartedAt()));
+        dto.setFinishedAt(DateTimeConverter.convertDateToMillis(run.getFinishedAt()));
+        dto.setLastError(run.getLastError());
+        dto.setCheckpoints(run.getCheckpoints().stream().map(this::convertCheckpoint).toList());
+
+        long wallets = run.getCheckpoints().stream().mapToLong(SettlementRunCheckpoint::getWallets).sum();
+        long transactions = run.getCheckpoints().stream().mapToLong(SettlementRunCheckpoint::getTransactions).sum();
+        LocalDateTime end = run.getFinishedAt() != null ? run.getFinishedAt() : LocalDateTime.now();
+        long elapsedMillis = Math.max(0, Duration.between(run.getStartedAt(), end).toMillis());
+        dto.setWallets(wallets);
+        dto.setTransactions(transactions);
+        dto.setFailedChunks(run.getCheckpoints().stream().mapToLong(SettlementRunCheckpoint::getFailedChunks).sum());
+        dto.setElapsedMillis(elapsedMillis);
+        dto.setTransactionsPerSecond(elapsedMillis == 0 ? 0 : transactions * 1000.0 / elapsedMillis);
+        dto.setWalletsPerSecond(elapsedMillis == 0 ? 0 : wallets * 1000.0 / elapsedMillis);
+        return dto;
+    }
+
+    private SettlementRunCheckpointResponseDto convertCheckpoint(SettlementRunCheckpoint checkpoint) {
+        SettlementRunCheckpointResponseDto dto = new SettlementRunCheckpointResponseDto();
+        dto.setWorker(checkpoint.getWorker());
+        dto.setLastWalletId(checkpoint.getLastWalletId());
+        dto.setLastTransactionId(checkpoint.getLastTransactionId());
+        dto.setWallets(checkpoint.getWallets());
+        dto.setTransactions(checkpoint.getTransactions());
+        dto.setFailedChunks(checkpoint.getFailedChunks());
+        dto.setUpdatedAt(DateTimeConverter.convertDateToMillis(checkpoint.getUpdatedAt()));
+        return dto;
+    }
+
+    @Override
+    public boolean validate(SettlementRun data) {
+        return data != null;
+    }
+}
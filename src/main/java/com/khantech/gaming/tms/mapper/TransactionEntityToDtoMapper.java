@@ -3,17 +3,19 @@ package com.khantech.gaming.tms.mapper;
 import com.khantech.gaming.tms.dto.TransactionResponseDto;
 import com.khantech.gaming.tms.model.Transaction;
 import com.khantech.gaming.tms.util.DateTimeConverter;
+import com.khantech.gaming.tms.util.MoneyUtil;
 import org.springframework.stereotype.Component;
 
 @Component
-public class TransactionEntityToDtoMapper implements BaseMapper<Transaction, TransactionResponseDto> {
+public class TransactionEntityToDtoMapper implements BaseCollectionMapper<Transaction, TransactionResponseDto> {
     @Override
     public TransactionResponseDto convert(Transaction transaction) {
         TransactionResponseDto dto = new TransactionResponseDto();
         dto.setId(transaction.getId());
         dto.setWalletId(transaction.getWallet().getId());
-        dto.setAmount(transaction.getAmount());
+        dto.setAmount(MoneyUtil.toDecimal(transaction.getAmount()));
         dto.setStatus(transaction.getStatus());
+        dto.setTransactionType(transaction.getTransactionType());
         dto.setCreatedAt(DateTimeConverter.convertDateToMillis(transaction.getCreatedAt()));
         dto.setMessage(transaction.getMessage());
         return dto;
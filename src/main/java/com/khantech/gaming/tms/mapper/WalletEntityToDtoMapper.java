@@ -2,6 +2,7 @@ package com.khantech.gaming.tms.mapper;
 
 import com.khantech.gaming.tms.dto.WalletResponseDto;
 import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.util.MoneyUtil;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
@@ -20,7 +21,7 @@ public class WalletEntityToDtoMapper implements BaseCollectionMapper<Wallet, Wal
         dto.setId(wallet.getId());
         dto.setUserId(wallet.getUser().getId());
         dto.setName(wallet.getName());
-        dto.setBalance(wallet.getBalance());
+        dto.setBalance(MoneyUtil.toDecimal(wallet.getBalance()));
         return dto;
     }
 
@@ -0,0 +1,95 @@
+package com.khantech.gaming.tms.metrics;
+
+import com.khantech.gaming.tms.dto.SettlementReportDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_FAILED_CHUNKS;
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_PENDING_SCAN;
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_RUN_DURATION;
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_RUN_THROUGHPUT;
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_TRANSACTIONS;
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_WALLETS;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_MODE;
+
+/**
+ * Metrics of the settlement:
+ * <ul>
+ *     <li>{@code tms.settlement.pending.scan}: duration of the keyset reads of pending transactions.</li>
+ *     <li>{@code tms.settlement.transactions}, {@code tms.settlement.wallets} and
+ *     {@code tms.settlement.failed.chunks}: counted after every chunk, so their rate is the live settlement
+ *     throughput even while a long run is in progress.</li>
+ *     <li>{@code tms.settlement.run.duration}: duration of whole runs and micro-batches, tagged with the mode.</li>
+ *     <li>{@code tms.settlement.run.throughput}: transactions per second of the last finished run or micro-batch.</li>
+ * </ul>
+ */
+@Component
+public class SettlementMetrics {
+    private static final String MODE_RUN = "run";
+    private static final String MODE_MICRO_BATCH = "micro-batch";
+
+    private final Timer pendingScanTimer;
+    private final Counter transactions;
+    private final Counter wallets;
+    private final Counter failedChunks;
+    private final Timer runTimer;
+    private final Timer microBatchTimer;
+    // Throughput of the last run, stored as the bits of a double
+    private final AtomicLong lastThroughput = new AtomicLong(Double.doubleToLongBits(0));
+
+    public SettlementMetrics(MeterRegistry meterRegistry) {
+        this.pendingScanTimer = Timer.builder(SETTLEMENT_PENDING_SCAN)
+                .description("Duration of the reads of pending transactions")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.transactions = Counter.builder(SETTLEMENT_TRANSACTIONS)
+                .description("Settled transactions")
+                .register(meterRegistry);
+        this.wallets = Counter.builder(SETTLEMENT_WALLETS)
+                .description("Settled wallets")
+                .register(meterRegistry);
+        this.failedChunks = Counter.builder(SETTLEMENT_FAILED_CHUNKS)
+                .description("Settlement chunks that failed and were left for the next run")
+                .register(meterRegistry);
+        this.runTimer = runTimer(meterRegistry, MODE_RUN);
+        this.microBatchTimer = runTimer(meterRegistry, MODE_MICRO_BATCH);
+        Gauge.builder(SETTLEMENT_RUN_THROUGHPUT, lastThroughput, bits -> Double.longBitsToDouble(bits.get()))
+                .description("Transactions settled per second by the last run or micro-batch")
+                .register(meterRegistry);
+    }
+
+    public void recordPendingScan(long nanos) {
+        pendingScanTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordChunk(int settledWallets, int settledTransactions, int failed) {
+        wallets.increment(settledWallets);
+        transactions.increment(settledTransactions);
+        failedChunks.increment(failed);
+    }
+
+    /**
+     * Records a finished run or micro-batch.
+     *
+     * @param report     the settlement report.
+     * @param microBatch true for a bounded micro-batch, false for a full run.
+     */
+    public void recordRun(SettlementReportDto report, boolean microBatch) {
+        (microBatch ? microBatchTimer : runTimer).record(report.wallClock());
+        double seconds = report.wallClock().toNanos() / 1e9;
+        lastThroughput.set(Double.doubleToLongBits(seconds > 0 ? report.transactions() / seconds : 0));
+    }
+
+    private static Timer runTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder(SETTLEMENT_RUN_DURATION)
+                .description("Duration of settlement runs")
+                .tag(TAG_MODE, mode)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.khantech.gaming.tms.metrics;
+
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.khantech.gaming.tms.util.MetricNames.TAG_REASON;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_STATUS;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_TYPE;
+import static com.khantech.gaming.tms.util.MetricNames.TRANSACTIONS_APPROVED;
+import static com.khantech.gaming.tms.util.MetricNames.TRANSACTIONS_ARCHIVED;
+import static com.khantech.gaming.tms.util.MetricNames.TRANSACTIONS_REJECTED;
+import static com.khantech.gaming.tms.util.MetricNames.TRANSACTIONS_SUBMITTED;
+import static com.khantech.gaming.tms.util.MetricNames.TRANSACTION_SAVE;
+
+/**
+ * Business metrics of the transaction flow:
+ * <ul>
+ *     <li>{@code tms.transactions.submitted}: created transactions, tagged with their type and the status they were
+ *     created with (APPROVED, AWAITING_APPROVAL or REJECTED).</li>
+ *     <li>{@code tms.transactions.rejected}: rejected transactions, tagged with their type and the rule that
+ *     rejected them.</li>
+ *     <li>{@code tms.transactions.approved}: transactions approved after waiting for approval, tagged with their
+ *     type.</li>
+ *     <li>{@code tms.transaction.save}: time spent writing the transactions and wallet changes to the database.</li>
+ *     <li>{@code tms.transactions.archived}: settled transactions moved to the history table by the archival.</li>
+ * </ul>
+ * Counters are registered up front, or once per rejection reason, so recording does not look meters up.
+ */
+@Component
+public class TransactionMetrics {
+    private static final String UNKNOWN_REASON = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TransactionType, Map<TransactionStatus, Counter>> created = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Counter> approved = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Map<String, Counter>> rejected = new EnumMap<>(TransactionType.class);
+    private final Timer saveTimer;
+    private final Counter archived;
+
+    public TransactionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (TransactionType type : TransactionType.values()) {
+            Map<TransactionStatus, Counter> byStatus = new EnumMap<>(TransactionStatus.class);
+            for (TransactionStatus status : TransactionStatus.values()) {
+                byStatus.put(status, Counter.builder(TRANSACTIONS_SUBMITTED)
+                        .description("Created transactions by the status they were created with")
+                        .tag(TAG_TYPE, type.name())
+                        .tag(TAG_STATUS, status.name())
+                        .register(meterRegistry));
+            }
+            created.put(type, byStatus);
+            approved.put(type, Counter.builder(TRANSACTIONS_APPROVED)
+                    .description("Transactions approved after waiting for approval")
+                    .tag(TAG_TYPE, type.name())
+                    .register(meterRegistry));
+            rejected.put(type, new ConcurrentHashMap<>());
+        }
+        this.saveTimer = Timer.builder(TRANSACTION_SAVE)
+                .description("Time spent writing transactions and wallet changes to the database")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.archived = Counter.builder(TRANSACTIONS_ARCHIVED)
+                .description("Settled transactions moved to the history table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a newly created transaction under its type and status, and its rejection reason if it was rejected.
+     */
+    public void created(Transaction transaction) {
+        TransactionType type = transaction.getTransactionType();
+        if (type == null || transaction.getStatus() == null) {
+            return;
+        }
+        created.get(type).get(transaction.getStatus()).increment();
+        if (transaction.getStatus() == TransactionStatus.REJECTED) {
+            String reason = transaction.getRejectionReason() == null ? UNKNOWN_REASON : transaction.getRejectionReason();
+            rejected.get(type).computeIfAbsent(reason, key -> Counter.builder(TRANSACTIONS_REJECTED)
+                    .description("Rejected transactions by the rule that rejected them")
+                    .tag(TAG_TYPE, type.name())
+                    .tag(TAG_REASON, key)
+                    .register(meterRegistry)).increment();
+        }
+    }
+
+    /**
+     * Counts a transaction approved after waiting for approval.
+     */
+    public void approved(Transaction transaction) {
+        if (transaction.getTransactionType() != null) {
+            approved.get(transaction.getTransactionType()).increment();
+        }
+    }
+
+    /**
+     * Counts settled transactions moved to the history table.
+     */
+    public void archived(int transactions) {
+        archived.increment(transactions);
+    }
+
+    /**
+     * Runs a database write and records its duration under {@code tms.transaction.save}.
+     */
+    public <T> T timeSave(Supplier<T> save) {
+        long start = System.nanoTime();
+        try {
+            return save.get();
+        } finally {
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.khantech.gaming.tms.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(indexes = @Index(name = "ix_settlement_run_status", columnList = "status, id"))
+public class SettlementRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "settlement_run_seq")
+    @SequenceGenerator(name = "settlement_run_seq", sequenceName = "settlement_run_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SettlementRunStatus status;
+
+    // Wallets are partitioned by ID modulo this count, so checkpoints are only valid for the same worker count
+    @Column(nullable = false)
+    private int workers;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Token of the settlement holding the run, only that settlement may checkpoint and finish it
+    @Column(length = 36)
+    private String owner;
+
+    // Renewed with every checkpoint, another settlement may only take the run over once it has passed
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // TRUE while the run is running or failed and NULL once it completed or was superseded. The unique constraint
+    // ignores NULLs, so it keeps two settlements from starting an unfinished run at the same time
+    @Column(unique = true)
+    private Boolean unfinished;
+
+    @OneToMany(mappedBy = "run", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("worker")
+    private List<SettlementRunCheckpoint> checkpoints = new ArrayList<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SettlementRunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SettlementRunStatus status) {
+        this.status = status;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public Boolean getUnfinished() {
+        return unfinished;
+    }
+
+    public void setUnfinished(Boolean unfinished) {
+        this.unfinished = unfinished;
+    }
+
+    public List<SettlementRunCheckpoint> getCheckpoints() {
+        return checkpoints;
+    }
+
+    public void addCheckpoint(SettlementRunCheckpoint checkpoint) {
+        checkpoint.setRun(this);
+        checkpoints.add(checkpoint);
+    }
+}
@@ -0,0 +1,115 @@
+package com.khantech.gaming.tms.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one settlement worker within a run. The keyset position is the last (wallet ID, transaction ID)
+ * read by the worker, so a resumed run continues right after the last committed chunk.
+ */
+@Entity
+@Table(indexes = @Index(name = "ux_settlement_run_checkpoint_worker", columnList = "run_id, worker", unique = true))
+public class SettlementRunCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "settlement_run_checkpoint_seq")
+    @SequenceGenerator(name = "settlement_run_checkpoint_seq", sequenceName = "settlement_run_checkpoint_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private SettlementRun run;
+
+    @Column(nullable = false)
+    private int worker;
+
+    @Column(name = "last_wallet_id", nullable = false)
+    private long lastWalletId;
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private long lastTransactionId;
+
+    @Column(nullable = false)
+    private long wallets;
+
+    @Column(nullable = false)
+    private long transactions;
+
+    @Column(name = "failed_chunks", nullable = false)
+    private long failedChunks;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SettlementRun getRun() {
+        return run;
+    }
+
+    public void setRun(SettlementRun run) {
+        this.run = run;
+    }
+
+    public int getWorker() {
+        return worker;
+    }
+
+    public void setWorker(int worker) {
+        this.worker = worker;
+    }
+
+    public long getLastWalletId() {
+        return lastWalletId;
+    }
+
+    public void setLastWalletId(long lastWalletId) {
+        this.lastWalletId = lastWalletId;
+    }
+
+    public long getLastTransactionId() {
+        return lastTransactionId;
+    }
+
+    public void setLastTransactionId(long lastTransactionId) {
+        this.lastTransactionId = lastTransactionId;
+    }
+
+    public long getWallets() {
+        return wallets;
+    }
+
+    public void setWallets(long wallets) {
+        this.wallets = wallets;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(long transactions) {
+        this.transactions = transactions;
+    }
+
+    public long getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(long failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
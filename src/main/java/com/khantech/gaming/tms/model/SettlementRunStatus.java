@@ -0,0 +1,20 @@
+package com.khantech.gaming.tms.model;
+
+public enum SettlementRunStatus {
+    /**
+     * The run is settling, or the instance running it stopped before it finished.
+     */
+    RUNNING,
+    /**
+     * Every worker reached the end of the pending transactions.
+     */
+    COMPLETED,
+    /**
+     * The run stopped on an error, the next unbounded settlement continues it from its checkpoints.
+     */
+    FAILED,
+    /**
+     * The run was left unfinished and replaced by a run with a different worker count.
+     */
+    SUPERSEDED
+}
@@ -0,0 +1,12 @@
+package com.khantech.gaming.tms.model;
+
+public enum SettlementScheduleMode {
+    /**
+     * Settles every pending transaction once per run of the cron expression.
+     */
+    CRON,
+    /**
+     * Settles bounded micro-batches on a short delay that adapts to the pending backlog.
+     */
+    MICRO_BATCH
+}
@@ -4,21 +4,31 @@ import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+        @Index(name = "ux_transaction_idempotency_key", columnList = "idempotency_key", unique = true),
+        @Index(name = "ix_transaction_status_wallet", columnList = "status, wallet_id, id"),
+        // Keyset pages of a wallet's history, with and without a status filter
+        @Index(name = "ix_transaction_wallet_status_created", columnList = "wallet_id, status, created_at, id"),
+        @Index(name = "ix_transaction_wallet_created", columnList = "wallet_id, created_at, id")
+})
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "wallet_id")
     private Wallet wallet;
 
-    private BigDecimal amount;
+    // In minor units (cents), see MoneyUtil
+    @Column(name = "amount_minor", nullable = false)
+    private long amount;
 
     @Enumerated(EnumType.STRING)
     private TransactionStatus status;
@@ -28,10 +38,26 @@ public class Transaction {
     @Enumerated(EnumType.STRING)
     private TransactionType transactionType;
 
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Name of the rule that rejected the transaction, only kept in memory for the metrics
+    @Transient
+    private String rejectionReason;
+
+    // Runs after the auditing listener. The column keeps microseconds, so the creation time is truncated up front to
+    // keep the in-memory value equal to the stored one, which the history keyset relies on
+    @PrePersist
+    void truncateCreatedAt() {
+        if (createdAt != null) {
+            createdAt = createdAt.truncatedTo(ChronoUnit.MICROS);
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -48,11 +74,11 @@ public class Transaction {
         this.wallet = wallet;
     }
 
-    public BigDecimal getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(BigDecimal amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 
@@ -87,4 +113,20 @@ public class Transaction {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public void setRejectionReason(String rejectionReason) {
+        this.rejectionReason = rejectionReason;
+    }
 }
@@ -1,13 +1,19 @@
 package com.khantech.gaming.tms.model;
 
+import com.khantech.gaming.tms.validation.WalletValidationHelper;
 import jakarta.persistence.*;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = {
+        // Wallet names are unique per user regardless of case
+        @UniqueConstraint(name = "ux_wallet_user_normalized_name", columnNames = {"user_id", "normalized_name"})
+})
 public class Wallet {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallet_seq")
+    @SequenceGenerator(name = "wallet_seq", sequenceName = "wallet_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -15,7 +21,34 @@ public class Wallet {
     private User user;
 
     private String name;
-    private BigDecimal balance;
+
+    // Lower-cased name, kept in sync with the name before every insert and update
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    // Money is stored in minor units (cents), see MoneyUtil
+    @Column(name = "balance_minor", nullable = false)
+    private long balance;
+
+    // Sum of DEBIT amounts that are PENDING or AWAITING_APPROVAL and not yet applied to the balance, in minor units
+    @Column(name = "reserved_amount_minor", nullable = false)
+    private long reservedAmount;
+
+    @Version
+    private Long version;
+
+    // Settlement lease, only written by bulk updates so entity saves never overwrite a claim held by another node
+    @Column(name = "settlement_claimed_by", length = 36, insertable = false, updatable = false)
+    private String settlementClaimedBy;
+
+    @Column(name = "settlement_claim_expires_at", insertable = false, updatable = false)
+    private LocalDateTime settlementClaimExpiresAt;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = WalletValidationHelper.normalizeWalletName(name);
+    }
 
     public void setId(Long id) {
         this.id = id;
@@ -41,11 +74,39 @@ public class Wallet {
         this.name = name;
     }
 
-    public BigDecimal getBalance() {
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    public long getBalance() {
         return balance;
     }
 
-    public void setBalance(BigDecimal balance) {
+    public void setBalance(long balance) {
         this.balance = balance;
     }
+
+    public long getReservedAmount() {
+        return reservedAmount;
+    }
+
+    public void setReservedAmount(long reservedAmount) {
+        this.reservedAmount = reservedAmount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getSettlementClaimedBy() {
+        return settlementClaimedBy;
+    }
+
+    public LocalDateTime getSettlementClaimExpiresAt() {
+        return settlementClaimExpiresAt;
+    }
 }
@@ -0,0 +1,10 @@
+package com.khantech.gaming.tms.model;
+
+public enum WalletConcurrencyMode {
+    // Lock the wallet row for the whole validation and update
+    PESSIMISTIC,
+    // Read the wallet without a lock and apply the change with one guarded UPDATE statement
+    CONDITIONAL_UPDATE,
+    // Read the wallet without a lock, detect conflicting updates with the version column and retry
+    OPTIMISTIC
+}
@@ -0,0 +1,50 @@
+package com.khantech.gaming.tms.repository;
+
+import com.khantech.gaming.tms.model.ArchivedTransaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+    // Copies the rows still in one of the statuses in a single INSERT ... SELECT, without loading them
+    @Modifying
+    @Query("INSERT INTO ArchivedTransaction (id, walletId, amount, status, message, transactionType, idempotencyKey, " +
+            "createdAt, archivedAt) " +
+            "SELECT t.id, t.wallet.id, t.amount, t.status, t.message, t.transactionType, t.idempotencyKey, " +
+            "t.createdAt, :archivedAt FROM Transaction t WHERE t.id IN :ids AND t.status IN :statuses")
+    int copyFromTransactions(@Param("ids") Collection<Long> ids,
+                             @Param("statuses") Collection<TransactionStatus> statuses,
+                             @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Keyset page of one wallet's archived history, see TransactionRepository.findHistoryPageByStatus
+    @Query("SELECT a FROM ArchivedTransaction a WHERE a.walletId = :walletId AND a.status = :status " +
+            "AND a.transactionType IN :types AND a.createdAt >= :from " +
+            "AND (a.createdAt < :beforeCreatedAt OR (a.createdAt = :beforeCreatedAt AND a.id < :beforeId)) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArchivedTransaction> findHistoryPageByStatus(@Param("walletId") Long walletId,
+                                                      @Param("status") TransactionStatus status,
+                                                      @Param("types") Collection<TransactionType> types,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                      @Param("beforeId") Long beforeId,
+                                                      Limit limit);
+
+    @Query("SELECT a FROM ArchivedTransaction a WHERE a.walletId = :walletId " +
+            "AND a.transactionType IN :types AND a.createdAt >= :from " +
+            "AND (a.createdAt < :beforeCreatedAt OR (a.createdAt = :beforeCreatedAt AND a.id < :beforeId)) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArchivedTransaction> findHistoryPage(@Param("walletId") Long walletId,
+                                              @Param("types") Collection<TransactionType> types,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                              @Param("beforeId") Long beforeId,
+                                              Limit limit);
+}
@@ -0,0 +1,25 @@
+package com.khantech.gaming.tms.repository;
+
+import com.khantech.gaming.tms.model.SettlementRunCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface SettlementRunCheckpointRepository extends JpaRepository<SettlementRunCheckpoint, Long> {
+    // Moves the worker's keyset position past a committed chunk and adds the chunk's work to its counters
+    @Modifying
+    @Query("UPDATE SettlementRunCheckpoint c SET c.lastWalletId = :lastWalletId, " +
+            "c.lastTransactionId = :lastTransactionId, c.wallets = c.wallets + :wallets, " +
+            "c.transactions = c.transactions + :transactions, c.failedChunks = c.failedChunks + :failedChunks, " +
+            "c.updatedAt = :now WHERE c.id = :checkpointId")
+    int advance(@Param("checkpointId") Long checkpointId,
+                @Param("lastWalletId") long lastWalletId,
+                @Param("lastTransactionId") long lastTransactionId,
+                @Param("wallets") long wallets,
+                @Param("transactions") long transactions,
+                @Param("failedChunks") long failedChunks,
+                @Param("now") LocalDateTime now);
+}
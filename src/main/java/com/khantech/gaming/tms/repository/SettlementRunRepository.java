@@ -0,0 +1,70 @@
+package com.khantech.gaming.tms.repository;
+
+import com.khantech.gaming.tms.model.SettlementRun;
+import com.khantech.gaming.tms.model.SettlementRunStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SettlementRunRepository extends JpaRepository<SettlementRun, Long> {
+    @EntityGraph(attributePaths = "checkpoints")
+    Optional<SettlementRun> findFirstByStatusInOrderByIdDesc(Collection<SettlementRunStatus> statuses);
+
+    @EntityGraph(attributePaths = "checkpoints")
+    Optional<SettlementRun> findWithCheckpointsById(Long id);
+
+    @EntityGraph(attributePaths = "checkpoints")
+    List<SettlementRun> findByOrderByIdDesc(Limit limit);
+
+    boolean existsByStatusAndLeaseExpiresAtAfter(SettlementRunStatus status, LocalDateTime now);
+
+    // Takes over an unfinished run that has failed, or whose lease has expired because its settlement stopped
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SettlementRun r SET r.status = :running, r.owner = :owner, r.leaseExpiresAt = :expiresAt, " +
+            "r.finishedAt = NULL, r.unfinished = TRUE WHERE r.id = :runId AND r.status IN :unfinished " +
+            "AND (r.leaseExpiresAt IS NULL OR r.leaseExpiresAt < :now)")
+    int takeOver(@Param("runId") Long runId,
+                 @Param("unfinished") Collection<SettlementRunStatus> unfinished,
+                 @Param("running") SettlementRunStatus running,
+                 @Param("owner") String owner,
+                 @Param("now") LocalDateTime now,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Supersedes an unfinished run under the same guard as a takeover, a run held by a live settlement is kept
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE SettlementRun r SET r.status = :superseded, r.finishedAt = :now, r.leaseExpiresAt = NULL, " +
+            "r.unfinished = NULL WHERE r.id = :runId AND r.status IN :unfinished " +
+            "AND (r.leaseExpiresAt IS NULL OR r.leaseExpiresAt < :now)")
+    int supersede(@Param("runId") Long runId,
+                  @Param("unfinished") Collection<SettlementRunStatus> unfinished,
+                  @Param("superseded") SettlementRunStatus superseded,
+                  @Param("now") LocalDateTime now);
+
+    // Extends the lease of the running run held by the owner, no row is updated once another settlement took it over
+    @Modifying
+    @Query("UPDATE SettlementRun r SET r.leaseExpiresAt = :expiresAt WHERE r.owner = :owner AND r.status = :running")
+    int renewLease(@Param("owner") String owner,
+                   @Param("running") SettlementRunStatus running,
+                   @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Finishes the running run held by the owner and releases its lease
+    @Modifying
+    @Query("UPDATE SettlementRun r SET r.status = :status, r.finishedAt = :now, r.lastError = :error, " +
+            "r.leaseExpiresAt = NULL, r.unfinished = :unfinished " +
+            "WHERE r.id = :runId AND r.owner = :owner AND r.status = :running")
+    int finish(@Param("runId") Long runId,
+               @Param("owner") String owner,
+               @Param("running") SettlementRunStatus running,
+               @Param("status") SettlementRunStatus status,
+               @Param("error") String error,
+               @Param("unfinished") Boolean unfinished,
+               @Param("now") LocalDateTime now);
+}
@@ -1,25 +1,94 @@
 package com.khantech.gaming.tms.repository;
 
+import com.khantech.gaming.tms.dto.PendingTransactionDto;
 import com.khantech.gaming.tms.model.Transaction;
 import com.khantech.gaming.tms.model.TransactionStatus;
-import jakarta.persistence.LockModeType;
+import com.khantech.gaming.tms.model.TransactionType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    @Query("SELECT t FROM Transaction t JOIN FETCH t.wallet WHERE t.status = :status")
-    List<Transaction> findTransactionsWithWalletsByStatus(@Param("status") TransactionStatus status);
-
-    // Fetch transactions for a wallet with AWAITING_APPROVAL and PENDING statuses using pessimistic lock
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT t FROM Transaction t WHERE t.wallet.id = :walletId AND t.status IN :statuses")
-    List<Transaction> findTransactionsByWalletIdAndStatusesWithLock(@Param("walletId") Long walletId,
-                                                                    @Param("statuses") List<TransactionStatus> statuses);
+    // Keyset page over (wallet ID, ID) of the wallets assigned to one settlement worker and not leased by another
+    // settlement, served by the ix_transaction_status_wallet index
+    @Query("SELECT new com.khantech.gaming.tms.dto.PendingTransactionDto(t.id, w.id, t.amount, t.transactionType) " +
+            "FROM Transaction t JOIN t.wallet w WHERE t.status = :status AND MOD(w.id, :workers) = :worker " +
+            "AND (w.id > :afterWalletId OR (w.id = :afterWalletId AND t.id > :afterId)) " +
+            "AND (w.settlementClaimExpiresAt IS NULL OR w.settlementClaimExpiresAt < :now) " +
+            "ORDER BY w.id, t.id")
+    List<PendingTransactionDto> findPendingChunk(@Param("status") TransactionStatus status,
+                                                 @Param("worker") int worker,
+                                                 @Param("workers") int workers,
+                                                 @Param("afterWalletId") Long afterWalletId,
+                                                 @Param("afterId") Long afterId,
+                                                 @Param("now") LocalDateTime now,
+                                                 Limit limit);
+
+    // Re-reads rows of a chunk under the settlement lease, dropping those settled since the chunk was read
+    @Query("SELECT new com.khantech.gaming.tms.dto.PendingTransactionDto(t.id, t.wallet.id, t.amount, t.transactionType) " +
+            "FROM Transaction t WHERE t.id IN :ids AND t.status = :status ORDER BY t.wallet.id, t.id")
+    List<PendingTransactionDto> findSettlementViewsByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                                                   @Param("status") TransactionStatus status);
+
+    // Only rows still in the expected status are changed, so a transaction moved by another process is left alone
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :newStatus WHERE t.id IN :ids AND t.status = :currentStatus")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("currentStatus") TransactionStatus currentStatus,
+                           @Param("newStatus") TransactionStatus newStatus);
+
+    // Keyset page of one wallet's history before a (created at, ID) position, newest first, served by the
+    // ix_transaction_wallet_status_created index
+    @Query("SELECT t FROM Transaction t WHERE t.wallet.id = :walletId AND t.status = :status " +
+            "AND t.transactionType IN :types AND t.createdAt >= :from " +
+            "AND (t.createdAt < :beforeCreatedAt OR (t.createdAt = :beforeCreatedAt AND t.id < :beforeId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Transaction> findHistoryPageByStatus(@Param("walletId") Long walletId,
+                                              @Param("status") TransactionStatus status,
+                                              @Param("types") Collection<TransactionType> types,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                              @Param("beforeId") Long beforeId,
+                                              Limit limit);
+
+    // Same page over every status, served by the ix_transaction_wallet_created index
+    @Query("SELECT t FROM Transaction t WHERE t.wallet.id = :walletId " +
+            "AND t.transactionType IN :types AND t.createdAt >= :from " +
+            "AND (t.createdAt < :beforeCreatedAt OR (t.createdAt = :beforeCreatedAt AND t.id < :beforeId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Transaction> findHistoryPage(@Param("walletId") Long walletId,
+                                      @Param("types") Collection<TransactionType> types,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                      @Param("beforeId") Long beforeId,
+                                      Limit limit);
+
+    // Settled rows created before the cutoff, in ID order after the last archived one
+    @Query("SELECT t.id FROM Transaction t WHERE t.status IN :statuses AND t.createdAt < :before AND t.id > :afterId " +
+            "ORDER BY t.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<TransactionStatus> statuses,
+                                 @Param("before") LocalDateTime before,
+                                 @Param("afterId") Long afterId,
+                                 Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids AND t.status IN :statuses")
+    int deleteByIdInAndStatusIn(@Param("ids") Collection<Long> ids,
+                                @Param("statuses") Collection<TransactionStatus> statuses);
+
+    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+
+    long countByStatus(TransactionStatus status);
+
+    @Query("SELECT MIN(t.createdAt) FROM Transaction t WHERE t.status = :status")
+    LocalDateTime findOldestCreatedAtByStatus(@Param("status") TransactionStatus status);
 
     @Query("SELECT t FROM Transaction t WHERE t.id = :transactionId AND t.status = :status")
     Optional<Transaction> findByIdAndStatus(@Param("transactionId") Long transactionId, @Param("status") TransactionStatus status);
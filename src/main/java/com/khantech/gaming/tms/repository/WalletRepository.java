@@ -4,13 +4,65 @@ import com.khantech.gaming.tms.model.Wallet;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface WalletRepository extends JpaRepository<Wallet, Long> {
     List<Wallet> findByUserId(Long userId);
+
+    // Served by the unique (user_id, normalized_name) index
+    boolean existsByUserIdAndNormalizedName(Long userId, String normalizedName);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT w FROM Wallet w WHERE w.id = :walletId")
     Wallet findByIdWithLock(Long walletId);
+
+    // Applies a debit only if the effective balance (balance minus reserved debits) covers it.
+    // Bulk updates bypass the entity, so they bump the version column to keep optimistic writers from overwriting them,
+    // and clear the persistence context so a later read of the wallet sees the updated row instead of the cached one
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Wallet w SET w.balance = w.balance - :amount, w.version = w.version + 1 " +
+            "WHERE w.id = :walletId AND w.balance - w.reservedAmount >= :amount")
+    int debitIfSufficient(@Param("walletId") Long walletId, @Param("amount") long amount);
+
+    // Reserves a debit only if the effective balance (balance minus reserved debits) covers it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Wallet w SET w.reservedAmount = w.reservedAmount + :amount, w.version = w.version + 1 " +
+            "WHERE w.id = :walletId AND w.balance - w.reservedAmount >= :amount")
+    int reserveIfSufficient(@Param("walletId") Long walletId, @Param("amount") long amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Wallet w SET w.balance = w.balance + :amount, w.version = w.version + 1 WHERE w.id = :walletId")
+    int credit(@Param("walletId") Long walletId, @Param("amount") long amount);
+
+    // Applies the net result of settled transactions and releases the reservations held by their debits
+    @Modifying
+    @Query("UPDATE Wallet w SET w.balance = w.balance + :balanceDelta, " +
+            "w.reservedAmount = w.reservedAmount - :releasedReservation, w.version = w.version + 1 WHERE w.id = :walletId")
+    int applySettlement(@Param("walletId") Long walletId,
+                        @Param("balanceDelta") long balanceDelta,
+                        @Param("releasedReservation") long releasedReservation);
+
+    // Takes the settlement lease of every wallet that is free or whose lease has expired
+    @Modifying
+    @Query("UPDATE Wallet w SET w.settlementClaimedBy = :claimToken, w.settlementClaimExpiresAt = :expiresAt " +
+            "WHERE w.id IN :walletIds AND (w.settlementClaimExpiresAt IS NULL OR w.settlementClaimExpiresAt < :now)")
+    int claimForSettlement(@Param("walletIds") Collection<Long> walletIds,
+                           @Param("claimToken") String claimToken,
+                           @Param("now") LocalDateTime now,
+                           @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query("SELECT w.id FROM Wallet w WHERE w.id IN :walletIds AND w.settlementClaimedBy = :claimToken")
+    List<Long> findIdsBySettlementClaim(@Param("walletIds") Collection<Long> walletIds,
+                                        @Param("claimToken") String claimToken);
+
+    @Modifying
+    @Query("UPDATE Wallet w SET w.settlementClaimedBy = NULL, w.settlementClaimExpiresAt = NULL " +
+            "WHERE w.settlementClaimedBy = :claimToken")
+    int releaseSettlementClaim(@Param("claimToken") String claimToken);
 }
@@ -0,0 +1,78 @@
+package com.khantech.gaming.tms.scheduler;
+
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_BACKLOG_AWAITING_APPROVAL;
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_BACKLOG_OLDEST_AGE;
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_BACKLOG_PENDING;
+
+/**
+ * Samples the settlement backlog, the number of PENDING transactions and the age of the oldest one, and exports
+ * the last sample as gauges, together with the number of transactions AWAITING_APPROVAL. Sampling is driven by the
+ * scheduler so scraping the gauges never hits the database.
+ */
+@Component
+public class SettlementBacklogMonitor {
+    private final TransactionRepository transactionRepository;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+    private final AtomicLong awaitingApproval = new AtomicLong();
+
+    public SettlementBacklogMonitor(TransactionRepository transactionRepository, MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        Gauge.builder(SETTLEMENT_BACKLOG_PENDING, pending, AtomicLong::get)
+                .description("Number of PENDING transactions at the last sample")
+                .register(meterRegistry);
+        Gauge.builder(SETTLEMENT_BACKLOG_OLDEST_AGE, oldestAgeSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest PENDING transaction at the last sample")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder(SETTLEMENT_BACKLOG_AWAITING_APPROVAL, awaitingApproval, AtomicLong::get)
+                .description("Number of AWAITING_APPROVAL transactions at the last sample")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refreshes the gauges on a fixed delay, so they stay current when no micro-batch samples the backlog.
+     */
+    @Scheduled(fixedDelayString = "${metrics.backlog.sample-interval:PT15S}")
+    public void sampleGauges() {
+        sample();
+        awaitingApproval.set(transactionRepository.countByStatus(TransactionStatus.AWAITING_APPROVAL));
+    }
+
+    /**
+     * Reads the current backlog from the database and updates the gauges.
+     *
+     * @return the sampled backlog.
+     */
+    public Backlog sample() {
+        long pendingCount = transactionRepository.countByStatus(TransactionStatus.PENDING);
+        Duration oldestAge = Duration.ZERO;
+        if (pendingCount > 0) {
+            LocalDateTime oldestCreatedAt = transactionRepository.findOldestCreatedAtByStatus(TransactionStatus.PENDING);
+            if (oldestCreatedAt != null) {
+                oldestAge = Duration.between(oldestCreatedAt, LocalDateTime.now());
+            }
+        }
+        pending.set(pendingCount);
+        oldestAgeSeconds.set(oldestAge.toSeconds());
+        return new Backlog(pendingCount, oldestAge);
+    }
+
+    /**
+     * @param pending   the number of PENDING transactions.
+     * @param oldestAge the age of the oldest PENDING transaction, zero when there is none.
+     */
+    public record Backlog(long pending, Duration oldestAge) {
+    }
+}
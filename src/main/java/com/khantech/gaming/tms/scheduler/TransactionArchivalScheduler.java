@@ -0,0 +1,43 @@
+package com.khantech.gaming.tms.scheduler;
+
+import com.khantech.gaming.tms.dto.ArchivalReportDto;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_ARCHIVAL_PROCESSOR;
+import static com.khantech.gaming.tms.util.LogMessages.SCHEDULER_ARCHIVAL_START;
+
+/**
+ * Moves settled transactions older than {@code transaction.archival.retention} to the history table once per run of
+ * {@code scheduling.cron.archive-transactions}.
+ */
+@Component
+public class TransactionArchivalScheduler {
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchivalScheduler.class);
+
+    private final TransactionOperation<LocalDateTime, ArchivalReportDto> transactionArchivalProcessor;
+
+    @Value("${transaction.archival.retention:P30D}")
+    private Duration retention;
+
+    public TransactionArchivalScheduler(
+            @Qualifier(TRANSACTION_ARCHIVAL_PROCESSOR) TransactionOperation<LocalDateTime, ArchivalReportDto> transactionArchivalProcessor
+    ) {
+        this.transactionArchivalProcessor = transactionArchivalProcessor;
+    }
+
+    @Scheduled(cron = "${scheduling.cron.archive-transactions}")
+    public void archiveSettledTransactions() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        log.info(SCHEDULER_ARCHIVAL_START, cutoff);
+        transactionArchivalProcessor.execute(cutoff);
+    }
+}
@@ -1,29 +1,91 @@
 package com.khantech.gaming.tms.scheduler;
 
+import com.khantech.gaming.tms.dto.SettlementReportDto;
+import com.khantech.gaming.tms.dto.SettlementRequestDto;
+import com.khantech.gaming.tms.model.SettlementScheduleMode;
 import com.khantech.gaming.tms.service.TransactionOperation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+
 import static com.khantech.gaming.tms.util.Constants.TRANSACTION_BATCH_PROCESSOR;
-import static com.khantech.gaming.tms.util.LogMessages.SCHEDULER_END_PROCESSING;
-import static com.khantech.gaming.tms.util.LogMessages.SCHEDULER_START_PROCESSING;
+import static com.khantech.gaming.tms.util.LogMessages.*;
+import static com.khantech.gaming.tms.util.MetricNames.SETTLEMENT_MICRO_BATCH_DELAY;
 
+/**
+ * Schedules the settlement of pending transactions in one of two modes:
+ * <ul>
+ *     <li>{@link SettlementScheduleMode#CRON}: settles every pending transaction once per run of
+ *     {@code scheduling.cron.process-transactions}.</li>
+ *     <li>{@link SettlementScheduleMode#MICRO_BATCH}: settles at most
+ *     {@code scheduling.settlement.micro-batch.max-transactions} per run. The delay before the next run drops to
+ *     the minimum delay while the backlog or the age of the oldest pending transaction is above its threshold,
+ *     returns to the base delay for a normal backlog, and doubles up to the maximum delay while there is nothing
+ *     to settle.</li>
+ * </ul>
+ */
 @Component
-public class TransactionProcessingScheduler {
+public class TransactionProcessingScheduler implements SchedulingConfigurer {
     private static final Logger log = LoggerFactory.getLogger(TransactionProcessingScheduler.class);
 
-    private final TransactionOperation<Void, Void> transactionBatchProcessor;
+    private final TransactionOperation<SettlementRequestDto, SettlementReportDto> transactionBatchProcessor;
+    private final SettlementBacklogMonitor settlementBacklogMonitor;
+
+    @Value("${scheduling.settlement.mode:CRON}")
+    private SettlementScheduleMode mode;
+    @Value("${scheduling.cron.process-transactions}")
+    private String cron;
+    @Value("${scheduling.settlement.micro-batch.max-transactions:500}")
+    private int microBatchMaxTransactions;
+    @Value("${scheduling.settlement.micro-batch.delay:PT5S}")
+    private Duration baseDelay;
+    @Value("${scheduling.settlement.micro-batch.min-delay:PT0.5S}")
+    private Duration minDelay;
+    @Value("${scheduling.settlement.micro-batch.max-delay:PT1M}")
+    private Duration maxDelay;
+    @Value("${scheduling.settlement.micro-batch.backlog-threshold:5000}")
+    private long backlogThreshold;
+    @Value("${scheduling.settlement.micro-batch.age-threshold:PT5M}")
+    private Duration ageThreshold;
+
+    private volatile Duration currentDelay;
 
     public TransactionProcessingScheduler(
-            @Qualifier(TRANSACTION_BATCH_PROCESSOR) TransactionOperation<Void, Void> transactionBatchProcessor
+            @Qualifier(TRANSACTION_BATCH_PROCESSOR) TransactionOperation<SettlementRequestDto, SettlementReportDto> transactionBatchProcessor,
+            SettlementBacklogMonitor settlementBacklogMonitor,
+            MeterRegistry meterRegistry
     ) {
         this.transactionBatchProcessor = transactionBatchProcessor;
+        this.settlementBacklogMonitor = settlementBacklogMonitor;
+        Gauge.builder(SETTLEMENT_MICRO_BATCH_DELAY, this, scheduler -> scheduler.currentDelaySeconds())
+                .description("Delay before the next settlement micro-batch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        log.info(SCHEDULER_SETTLEMENT_MODE, mode);
+        if (mode == SettlementScheduleMode.MICRO_BATCH) {
+            currentDelay = baseDelay;
+            taskRegistrar.addTriggerTask(this::runMicroBatch, context -> {
+                Instant lastCompletion = context.lastCompletion();
+                return (lastCompletion == null ? Instant.now() : lastCompletion).plus(currentDelay);
+            });
+        } else {
+            taskRegistrar.addCronTask(this::schedulePendingTransactionProcessing, cron);
+        }
     }
 
-    @Scheduled(cron = "${scheduling.cron.process-transactions}")
     public void schedulePendingTransactionProcessing() {
         log.info(SCHEDULER_START_PROCESSING);
 
@@ -32,4 +94,42 @@ public class TransactionProcessingScheduler {
 
         log.info(SCHEDULER_END_PROCESSING);
     }
+
+    /**
+     * Settles one bounded micro-batch, then samples the backlog to pick the delay before the next one.
+     */
+    public void runMicroBatch() {
+        try {
+            SettlementReportDto report = transactionBatchProcessor.execute(new SettlementRequestDto(microBatchMaxTransactions));
+            log.debug(SCHEDULER_MICRO_BATCH_SETTLED, report.transactions(), report.wallClock().toMillis());
+        } catch (Exception e) {
+            log.error(SCHEDULER_MICRO_BATCH_FAILED, e);
+        }
+        currentDelay = nextDelay(settlementBacklogMonitor.sample());
+    }
+
+    Duration nextDelay(SettlementBacklogMonitor.Backlog backlog) {
+        Duration delay;
+        if (backlog.pending() == 0) {
+            Duration backedOff = currentDelay == null ? baseDelay : currentDelay.multipliedBy(2);
+            delay = backedOff.compareTo(maxDelay) > 0 ? maxDelay : backedOff;
+        } else if (backlog.pending() >= backlogThreshold || backlog.oldestAge().compareTo(ageThreshold) >= 0) {
+            delay = minDelay;
+        } else {
+            delay = baseDelay;
+        }
+        if (!delay.equals(currentDelay)) {
+            log.info(SCHEDULER_MICRO_BATCH_DELAY_CHANGED, delay.toMillis(), backlog.pending(), backlog.oldestAge().toSeconds());
+        }
+        return delay;
+    }
+
+    Duration currentDelay() {
+        return currentDelay;
+    }
+
+    private double currentDelaySeconds() {
+        Duration delay = currentDelay;
+        return delay == null ? 0 : delay.toMillis() / 1000.0;
+    }
 }
@@ -0,0 +1,16 @@
+package com.khantech.gaming.tms.service;
+
+import com.khantech.gaming.tms.model.SettlementRun;
+import com.khantech.gaming.tms.model.SettlementRunStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SettlementRunService {
+    Optional<SettlementRun> startOrResume(int workers);
+    boolean checkpoint(String owner, Long checkpointId, long lastWalletId, long lastTransactionId, int wallets, int transactions, int failedChunks);
+    void finish(Long runId, String owner, SettlementRunStatus status, String error);
+    boolean isRunHeld();
+    List<SettlementRun> findRecentRuns(int limit);
+    SettlementRun findRun(Long runId);
+}
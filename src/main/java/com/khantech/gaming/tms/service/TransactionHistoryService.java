@@ -0,0 +1,8 @@
+package com.khantech.gaming.tms.service;
+
+import com.khantech.gaming.tms.dto.TransactionHistoryPageDto;
+import com.khantech.gaming.tms.dto.TransactionHistoryQueryDto;
+
+public interface TransactionHistoryService {
+    TransactionHistoryPageDto findHistory(Long walletId, TransactionHistoryQueryDto query);
+}
@@ -3,13 +3,18 @@ package com.khantech.gaming.tms.service;
 import com.khantech.gaming.tms.model.TransactionType;
 import com.khantech.gaming.tms.model.Wallet;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 public interface WalletService {
     Wallet createWallet(Long userId, String walletName);
     void save(Wallet wallet);
     List<Wallet> getWalletsByUserId(Long userId);
+    Wallet findWalletById(Long walletId);
     Wallet findWalletByIdWithLock(Long walletId);
-    void updateWalletBalance(Wallet wallet, BigDecimal amount, TransactionType transactionType);
+    void updateWalletBalance(Wallet wallet, long amount, TransactionType transactionType);
+    void reserveFunds(Wallet wallet, long amount);
+    boolean debitIfSufficient(Long walletId, long amount);
+    boolean reserveIfSufficient(Long walletId, long amount);
+    void creditBalance(Long walletId, long amount);
+    boolean applySettlement(Long walletId, long balanceDelta, long releasedReservation);
 }
@@ -0,0 +1,68 @@
+package com.khantech.gaming.tms.service.impl;
+
+import com.khantech.gaming.tms.dto.SettlementReportDto;
+import com.khantech.gaming.tms.dto.SettlementRequestDto;
+import com.khantech.gaming.tms.exception.SettlementRunInProgressException;
+import com.khantech.gaming.tms.service.SettlementRunService;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import com.khantech.gaming.tms.util.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_BATCH_PROCESSOR;
+import static com.khantech.gaming.tms.util.LogMessages.SETTLEMENT_RUN_HELD_ELSEWHERE;
+import static com.khantech.gaming.tms.util.LogMessages.SETTLEMENT_RUN_LAUNCH_FAILED;
+import static com.khantech.gaming.tms.util.LogMessages.SETTLEMENT_RUN_TRIGGERED;
+
+/**
+ * Starts an unbounded settlement run on demand. The run is settled on a virtual thread so the caller can follow
+ * its progress through the settlement run ledger. Only one manually triggered run is active per instance, and none is
+ * started while another instance holds the run lease, since it would settle nothing.
+ */
+@Service
+public class SettlementRunLauncher {
+    private static final Logger log = LoggerFactory.getLogger(SettlementRunLauncher.class);
+
+    private final TransactionOperation<SettlementRequestDto, SettlementReportDto> transactionBatchProcessor;
+    private final SettlementRunService settlementRunService;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SettlementRunLauncher(
+            @Qualifier(TRANSACTION_BATCH_PROCESSOR) TransactionOperation<SettlementRequestDto, SettlementReportDto> transactionBatchProcessor,
+            SettlementRunService settlementRunService
+    ) {
+        this.transactionBatchProcessor = transactionBatchProcessor;
+        this.settlementRunService = settlementRunService;
+    }
+
+    /**
+     * Starts a settlement run, or resumes the unfinished one, in the background.
+     *
+     * @throws SettlementRunInProgressException if a manually triggered run is still settling, or another settlement
+     *                                          holds the run lease.
+     */
+    public void launch() {
+        if (!running.compareAndSet(false, true)) {
+            throw new SettlementRunInProgressException(BusinessException.SettlementRunInProgressException);
+        }
+        if (settlementRunService.isRunHeld()) {
+            running.set(false);
+            log.info(SETTLEMENT_RUN_HELD_ELSEWHERE);
+            throw new SettlementRunInProgressException(BusinessException.SettlementRunInProgressException);
+        }
+        log.info(SETTLEMENT_RUN_TRIGGERED);
+        Thread.ofVirtual().name("settlement-run").start(() -> {
+            try {
+                transactionBatchProcessor.execute(null);
+            } catch (RuntimeException e) {
+                log.error(SETTLEMENT_RUN_LAUNCH_FAILED, e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+}
@@ -0,0 +1,186 @@
+package com.khantech.gaming.tms.service.impl;
+
+import com.khantech.gaming.tms.exception.SettlementRunNotFoundException;
+import com.khantech.gaming.tms.model.SettlementRun;
+import com.khantech.gaming.tms.model.SettlementRunCheckpoint;
+import com.khantech.gaming.tms.model.SettlementRunStatus;
+import com.khantech.gaming.tms.repository.SettlementRunCheckpointRepository;
+import com.khantech.gaming.tms.repository.SettlementRunRepository;
+import com.khantech.gaming.tms.service.SettlementRunService;
+import com.khantech.gaming.tms.util.BusinessException;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.khantech.gaming.tms.util.LogMessages.*;
+
+/**
+ * SettlementRunServiceImpl keeps the ledger of settlement runs. Every run records one checkpoint per worker, and
+ * each checkpoint is committed right after the chunk it covers, so a run that dies halfway keeps the work it has
+ * done and is continued from its checkpoints by the next unbounded settlement. A run is held by one settlement at a
+ * time through an owner token and a lease that every checkpoint renews, so settlements started on several instances
+ * at the same time settle one run instead of racing on the same checkpoints.
+ */
+@Service
+public class SettlementRunServiceImpl implements SettlementRunService {
+    private static final Logger log = LoggerFactory.getLogger(SettlementRunServiceImpl.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_RECENT_RUNS = 100;
+    private static final Set<SettlementRunStatus> UNFINISHED = EnumSet.of(SettlementRunStatus.RUNNING, SettlementRunStatus.FAILED);
+
+    private final SettlementRunRepository settlementRunRepository;
+    private final SettlementRunCheckpointRepository settlementRunCheckpointRepository;
+
+    @Value("${transaction.settlement.run-lease:PT5M}")
+    private Duration runLease;
+
+    public SettlementRunServiceImpl(SettlementRunRepository settlementRunRepository,
+                                    SettlementRunCheckpointRepository settlementRunCheckpointRepository) {
+        this.settlementRunRepository = settlementRunRepository;
+        this.settlementRunCheckpointRepository = settlementRunCheckpointRepository;
+    }
+
+    /**
+     * Returns the run to settle with, held by a new owner token with a lease of
+     * {@code transaction.settlement.run-lease}. The steps are:
+     * <ul>
+     *     <li>The latest unfinished run, either failed or still marked as running while its lease has expired
+     *     because its instance stopped, is taken over when it was started with the same worker count.</li>
+     *     <li>An unfinished run with another worker count can not be resumed, since its checkpoints belong to other
+     *     wallet partitions, so it is marked as superseded.</li>
+     *     <li>Otherwise a new run is started with one checkpoint per worker at the start of the keyset.</li>
+     * </ul>
+     * The takeover and the supersede are guarded updates, so a run whose lease is held by another settlement is
+     * left alone and nothing is started.
+     *
+     * @param workers the number of workers that will settle the run.
+     * @return the run with its checkpoints ordered by worker index, or empty if another settlement holds the
+     * unfinished run.
+     * @throws DataIntegrityViolationException if another settlement started a new run at the same time.
+     */
+    @Override
+    @Transactional
+    public Optional<SettlementRun> startOrResume(int workers) {
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        Optional<SettlementRun> unfinished = settlementRunRepository.findFirstByStatusInOrderByIdDesc(UNFINISHED);
+        if (unfinished.isPresent()) {
+            SettlementRun run = unfinished.get();
+            if (run.getWorkers() == workers) {
+                if (settlementRunRepository.takeOver(run.getId(), UNFINISHED, SettlementRunStatus.RUNNING,
+                        owner, now, now.plus(runLease)) == 0) {
+                    log.info(SETTLEMENT_RUN_HELD, run.getId());
+                    return Optional.empty();
+                }
+                log.info(SETTLEMENT_RUN_RESUMED, run.getId(), workers);
+                return Optional.of(findRun(run.getId()));
+            }
+            if (settlementRunRepository.supersede(run.getId(), UNFINISHED, SettlementRunStatus.SUPERSEDED, now) == 0) {
+                log.info(SETTLEMENT_RUN_HELD, run.getId());
+                return Optional.empty();
+            }
+            log.warn(SETTLEMENT_RUN_SUPERSEDED, run.getId(), run.getWorkers(), workers);
+        }
+
+        SettlementRun run = new SettlementRun();
+        run.setStatus(SettlementRunStatus.RUNNING);
+        run.setWorkers(workers);
+        run.setStartedAt(now);
+        run.setOwner(owner);
+        run.setLeaseExpiresAt(now.plus(runLease));
+        run.setUnfinished(Boolean.TRUE);
+        for (int worker = 0; worker < workers; worker++) {
+            SettlementRunCheckpoint checkpoint = new SettlementRunCheckpoint();
+            checkpoint.setWorker(worker);
+            run.addCheckpoint(checkpoint);
+        }
+        // Flushed here so a run inserted by another settlement at the same time fails this call
+        SettlementRun savedRun = settlementRunRepository.saveAndFlush(run);
+        log.info(SETTLEMENT_RUN_STARTED, savedRun.getId(), workers);
+        return Optional.of(savedRun);
+    }
+
+    /**
+     * Renews the lease of the run and commits the progress of a worker after one of its chunks was settled or
+     * skipped.
+     *
+     * @param owner             the owner token of the run.
+     * @param checkpointId      the checkpoint of the worker.
+     * @param lastWalletId      the wallet ID of the last transaction read in the chunk.
+     * @param lastTransactionId the ID of the last transaction read in the chunk.
+     * @param wallets           the number of wallets settled in the chunk.
+     * @param transactions      the number of transactions approved in the chunk.
+     * @param failedChunks      1 if the chunk failed, 0 otherwise.
+     * @return {@code false} if another settlement took the run over, the checkpoint is then left as it is.
+     */
+    @Override
+    @Transactional
+    public boolean checkpoint(String owner, Long checkpointId, long lastWalletId, long lastTransactionId,
+                              int wallets, int transactions, int failedChunks) {
+        LocalDateTime now = LocalDateTime.now();
+        if (settlementRunRepository.renewLease(owner, SettlementRunStatus.RUNNING, now.plus(runLease)) == 0) {
+            return false;
+        }
+        settlementRunCheckpointRepository.advance(checkpointId, lastWalletId, lastTransactionId,
+                wallets, transactions, failedChunks, now);
+        log.debug(SETTLEMENT_RUN_CHECKPOINT, checkpointId, lastWalletId, lastTransactionId);
+        return true;
+    }
+
+    /**
+     * Marks a run as finished and releases its lease. A run that another settlement took over is left as it is.
+     *
+     * @param runId  the run to finish.
+     * @param owner  the owner token of the run.
+     * @param status {@link SettlementRunStatus#COMPLETED} or {@link SettlementRunStatus#FAILED}.
+     * @param error  the error that stopped the run, or {@code null}.
+     */
+    @Override
+    @Transactional
+    public void finish(Long runId, String owner, SettlementRunStatus status, String error) {
+        String lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        // A failed run stays unfinished so the next unbounded settlement continues it
+        Boolean unfinished = status == SettlementRunStatus.FAILED ? Boolean.TRUE : null;
+        if (settlementRunRepository.finish(runId, owner, SettlementRunStatus.RUNNING, status, lastError, unfinished,
+                LocalDateTime.now()) == 0) {
+            log.warn(SETTLEMENT_RUN_LEASE_LOST, runId);
+            return;
+        }
+        log.info(SETTLEMENT_RUN_FINISHED, runId, status);
+    }
+
+    /**
+     * @return {@code true} if a running run is held by a settlement whose lease has not expired, an unbounded
+     * settlement started now would then settle nothing.
+     */
+    @Override
+    public boolean isRunHeld() {
+        return settlementRunRepository.existsByStatusAndLeaseExpiresAtAfter(SettlementRunStatus.RUNNING, LocalDateTime.now());
+    }
+
+    @Override
+    public List<SettlementRun> findRecentRuns(int limit) {
+        return settlementRunRepository.findByOrderByIdDesc(Limit.of(Math.clamp(limit, 1, MAX_RECENT_RUNS)));
+    }
+
+    @Override
+    public SettlementRun findRun(Long runId) {
+        return settlementRunRepository.findWithCheckpointsById(runId)
+                .orElseThrow(() -> {
+                    log.error(SETTLEMENT_RUN_NOT_FOUND_LOG, runId);
+                    return new SettlementRunNotFoundException(BusinessException.SettlementRunNotFoundException, runId);
+                });
+    }
+}
@@ -2,6 +2,7 @@ package com.khantech.gaming.tms.service.impl;
 
 import com.khantech.gaming.tms.exception.TransactionNotAwaitingApprovalException;
 import com.khantech.gaming.tms.exception.TransactionNotFoundException;
+import com.khantech.gaming.tms.metrics.TransactionMetrics;
 import com.khantech.gaming.tms.model.Transaction;
 import com.khantech.gaming.tms.model.TransactionStatus;
 import com.khantech.gaming.tms.repository.TransactionRepository;
@@ -22,9 +23,11 @@ public class TransactionApprovalService implements TransactionOperation<Long, Tr
     private static final Logger log = LoggerFactory.getLogger(TransactionApprovalService.class);
 
     private final TransactionRepository transactionRepository;
+    private final TransactionMetrics transactionMetrics;
 
-    public TransactionApprovalService(TransactionRepository transactionRepository) {
+    public TransactionApprovalService(TransactionRepository transactionRepository, TransactionMetrics transactionMetrics) {
         this.transactionRepository = transactionRepository;
+        this.transactionMetrics = transactionMetrics;
     }
 
     /**
@@ -40,9 +43,13 @@ public class TransactionApprovalService implements TransactionOperation<Long, Tr
      *   <li>Validates that the transaction is in the {@link TransactionStatus#AWAITING_APPROVAL} state.</li>
      *   <li>If the transaction is not in the awaiting approval status, throws an exception.</li>
      *   <li>Updates the transaction status to {@link TransactionStatus#PENDING}.</li>
-     *   <li>Saves the updated transaction to the repository.</li>
+     *   <li>Saves the updated transaction to the repository and counts the approval.</li>
      * </ul>
      *
+     * <p>A debit keeps its amount in the wallet's reserved amount while it moves from
+     * {@link TransactionStatus#AWAITING_APPROVAL} to {@link TransactionStatus#PENDING}, so the wallet does not
+     * have to be touched here; the reservation is released when the batch processor settles the transaction.
+     *
      * @param transactionId The ID of the transaction to be approved.
      *
      * @return The approved {@link Transaction} with updated status.
@@ -52,13 +59,15 @@ public class TransactionApprovalService implements TransactionOperation<Long, Tr
     @Override
     @Transactional
     public Transaction execute(Long transactionId) {
-        log.info(TRANSACTION_APPROVE, transactionId);
+        log.debug(TRANSACTION_APPROVE, transactionId);
 
         Transaction transaction = getTransactionById(transactionId);
 
         transaction.setStatus(TransactionStatus.PENDING);
-        log.info(TRANSACTION_STATUS_CHANGED, transactionId);
-        return transactionRepository.save(transaction);
+        log.debug(TRANSACTION_STATUS_CHANGED, transactionId);
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionMetrics.approved(savedTransaction);
+        return savedTransaction;
     }
 
     private Transaction getTransactionById(Long transactionId) {
@@ -0,0 +1,85 @@
+package com.khantech.gaming.tms.service.impl;
+
+import com.khantech.gaming.tms.dto.ArchivalReportDto;
+import com.khantech.gaming.tms.metrics.TransactionMetrics;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_ARCHIVAL_PROCESSOR;
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_ARCHIVAL_SERVICE;
+import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_ARCHIVAL_COMPLETED;
+import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_ARCHIVE_CHUNK_FAILED;
+
+@Service
+@Qualifier(TRANSACTION_ARCHIVAL_PROCESSOR)
+public class TransactionArchivalProcessor implements TransactionOperation<LocalDateTime, ArchivalReportDto> {
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchivalProcessor.class);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionOperation<List<Long>, Integer> transactionArchivalService;
+    private final TransactionMetrics transactionMetrics;
+
+    // Number of settled transactions moved to the history table in one transaction
+    @Value("${transaction.archival.chunk-size:1000}")
+    private int chunkSize;
+
+    public TransactionArchivalProcessor(
+            TransactionRepository transactionRepository,
+            @Qualifier(TRANSACTION_ARCHIVAL_SERVICE) TransactionOperation<List<Long>, Integer> transactionArchivalService,
+            TransactionMetrics transactionMetrics
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.transactionArchivalService = transactionArchivalService;
+        this.transactionMetrics = transactionMetrics;
+    }
+
+    /**
+     * Moves every APPROVED or REJECTED transaction created before the cutoff from the transaction table to the history
+     * table, so the transaction table only keeps the recent rows that settlement, approval and idempotency checks
+     * work on. PENDING and AWAITING_APPROVAL transactions are never moved, whatever their age.
+     *
+     * <p>The settled transactions are walked in ID order with keyset pagination, and each chunk is moved by the
+     * {@link TransactionArchivalService} in its own short transaction. A failing chunk is logged and skipped without
+     * rolling back the chunks already moved, and is picked up again by the next run.
+     *
+     * @param cutoff the creation time before which settled transactions are archived.
+     * @return the {@link ArchivalReportDto} with the work done and the wall-clock time.
+     */
+    @Override
+    public ArchivalReportDto execute(LocalDateTime cutoff) {
+        long start = System.nanoTime();
+        int transactions = 0;
+        int chunks = 0;
+        int failedChunks = 0;
+        long afterId = Long.MIN_VALUE;
+        List<Long> ids;
+        while (!(ids = transactionRepository.findArchivableIds(TransactionArchivalService.SETTLED_STATUSES, cutoff,
+                afterId, Limit.of(chunkSize))).isEmpty()) {
+            try {
+                int archived = transactionArchivalService.execute(ids);
+                transactions += archived;
+                chunks++;
+                transactionMetrics.archived(archived);
+            } catch (RuntimeException e) {
+                log.error(TRANSACTION_ARCHIVE_CHUNK_FAILED, ids.size(), ids.getFirst(), e);
+                failedChunks++;
+            }
+            afterId = ids.getLast();
+        }
+        ArchivalReportDto report = new ArchivalReportDto(transactions, chunks, failedChunks,
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info(TRANSACTION_ARCHIVAL_COMPLETED, report.transactions(), report.chunks(), report.wallClock().toMillis(),
+                report.failedChunks());
+        return report;
+    }
+}
@@ -0,0 +1,57 @@
+package com.khantech.gaming.tms.service.impl;
+
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.repository.ArchivedTransactionRepository;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_ARCHIVAL_SERVICE;
+import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_ARCHIVE_CHUNK;
+
+@Service
+@Qualifier(TRANSACTION_ARCHIVAL_SERVICE)
+public class TransactionArchivalService implements TransactionOperation<List<Long>, Integer> {
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchivalService.class);
+    // Statuses that never change again, the only ones that may leave the transaction table
+    static final Set<TransactionStatus> SETTLED_STATUSES = EnumSet.of(TransactionStatus.APPROVED, TransactionStatus.REJECTED);
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+
+    public TransactionArchivalService(TransactionRepository transactionRepository,
+                                      ArchivedTransactionRepository archivedTransactionRepository) {
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+    }
+
+    /**
+     * Moves one chunk of settled transactions to the history table in its own transaction, so a failure only rolls
+     * back this chunk. The rows are copied with one INSERT ... SELECT and removed with one DELETE, both restricted to
+     * the settled statuses, so neither loads an entity and a row is never in both tables after the commit.
+     *
+     * @param ids the IDs of the transactions to archive.
+     * @return the number of transactions moved.
+     */
+    @Override
+    @Transactional
+    public Integer execute(List<Long> ids) {
+        int copied = archivedTransactionRepository.copyFromTransactions(ids, SETTLED_STATUSES, LocalDateTime.now());
+        int deleted = transactionRepository.deleteByIdInAndStatusIn(ids, SETTLED_STATUSES);
+        if (copied != deleted) {
+            // Only settled rows are selected and settled rows never change, so this means a concurrent writer
+            throw new IllegalStateException("Archived " + copied + " transactions but removed " + deleted);
+        }
+        log.debug(TRANSACTION_ARCHIVE_CHUNK, deleted, ids.size());
+        return deleted;
+    }
+}
@@ -0,0 +1,108 @@
+package com.khantech.gaming.tms.service.impl;
+
+import com.khantech.gaming.tms.dto.TransactionRequestDto;
+import com.khantech.gaming.tms.exception.WalletNotFoundException;
+import com.khantech.gaming.tms.jfr.TransactionPersistedEvent;
+import com.khantech.gaming.tms.metrics.TransactionMetrics;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import com.khantech.gaming.tms.service.WalletService;
+import com.khantech.gaming.tms.util.BusinessException;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_BATCH_CREATION_SERVICE;
+import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_BATCH_CREATE;
+import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_BATCH_SAVED;
+
+@Service
+@Qualifier(TRANSACTION_BATCH_CREATION_SERVICE)
+public class TransactionBatchCreationService implements TransactionOperation<List<TransactionRequestDto>, List<Transaction>> {
+    private static final Logger log = LoggerFactory.getLogger(TransactionBatchCreationService.class);
+
+    private final WalletService walletService;
+    private final TransactionRepository transactionRepository;
+    private final TransactionCreationService transactionCreationService;
+    private final TransactionMetrics transactionMetrics;
+
+    public TransactionBatchCreationService(WalletService walletService,
+                                           TransactionRepository transactionRepository,
+                                           TransactionCreationService transactionCreationService,
+                                           TransactionMetrics transactionMetrics) {
+        this.walletService = walletService;
+        this.transactionRepository = transactionRepository;
+        this.transactionCreationService = transactionCreationService;
+        this.transactionMetrics = transactionMetrics;
+    }
+
+    /**
+     * Creates a batch of transactions in one database transaction. Every wallet referenced by the batch is locked
+     * exactly once, in ascending wallet ID order so that concurrent batches touching the same wallets cannot
+     * deadlock. Each item then runs through the same validation and balance update as a single transaction, in
+     * the order it was submitted, and all rows are persisted together with one {@code saveAll}, flushed as JDBC
+     * batches, timed under {@code tms.transaction.save} and emitted as a {@link TransactionPersistedEvent}.
+     *
+     * <p>The result list has one entry per submitted item, in the submitted order, carrying the item's final status
+     * (APPROVED, AWAITING_APPROVAL or REJECTED with its message).
+     *
+     * @param requests the transactions to create.
+     * @return the created and saved transactions, in the order of the requests.
+     *
+     * @throws WalletNotFoundException if any referenced wallet does not exist; no item of the batch is saved then.
+     */
+    @Override
+    @Transactional
+    public List<Transaction> execute(List<TransactionRequestDto> requests) {
+        Map<Long, Wallet> lockedWallets = lockWallets(requests);
+        log.debug(TRANSACTION_BATCH_CREATE, requests.size(), lockedWallets.size());
+
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        for (TransactionRequestDto request : requests) {
+            Wallet wallet = lockedWallets.get(request.getWalletId());
+            transactions.add(transactionCreationService.applyToWallet(wallet, request));
+        }
+
+        TransactionPersistedEvent event = new TransactionPersistedEvent();
+        event.begin();
+        List<Transaction> savedTransactions = transactionMetrics.timeSave(() -> {
+            List<Transaction> saved = transactionRepository.saveAll(transactions);
+            transactionRepository.flush();
+            return saved;
+        });
+        if (event.shouldCommit()) {
+            event.setTransactions(savedTransactions.size());
+            event.setBatch(true);
+            event.commit();
+        }
+        log.debug(TRANSACTION_BATCH_SAVED, savedTransactions.size());
+        savedTransactions.forEach(transactionMetrics::created);
+        return savedTransactions;
+    }
+
+    private Map<Long, Wallet> lockWallets(List<TransactionRequestDto> requests) {
+        SortedSet<Long> walletIds = new TreeSet<>();
+        requests.forEach(request -> walletIds.add(request.getWalletId()));
+
+        Map<Long, Wallet> lockedWallets = new HashMap<>();
+        for (Long walletId : walletIds) {
+            Wallet wallet = walletService.findWalletByIdWithLock(walletId);
+            if (wallet == null) {
+                throw new WalletNotFoundException(BusinessException.WalletNotFoundException, walletId);
+            }
+            lockedWallets.put(walletId, wallet);
+        }
+        return lockedWallets;
+    }
+}
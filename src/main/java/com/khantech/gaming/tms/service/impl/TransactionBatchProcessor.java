@@ -1,114 +1,291 @@
 package com.khantech.gaming.tms.service.impl;
 
-import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.dto.ChunkSettlementDto;
+import com.khantech.gaming.tms.dto.PendingTransactionDto;
+import com.khantech.gaming.tms.dto.SettlementClaimDto;
+import com.khantech.gaming.tms.dto.SettlementReportDto;
+import com.khantech.gaming.tms.dto.SettlementRequestDto;
+import com.khantech.gaming.tms.jfr.SettlementChunkCompletedEvent;
+import com.khantech.gaming.tms.metrics.SettlementMetrics;
+import com.khantech.gaming.tms.model.SettlementRun;
+import com.khantech.gaming.tms.model.SettlementRunCheckpoint;
+import com.khantech.gaming.tms.model.SettlementRunStatus;
 import com.khantech.gaming.tms.model.TransactionStatus;
-import com.khantech.gaming.tms.model.Wallet;
 import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.service.SettlementRunService;
 import com.khantech.gaming.tms.service.TransactionOperation;
-import com.khantech.gaming.tms.service.WalletService;
-import jakarta.transaction.Transactional;
-import org.apache.commons.lang3.ObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.khantech.gaming.tms.util.Constants.TRANSACTION_BATCH_PROCESSOR;
+import static com.khantech.gaming.tms.util.Constants.WALLET_SETTLEMENT_SERVICE;
 import static com.khantech.gaming.tms.util.LogMessages.*;
 
 @Service
 @Qualifier(TRANSACTION_BATCH_PROCESSOR)
-public class TransactionBatchProcessor implements TransactionOperation<Void, Void> {
+public class TransactionBatchProcessor implements TransactionOperation<SettlementRequestDto, SettlementReportDto> {
     private static final Logger log = LoggerFactory.getLogger(TransactionBatchProcessor.class);
 
     private final TransactionRepository transactionRepository;
-    private final WalletService walletService;
+    private final TransactionOperation<List<PendingTransactionDto>, ChunkSettlementDto> walletSettlementService;
+    private final WalletSettlementClaimService walletSettlementClaimService;
+    private final SettlementRunService settlementRunService;
+    private final SettlementMetrics settlementMetrics;
 
-    public TransactionBatchProcessor(TransactionRepository transactionRepository, WalletService walletService) {
+    // Number of pending transactions read and settled per chunk
+    @Value("${transaction.settlement.chunk-size:1000}")
+    private int chunkSize;
+    // Number of parallel settlement workers, each holding at most one database connection at a time
+    @Value("${transaction.settlement.workers:1}")
+    private int workers;
+
+    // Keyset position every worker reached in the last bounded micro-batch, the next micro-batch continues after it
+    private final Map<Integer, KeysetPosition> microBatchPositions = new ConcurrentHashMap<>();
+
+    public TransactionBatchProcessor(
+            TransactionRepository transactionRepository,
+            @Qualifier(WALLET_SETTLEMENT_SERVICE) TransactionOperation<List<PendingTransactionDto>, ChunkSettlementDto> walletSettlementService,
+            WalletSettlementClaimService walletSettlementClaimService,
+            SettlementRunService settlementRunService,
+            SettlementMetrics settlementMetrics
+    ) {
         this.transactionRepository = transactionRepository;
-        this.walletService = walletService;
+        this.walletSettlementService = walletSettlementService;
+        this.walletSettlementClaimService = walletSettlementClaimService;
+        this.settlementRunService = settlementRunService;
+        this.settlementMetrics = settlementMetrics;
     }
 
     /**
-     * Executes the batch processing of pending transactions. The method retrieves all pending transactions,
-     * groups them by wallet, and processes each wallet's transactions, updating wallet balances and approving transactions.
+     * Executes the batch processing of pending transactions. Wallets are split over the configured number of
+     * workers by wallet ID modulo the worker count, so no two workers ever update the same wallet. With one worker
+     * the settlement runs on the calling thread, otherwise every worker runs on its own virtual thread.
+     *
+     * <p>Each worker walks the pending transactions of its wallets in (wallet ID, transaction ID) order with keyset
+     * pagination, and each chunk is settled by the {@link WalletSettlementService} in its own short transaction.
+     * Only one chunk per worker is held in memory at a time, and a failing chunk is logged and skipped without
+     * rolling back the chunks already settled.
+     *
+     * <p>Before a chunk is settled its wallets are claimed through the {@link WalletSettlementClaimService}.
+     * Wallets leased by a settlement on another instance are skipped, so several instances drain the backlog in
+     * parallel without processing a wallet twice.
+     *
+     * <p>A bounded request splits its transaction budget evenly over the workers, and each worker stops once it has
+     * read its share, so micro-batches keep a predictable size. Each worker continues after the position the previous
+     * micro-batch reached and starts again from the first wallet once its scan is exhausted, so transactions further
+     * down the backlog are not starved by rows at its head that stay pending.
      *
-     * <p>Logs are recorded at key points to provide visibility into the transaction processing flow.
+     * <p>An unbounded request is recorded in the settlement run ledger through the {@link SettlementRunService}.
+     * Every worker commits a checkpoint with its keyset position and counters after each chunk, and an unfinished
+     * run, because its instance stopped or an error escaped, is continued from those checkpoints by the next
+     * unbounded request. The run is held by one settlement at a time: an unbounded request that finds the run held by
+     * another settlement, whose lease has not expired, settles nothing and returns an empty report, and a worker
+     * stops once its checkpoint finds that the run was taken over. Bounded micro-batches are not recorded, since each
+     * of them only drains a slice of the backlog.
      *
-     * @param request The input parameter, which is {@link Void} since no input is needed.
-     * @return The result, which is {@link Void} since no output is expected from this method.
+     * <p>The reads of pending transactions, the work of every chunk and the finished run are recorded in
+     * {@link SettlementMetrics}, and every chunk is emitted as a {@link SettlementChunkCompletedEvent} when a flight
+     * recording enables it.
+     *
+     * @param request the {@link SettlementRequestDto} bounding the run, or {@code null} to settle every pending
+     *                transaction.
+     * @return the {@link SettlementReportDto} with the wall-clock time and the work done by every worker.
      */
     @Override
-    @Transactional
-    public Void execute(Void request) {
-        log.info(TRANSACTION_PROCESS_ALL_PENDING);
-        // Group transactions by wallet and process each group
-        Map<Long, List<Transaction>> transactionsByWallet = groupTransactionsByWallet();
-        // List to collect transactions that are successfully approved during the processing
-        // This helps in tracking which transactions were approved so that we can save or log them as necessary.
-        List<Transaction> approvedTransactions = new ArrayList<>();
-
-        transactionsByWallet.forEach((walletId, transactionsForWallet) ->
-                processWalletTransactions(walletId, transactionsForWallet, approvedTransactions));
-        if (!ObjectUtils.isEmpty(approvedTransactions)) {
-            transactionRepository.saveAll(approvedTransactions);
+    public SettlementReportDto execute(SettlementRequestDto request) {
+        int workerCount = Math.max(workers, 1);
+        long workerBudget = request == null
+                ? Long.MAX_VALUE
+                : Math.max(1, (request.maxTransactions() + workerCount - 1) / workerCount);
+        log.info(TRANSACTION_PROCESS_ALL_PENDING, workerCount);
+        SettlementRun run = null;
+        if (request == null) {
+            run = startOrResumeRun(workerCount);
+            if (run == null) {
+                return new SettlementReportDto(Duration.ZERO, List.of());
+            }
+        }
+        long start = System.nanoTime();
+        List<SettlementReportDto.Worker> workerReports;
+        try {
+            workerReports = workerCount == 1
+                    ? List.of(settleWorkerWallets(0, 1, workerBudget, request != null, run))
+                    : settleInParallel(workerCount, workerBudget, request != null, run);
+        } catch (RuntimeException e) {
+            if (run != null) {
+                log.error(SETTLEMENT_RUN_FAILED, run.getId(), e);
+                settlementRunService.finish(run.getId(), run.getOwner(), SettlementRunStatus.FAILED, String.valueOf(e.getMessage()));
+            }
+            throw e;
+        }
+        if (run != null) {
+            settlementRunService.finish(run.getId(), run.getOwner(), SettlementRunStatus.COMPLETED, null);
         }
-        return null;
+        SettlementReportDto report = new SettlementReportDto(Duration.ofNanos(System.nanoTime() - start), workerReports);
+        settlementMetrics.recordRun(report, request != null);
+        log.info(SETTLEMENT_COMPLETED, report.transactions(), report.wallets(), report.wallClock().toMillis(),
+                String.format("%.1f", report.walletsPerSecond()), String.format("%.2f", report.workerSkew()),
+                report.failedChunks());
+        return report;
     }
 
-    /**
-     * Processes all transactions for a specific wallet, updating the wallet's balance and approving transactions.
-     * The method also ensures that any exceptions during processing are logged.
-     *
-     * @param walletId the ID of the wallet being processed.
-     * @param transactionsForWallet the list of transactions associated with the wallet.
-     * @param approvedTransactions the list to collect successfully processed transactions.
-     */
-    private void processWalletTransactions(Long walletId,
-                                           List<Transaction> transactionsForWallet,
-                                           List<Transaction> approvedTransactions) {
+    private SettlementRun startOrResumeRun(int workerCount) {
         try {
-            Wallet wallet = walletService.findWalletByIdWithLock(walletId);
-            if (wallet == null) {
-                log.error(WALLET_NOT_FOUND_FOR_TRANSACTIONS, walletId);
-                return;
+            return settlementRunService.startOrResume(workerCount).orElse(null);
+        } catch (DataIntegrityViolationException e) {
+            // The unique unfinished flag rejected a second run inserted next to the one of another settlement
+            log.info(SETTLEMENT_RUN_STARTED_CONCURRENTLY);
+            return null;
+        }
+    }
+
+    private List<SettlementReportDto.Worker> settleInParallel(int workerCount, long workerBudget, boolean bounded,
+                                                              SettlementRun run) {
+        List<Future<SettlementReportDto.Worker>> futures = new ArrayList<>(workerCount);
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("settlement-worker-", 0).factory())) {
+            for (int worker = 0; worker < workerCount; worker++) {
+                int index = worker;
+                futures.add(executor.submit(() -> settleWorkerWallets(index, workerCount, workerBudget,
+                        bounded, run)));
+            }
+        }
+
+        List<SettlementReportDto.Worker> workerReports = new ArrayList<>(workerCount);
+        for (Future<SettlementReportDto.Worker> future : futures) {
+            try {
+                workerReports.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
             }
-            log.info(TRANSACTION_PROCESSING_WALLET, transactionsForWallet.size(), walletId);
-            transactionsForWallet.forEach(transaction -> processSingleTransaction(transaction, wallet, approvedTransactions));
-            walletService.save(wallet);
-        } catch (Exception e) {
-            log.error(ERROR_PROCESSING_TRANSACTIONS, walletId, e);
         }
+        return workerReports;
     }
 
-    /**
-     * Processes a single transaction for a wallet, updating the wallet's balance and marking the transaction as approved.
-     *
-     * @param transaction the transaction to process.
-     * @param wallet the wallet associated with the transaction.
-     * @param approvedTransactions the list to collect successfully processed transactions.
-     */
-    public void processSingleTransaction(Transaction transaction, Wallet wallet, List<Transaction> approvedTransactions) {
-        log.info(TRANSACTION_PROCESS_SINGLE, transaction.getId(), transaction.getAmount(), transaction.getTransactionType());
-        walletService.updateWalletBalance(wallet, transaction.getAmount(), transaction.getTransactionType());
-        transaction.setStatus(TransactionStatus.APPROVED);
-        approvedTransactions.add(transaction);
-        log.info(TRANSACTION_APPROVED_LIST, transaction.getId());
+    private SettlementReportDto.Worker settleWorkerWallets(int worker, int workerCount, long budget, boolean bounded,
+                                                           SettlementRun run) {
+        long start = System.nanoTime();
+        SettlementRunCheckpoint checkpoint = checkpointOf(run, worker);
+        long read = 0;
+        KeysetPosition from = checkpoint != null
+                ? new KeysetPosition(checkpoint.getLastWalletId(), checkpoint.getLastTransactionId())
+                : bounded ? microBatchPositions.getOrDefault(worker, KeysetPosition.START) : KeysetPosition.START;
+        long afterWalletId = from.walletId();
+        long afterTransactionId = from.transactionId();
+        int wallets = 0;
+        int transactions = 0;
+        int failedChunks = 0;
+        List<PendingTransactionDto> chunk = fetchChunk(worker, workerCount, afterWalletId, afterTransactionId, budget);
+        while (!chunk.isEmpty()) {
+            read += chunk.size();
+            int chunkWallets = 0;
+            int chunkTransactions = 0;
+            int chunkFailed = 0;
+            SettlementChunkCompletedEvent event = new SettlementChunkCompletedEvent();
+            event.begin();
+            try {
+                ChunkSettlementDto settlement = settleClaimedWallets(chunk);
+                // A wallet continued from the previous chunk of this run is only counted once
+                boolean continuesWallet = (read > chunk.size() || checkpoint != null)
+                        && chunk.get(0).walletId() == afterWalletId && afterTransactionId != 0L;
+                chunkWallets = settlement.wallets() - (continuesWallet && settlement.wallets() > 0 ? 1 : 0);
+                chunkTransactions = settlement.transactions();
+            } catch (Exception e) {
+                chunkFailed = 1;
+                log.error(SETTLEMENT_CHUNK_FAILED, chunk.size(), chunk.get(0).walletId(), e);
+            }
+            wallets += chunkWallets;
+            transactions += chunkTransactions;
+            failedChunks += chunkFailed;
+            settlementMetrics.recordChunk(chunkWallets, chunkTransactions, chunkFailed);
+            if (event.shouldCommit()) {
+                event.setWorker(worker);
+                event.setFirstWalletId(chunk.get(0).walletId());
+                event.setPending(chunk.size());
+                event.setWallets(chunkWallets);
+                event.setTransactions(chunkTransactions);
+                event.setFailed(chunkFailed > 0);
+                event.commit();
+            }
+            PendingTransactionDto last = chunk.get(chunk.size() - 1);
+            afterWalletId = last.walletId();
+            afterTransactionId = last.id();
+            if (checkpoint != null && !settlementRunService.checkpoint(run.getOwner(), checkpoint.getId(),
+                    afterWalletId, afterTransactionId, chunkWallets, chunkTransactions, chunkFailed)) {
+                log.warn(SETTLEMENT_RUN_LEASE_LOST, run.getId());
+                break;
+            }
+            if (read >= budget) {
+                break;
+            }
+            chunk = fetchChunk(worker, workerCount, afterWalletId, afterTransactionId, budget - read);
+        }
+        if (bounded) {
+            // An exhausted scan wraps around, the next micro-batch starts again from the first wallet
+            microBatchPositions.put(worker, chunk.isEmpty()
+                    ? KeysetPosition.START
+                    : new KeysetPosition(afterWalletId, afterTransactionId));
+        }
+        return new SettlementReportDto.Worker(worker, wallets, transactions, failedChunks,
+                Duration.ofNanos(System.nanoTime() - start));
     }
 
-    private Map<Long, List<Transaction>> groupTransactionsByWallet() {
-        log.info(GROUPING_PENDING_TRANSACTIONS);
-        return getPendingTransactions().stream()
-                .collect(Collectors.groupingBy(transaction -> transaction.getWallet().getId()));
+    private record KeysetPosition(long walletId, long transactionId) {
+        static final KeysetPosition START = new KeysetPosition(0L, 0L);
+    }
+
+    private static SettlementRunCheckpoint checkpointOf(SettlementRun run, int worker) {
+        return run == null ? null : run.getCheckpoints().get(worker);
+    }
+
+    private ChunkSettlementDto settleClaimedWallets(List<PendingTransactionDto> chunk) {
+        Set<Long> walletIds = new TreeSet<>();
+        chunk.forEach(transaction -> walletIds.add(transaction.walletId()));
+        SettlementClaimDto claim = walletSettlementClaimService.claim(walletIds);
+        try {
+            List<PendingTransactionDto> claimedTransactions = chunk.stream()
+                    .filter(transaction -> claim.walletIds().contains(transaction.walletId()))
+                    .toList();
+            if (claimedTransactions.size() < chunk.size()) {
+                log.debug(SETTLEMENT_CHUNK_SKIPPED, chunk.size() - claimedTransactions.size());
+            }
+            return claimedTransactions.isEmpty()
+                    ? new ChunkSettlementDto(0, 0)
+                    : walletSettlementService.execute(claimedTransactions);
+        } finally {
+            walletSettlementClaimService.release(claim);
+        }
     }
 
-    private List<Transaction> getPendingTransactions() {
-        log.info(FETCHING_PENDING_TRANSACTIONS);
-        return transactionRepository.findTransactionsWithWalletsByStatus(TransactionStatus.PENDING);
+    private List<PendingTransactionDto> fetchChunk(int worker, int workerCount, long afterWalletId,
+                                                   long afterTransactionId, long remainingBudget) {
+        log.debug(FETCHING_PENDING_TRANSACTIONS, worker, afterWalletId, afterTransactionId);
+        int limit = (int) Math.min(chunkSize, remainingBudget);
+        long start = System.nanoTime();
+        List<PendingTransactionDto> chunk = transactionRepository.findPendingChunk(TransactionStatus.PENDING, worker,
+                workerCount, afterWalletId, afterTransactionId, LocalDateTime.now(), Limit.of(limit));
+        settlementMetrics.recordPendingScan(System.nanoTime() - start);
+        return chunk;
     }
 }
@@ -1,26 +1,40 @@
 package com.khantech.gaming.tms.service.impl;
 
+import com.khantech.gaming.tms.aop.RetryOnOptimisticLock;
+import com.khantech.gaming.tms.config.WalletConcurrencyPolicy;
 import com.khantech.gaming.tms.dto.TransactionRequestDto;
+import com.khantech.gaming.tms.exception.IdempotencyKeyConflictException;
 import com.khantech.gaming.tms.exception.WalletNotFoundException;
+import com.khantech.gaming.tms.jfr.TransactionPersistedEvent;
+import com.khantech.gaming.tms.metrics.TransactionMetrics;
 import com.khantech.gaming.tms.model.Transaction;
 import com.khantech.gaming.tms.model.TransactionStatus;
 import com.khantech.gaming.tms.model.TransactionType;
 import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.model.WalletConcurrencyMode;
 import com.khantech.gaming.tms.repository.TransactionRepository;
 import com.khantech.gaming.tms.service.TransactionOperation;
 import com.khantech.gaming.tms.service.WalletService;
 import com.khantech.gaming.tms.util.BusinessException;
 import com.khantech.gaming.tms.util.LogMessages;
+import com.khantech.gaming.tms.util.MessageFormatter;
+import com.khantech.gaming.tms.util.MoneyUtil;
 import com.khantech.gaming.tms.validation.TransactionValidationHandler;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.util.Optional;
 
+import static com.khantech.gaming.tms.util.Constants.CONDITIONAL_UPDATE_REJECTION_REASON;
 import static com.khantech.gaming.tms.util.Constants.TRANSACTION_CREATION_SERVICE;
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_REJECTION_DUE_TO_INSUFFICIENT_EFFECTIVE_BALANCE;
+import static com.khantech.gaming.tms.util.LogMessages.CONDITIONAL_UPDATE_REJECTED;
+import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_IDEMPOTENT_RACE;
+import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_IDEMPOTENT_REPLAY;
 import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_CREATE;
 import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_SAVED;
 
@@ -32,13 +46,22 @@ public class TransactionCreationService implements TransactionOperation<Transact
     private final WalletService walletService;
     private final TransactionRepository transactionRepository;
     private final TransactionValidationHandler transactionValidationHandler;
+    private final WalletConcurrencyPolicy walletConcurrencyPolicy;
+    private final TransactionMetrics transactionMetrics;
+    private final TransactionTemplate transactionTemplate;
 
     public TransactionCreationService(WalletService walletService,
                                       TransactionValidationHandler transactionValidationHandler,
-                                      TransactionRepository transactionRepository) {
+                                      TransactionRepository transactionRepository,
+                                      WalletConcurrencyPolicy walletConcurrencyPolicy,
+                                      TransactionMetrics transactionMetrics,
+                                      TransactionTemplate transactionTemplate) {
         this.walletService = walletService;
         this.transactionValidationHandler = transactionValidationHandler;
         this.transactionRepository = transactionRepository;
+        this.walletConcurrencyPolicy = walletConcurrencyPolicy;
+        this.transactionMetrics = transactionMetrics;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
@@ -53,55 +76,203 @@ public class TransactionCreationService implements TransactionOperation<Transact
      *   <li>Fetches the wallet by ID with a lock to ensure thread safety in concurrent scenarios.</li>
      *   <li>Initializes a new {@link Transaction} object with the provided details.</li>
      *   <li>Validates the transaction</li>
-     *   <li>Processes transaction approval and updates the wallet balance accordingly.</li>
-     *   <li>Saves the created transaction to the repository.</li>
+     *   <li>Processes transaction approval and updates the wallet balance accordingly, or reserves the amount
+     *   of a debit that has to wait for approval.</li>
+     *   <li>Saves the created transaction to the repository and flushes it, timing the write under
+     *   {@code tms.transaction.save} and as a {@link TransactionPersistedEvent}, and counts the transaction by type
+     *   and status.</li>
      * </ul>
      *
+     * <p>In {@link WalletConcurrencyMode#CONDITIONAL_UPDATE} mode the wallet is read without a lock and the balance
+     * change or debit reservation is applied with one guarded UPDATE statement instead of modifying the entity.
+     * If the guarded statement matches no row the effective balance was insufficient and the transaction is
+     * rejected. The transaction row is inserted after the update, so the wallet row is only locked from that
+     * statement until commit.
+     *
+     * <p>In {@link WalletConcurrencyMode#OPTIMISTIC} mode the wallet is also read without a lock and updated through
+     * the entity; a concurrent update of the same wallet fails the version check and the whole method is retried
+     * with backoff by {@link RetryOnOptimisticLock}. The mode is resolved per wallet by
+     * {@link WalletConcurrencyPolicy}, so known hot wallets keep using the pessimistic lock.
+     *
+     * <p>If the request carries an idempotency key that is already stored with a transaction, that transaction is
+     * returned as is and the wallet is not changed again. The optimistic and conditional update modes do not lock
+     * the wallet, so two requests with the same key can both miss the lookup; the second insert is then rejected
+     * by the unique idempotency key index, its database transaction is rolled back together with its wallet update,
+     * and the transaction stored by the first request is returned. The work runs in a {@link TransactionTemplate}
+     * so that the stored transaction is read after the failed one has been rolled back.
+     *
      * @param request The {@link TransactionRequestDto} containing the transaction details, such as the wallet ID,
      *                transaction amount, and transaction type (DEBIT or CREDIT).
      *
      * @return The created and saved {@link Transaction}.
      *
      * @throws WalletNotFoundException if the wallet with the provided ID is not found.
+     * @throws IdempotencyKeyConflictException if the idempotency key is stored with a transaction for a different
+     *                                         wallet, amount or transaction type.
      */
     @Override
-    @Transactional
+    @RetryOnOptimisticLock
     public Transaction execute(TransactionRequestDto request) {
-        log.info(TRANSACTION_CREATE, request.getWalletId(), request.getAmount(), request.getTransactionType());
+        try {
+            return transactionTemplate.execute(status -> create(request));
+        } catch (DataIntegrityViolationException e) {
+            Optional<Transaction> storedTransaction = request.getIdempotencyKey() == null
+                    ? Optional.empty()
+                    : transactionRepository.findByIdempotencyKey(request.getIdempotencyKey());
+            if (storedTransaction.isEmpty()) {
+                throw e;
+            }
+            log.debug(TRANSACTION_IDEMPOTENT_RACE, request.getIdempotencyKey());
+            return replay(storedTransaction.get(), request);
+        }
+    }
+
+    private Transaction create(TransactionRequestDto request) {
+        if (log.isDebugEnabled()) {
+            log.debug(TRANSACTION_CREATE, request.getWalletId(), request.getAmount(), request.getTransactionType());
+        }
 
-        Wallet wallet = walletService.findWalletByIdWithLock(request.getWalletId());
+        WalletConcurrencyMode concurrencyMode = walletConcurrencyPolicy.modeFor(request.getWalletId());
+        Wallet wallet = findWallet(request.getWalletId(), concurrencyMode);
         if (wallet == null) {
             throw new WalletNotFoundException(BusinessException.WalletNotFoundException, request.getWalletId());
         }
 
-        Transaction transaction = new Transaction();
-        transaction.setWallet(wallet);
-        transaction.setAmount(request.getAmount());
-        transaction.setStatus(TransactionStatus.PENDING);
-        transaction.setTransactionType(request.getTransactionType());
+        // Looked up after the wallet lock, so a retry racing the original request sees its committed row
+        Optional<Transaction> existingTransaction = findByIdempotencyKey(request.getIdempotencyKey());
+        if (existingTransaction.isPresent()) {
+            return replay(existingTransaction.get(), request);
+        }
+
+        Transaction transaction;
+        if (concurrencyMode == WalletConcurrencyMode.CONDITIONAL_UPDATE) {
+            transaction = buildTransaction(wallet, request);
+            transactionValidationHandler.validate(transaction);
+            applyConditionalUpdate(wallet, transaction);
+        } else {
+            transaction = applyToWallet(wallet, request);
+        }
+
+        // Save the transaction
+        return saveTransaction(transaction);
+    }
+
+    /**
+     * Builds and validates a transaction for a wallet that is already locked or versioned by the caller, and
+     * applies it to the wallet balance. The transaction is not saved, so callers creating many transactions can
+     * persist them together.
+     *
+     * @param wallet  the wallet the transaction belongs to.
+     * @param request the transaction details.
+     * @return the validated {@link Transaction} with its final status.
+     */
+    public Transaction applyToWallet(Wallet wallet, TransactionRequestDto request) {
+        Transaction transaction = buildTransaction(wallet, request);
 
         // Validate the transaction
         transactionValidationHandler.validate(transaction);
 
         // Process transaction approval and update balance
-        processTransactionApproval(wallet, transaction, request.getAmount(), request.getTransactionType());
+        processTransactionApproval(wallet, transaction, transaction.getAmount(), request.getTransactionType());
+        return transaction;
+    }
 
-        // Save the transaction
-        return saveTransaction(transaction);
+    private Optional<Transaction> findByIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        Optional<Transaction> transaction = transactionRepository.findByIdempotencyKey(idempotencyKey);
+        transaction.ifPresent(existing -> log.debug(TRANSACTION_IDEMPOTENT_REPLAY, idempotencyKey, existing.getId()));
+        return transaction;
+    }
+
+    // A key reused for a different wallet, amount or type is a client error, not a retry
+    private Transaction replay(Transaction storedTransaction, TransactionRequestDto request) {
+        if (!storedTransaction.getWallet().getId().equals(request.getWalletId())
+                || storedTransaction.getAmount() != MoneyUtil.toMinorUnits(request.getAmount())
+                || storedTransaction.getTransactionType() != request.getTransactionType()) {
+            throw new IdempotencyKeyConflictException(BusinessException.IdempotencyKeyConflictException,
+                    request.getIdempotencyKey());
+        }
+        return storedTransaction;
+    }
+
+    private Transaction buildTransaction(Wallet wallet, TransactionRequestDto request) {
+        Transaction transaction = new Transaction();
+        transaction.setIdempotencyKey(request.getIdempotencyKey());
+        transaction.setWallet(wallet);
+        transaction.setAmount(MoneyUtil.toMinorUnits(request.getAmount()));
+        transaction.setStatus(TransactionStatus.PENDING);
+        transaction.setTransactionType(request.getTransactionType());
+        return transaction;
     }
 
     private void processTransactionApproval(Wallet wallet, Transaction transaction,
-                                            BigDecimal amount,
+                                            long amount,
                                             TransactionType transactionType) {
         if (transaction.getStatus() == TransactionStatus.APPROVED) {
-            log.info(LogMessages.TRANSACTION_APPROVED, wallet.getId());
+            log.debug(LogMessages.TRANSACTION_APPROVED, wallet.getId());
             walletService.updateWalletBalance(wallet, amount, transactionType);
+        } else if (transaction.getStatus() == TransactionStatus.AWAITING_APPROVAL
+                && transactionType == TransactionType.DEBIT) {
+            log.debug(LogMessages.TRANSACTION_AWAITING_APPROVAL, wallet.getId());
+            walletService.reserveFunds(wallet, amount);
+        }
+    }
+
+    private Wallet findWallet(Long walletId, WalletConcurrencyMode concurrencyMode) {
+        if (concurrencyMode == WalletConcurrencyMode.CONDITIONAL_UPDATE || concurrencyMode == WalletConcurrencyMode.OPTIMISTIC) {
+            return walletService.findWalletById(walletId);
+        }
+        return walletService.findWalletByIdWithLock(walletId);
+    }
+
+    private void applyConditionalUpdate(Wallet wallet, Transaction transaction) {
+        long amount = transaction.getAmount();
+        boolean isDebit = transaction.getTransactionType() == TransactionType.DEBIT;
+
+        if (transaction.getStatus() == TransactionStatus.APPROVED) {
+            log.debug(LogMessages.TRANSACTION_APPROVED, wallet.getId());
+            if (!isDebit) {
+                walletService.creditBalance(wallet.getId(), amount);
+            } else if (!walletService.debitIfSufficient(wallet.getId(), amount)) {
+                rejectConditionalUpdate(wallet, transaction);
+            }
+        } else if (transaction.getStatus() == TransactionStatus.AWAITING_APPROVAL && isDebit) {
+            log.debug(LogMessages.TRANSACTION_AWAITING_APPROVAL, wallet.getId());
+            if (!walletService.reserveIfSufficient(wallet.getId(), amount)) {
+                rejectConditionalUpdate(wallet, transaction);
+            }
+        }
+    }
+
+    private void rejectConditionalUpdate(Wallet wallet, Transaction transaction) {
+        log.error(CONDITIONAL_UPDATE_REJECTED, wallet.getId(), transaction.getAmount());
+        transaction.setStatus(TransactionStatus.REJECTED);
+        transaction.setRejectionReason(CONDITIONAL_UPDATE_REJECTION_REASON);
+
+        // The wallet read before the guarded UPDATE may be stale, so the figures come from a fresh read
+        Wallet current = walletService.findWalletById(wallet.getId());
+        if (current == null) {
+            current = wallet;
         }
+        transaction.setMessage(
+                MessageFormatter.formatMessage(TRANSACTION_REJECTION_DUE_TO_INSUFFICIENT_EFFECTIVE_BALANCE,
+                        MoneyUtil.toDecimal(current.getBalance()), MoneyUtil.toDecimal(current.getReservedAmount()),
+                        MoneyUtil.toDecimal(transaction.getAmount()))
+        );
     }
 
     private Transaction saveTransaction(Transaction transaction) {
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        log.info(TRANSACTION_SAVED, savedTransaction.getId());
+        TransactionPersistedEvent event = new TransactionPersistedEvent();
+        event.begin();
+        Transaction savedTransaction = transactionMetrics.timeSave(() -> transactionRepository.saveAndFlush(transaction));
+        if (event.shouldCommit()) {
+            event.setTransactions(1);
+            event.commit();
+        }
+        log.debug(TRANSACTION_SAVED, savedTransaction.getId());
+        transactionMetrics.created(savedTransaction);
         return savedTransaction;
     }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.khantech.gaming.tms.service.impl;
+
+import com.khantech.gaming.tms.dto.TransactionHistoryCursor;
+import com.khantech.gaming.tms.dto.TransactionHistoryPageDto;
+import com.khantech.gaming.tms.dto.TransactionHistoryQueryDto;
+import com.khantech.gaming.tms.exception.WalletNotFoundException;
+import com.khantech.gaming.tms.model.ArchivedTransaction;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.repository.ArchivedTransactionRepository;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import com.khantech.gaming.tms.service.TransactionHistoryService;
+import com.khantech.gaming.tms.util.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.khantech.gaming.tms.util.LogMessages.TRANSACTION_HISTORY_FETCH;
+
+/**
+ * TransactionHistoryServiceImpl reads a wallet's transactions back, newest first, with keyset pagination over
+ * (created at, ID). Each page continues strictly after the position of the previous one instead of skipping rows
+ * with an offset, so reading a page costs the same at any depth. Pages filtered by status are served by the
+ * (wallet ID, status, created at, ID) index and the others by the (wallet ID, created at, ID) index.
+ *
+ * <p>Settled transactions past the retention live in the transaction_history table, which has the same two indexes.
+ * Both tables are read with the same keyset and merged, so the history is continuous across the archival cutoff.
+ */
+@Service
+public class TransactionHistoryServiceImpl implements TransactionHistoryService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionHistoryServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    // Open ends of the time range, kept within the range of the database timestamp type
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator.comparing(Transaction::getCreatedAt)
+            .thenComparing(Transaction::getId).reversed();
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final WalletRepository walletRepository;
+
+    public TransactionHistoryServiceImpl(TransactionRepository transactionRepository,
+                                         ArchivedTransactionRepository archivedTransactionRepository,
+                                         WalletRepository walletRepository) {
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.walletRepository = walletRepository;
+    }
+
+    /**
+     * Reads one page of a wallet's transaction history. The page starts before the cursor, or before the end of the
+     * time range on the first page, and one more row than the page size is read from each table to tell whether
+     * another page follows. The history table is not read for the PENDING and AWAITING_APPROVAL statuses, which are
+     * never archived.
+     *
+     * @param walletId the ID of the wallet.
+     * @param query    the filters, cursor and page size.
+     * @return the page with the cursor of the next page, if any.
+     *
+     * @throws WalletNotFoundException if the wallet does not exist.
+     */
+    @Override
+    public TransactionHistoryPageDto findHistory(Long walletId, TransactionHistoryQueryDto query) {
+        if (log.isDebugEnabled()) {
+            log.debug(TRANSACTION_HISTORY_FETCH, walletId, query.status(), query.type());
+        }
+        if (!walletRepository.existsById(walletId)) {
+            throw new WalletNotFoundException(BusinessException.WalletNotFoundException, walletId);
+        }
+
+        int pageSize = Math.clamp(query.limit(), 1, MAX_PAGE_SIZE);
+        TransactionHistoryCursor before = query.cursor() != null
+                ? TransactionHistoryCursor.decode(query.cursor())
+                // Nothing created at the end of the range has a lower ID, so the range end is exclusive
+                : new TransactionHistoryCursor(query.to() != null ? query.to() : LATEST, Long.MIN_VALUE);
+        Set<TransactionType> types = query.type() != null ? EnumSet.of(query.type()) : EnumSet.allOf(TransactionType.class);
+        LocalDateTime from = query.from() != null ? query.from() : EARLIEST;
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Transaction> transactions = query.status() != null
+                ? transactionRepository.findHistoryPageByStatus(walletId, query.status(), types, from,
+                before.createdAt(), before.id(), limit)
+                : transactionRepository.findHistoryPage(walletId, types, from, before.createdAt(), before.id(), limit);
+        if (query.status() == null || isArchivable(query.status())) {
+            List<ArchivedTransaction> archived = query.status() != null
+                    ? archivedTransactionRepository.findHistoryPageByStatus(walletId, query.status(), types, from,
+                    before.createdAt(), before.id(), limit)
+                    : archivedTransactionRepository.findHistoryPage(walletId, types, from, before.createdAt(),
+                    before.id(), limit);
+            transactions = merge(transactions, archived);
+        }
+
+        if (transactions.size() <= pageSize) {
+            return new TransactionHistoryPageDto(transactions, null);
+        }
+        List<Transaction> page = transactions.subList(0, pageSize);
+        Transaction last = page.get(pageSize - 1);
+        return new TransactionHistoryPageDto(page, new TransactionHistoryCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    private static boolean isArchivable(TransactionStatus status) {
+        return TransactionArchivalService.SETTLED_STATUSES.contains(status);
+    }
+
+    // Both lists are already newest first, so the merged list is only sorted when rows come from both tables. The
+    // tables are read one after the other, so a row archived in between is in both lists and only its live copy is kept
+    private List<Transaction> merge(List<Transaction> transactions, List<ArchivedTransaction> archived) {
+        if (archived.isEmpty()) {
+            return transactions;
+        }
+        Set<Long> liveIds = new HashSet<>();
+        transactions.forEach(transaction -> liveIds.add(transaction.getId()));
+        List<Transaction> merged = new ArrayList<>(transactions.size() + archived.size());
+        merged.addAll(transactions);
+        archived.stream()
+                .filter(row -> !liveIds.contains(row.getId()))
+                .forEach(row -> merged.add(toTransaction(row)));
+        if (!transactions.isEmpty()) {
+            merged.sort(NEWEST_FIRST);
+        }
+        return merged;
+    }
+
+    private Transaction toTransaction(ArchivedTransaction archived) {
+        Transaction transaction = new Transaction();
+        transaction.setId(archived.getId());
+        transaction.setWallet(walletRepository.getReferenceById(archived.getWalletId()));
+        transaction.setAmount(archived.getAmount());
+        transaction.setStatus(archived.getStatus());
+        transaction.setMessage(archived.getMessage());
+        transaction.setTransactionType(archived.getTransactionType());
+        transaction.setIdempotencyKey(archived.getIdempotencyKey());
+        transaction.setCreatedAt(archived.getCreatedAt());
+        return transaction;
+    }
+}
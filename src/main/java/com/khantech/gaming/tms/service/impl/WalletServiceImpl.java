@@ -1,6 +1,8 @@
 package com.khantech.gaming.tms.service.impl;
 
+import com.khantech.gaming.tms.event.WalletChangedEvent;
 import com.khantech.gaming.tms.exception.DuplicateWalletException;
+import com.khantech.gaming.tms.jfr.WalletLockAcquiredEvent;
 import com.khantech.gaming.tms.model.TransactionType;
 import com.khantech.gaming.tms.model.User;
 import com.khantech.gaming.tms.model.Wallet;
@@ -8,39 +10,63 @@ import com.khantech.gaming.tms.repository.WalletRepository;
 import com.khantech.gaming.tms.service.UserService;
 import com.khantech.gaming.tms.service.WalletService;
 import com.khantech.gaming.tms.util.BusinessException;
+import com.khantech.gaming.tms.util.MoneyUtil;
 import com.khantech.gaming.tms.validation.WalletValidationHelper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.khantech.gaming.tms.util.LogMessages.*;
+import static com.khantech.gaming.tms.util.MetricNames.WALLET_LOCK_WAIT;
 
 /**
  * WalletServiceImpl provides implementations for managing wallets, including creating, updating balances,
  * and saving wallet information.
  * This class interacts with the WalletRepository and UserRepository to perform database operations.
+ * Creating a wallet and every change of a balance publish a {@link WalletChangedEvent}, so copies of wallet data
+ * can be evicted once the change is committed.
  */
 @Service
 public class WalletServiceImpl implements WalletService {
     private static final Logger log = LoggerFactory.getLogger(WalletServiceImpl.class);
+    // 1000.00 in minor units
+    private static final long INITIAL_BALANCE = 100_000L;
 
     private final WalletRepository walletRepository;
     private final UserService userService;
+    private final Timer lockWaitTimer;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public WalletServiceImpl(WalletRepository walletRepository, UserService userService) {
+    public WalletServiceImpl(WalletRepository walletRepository, UserService userService, MeterRegistry meterRegistry,
+                             ApplicationEventPublisher eventPublisher) {
         this.walletRepository = walletRepository;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
+        this.lockWaitTimer = Timer.builder(WALLET_LOCK_WAIT)
+                .description("Time spent acquiring the pessimistic lock on a wallet row")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     /**
-     * Creates a new wallet for a specified user and initializes the balance to 1000.
+     * Creates a new wallet for a specified user and initializes the balance to 1000. Wallet names are unique per
+     * user regardless of case: the name is checked with one lookup on the unique (user ID, normalized name) index,
+     * so the cost does not grow with the number of wallets of the user, and a duplicate created concurrently is
+     * rejected by the same index when the wallet is inserted.
      *
      * @param userId     the ID of the user for whom the wallet is being created.
      * @param walletName the name of the wallet.
      * @return the created Wallet object.
+     *
+     * @throws DuplicateWalletException if the user already has a wallet with the same name.
      */
     @Override
     public Wallet createWallet(Long userId, String walletName) {
@@ -53,29 +79,37 @@ public class WalletServiceImpl implements WalletService {
         // Check for duplicate wallet name
         checkDuplicateWallet(user, walletName);
 
-        // Create and save wallet
+        // Create and save wallet, the unique index rejects a duplicate created concurrently since the check
         Wallet wallet = buildWallet(user, walletName);
-        Wallet createdWallet = walletRepository.save(wallet);
+        Wallet createdWallet;
+        try {
+            createdWallet = walletRepository.saveAndFlush(wallet);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateWallet(user, walletName);
+        }
+        eventPublisher.publishEvent(new WalletChangedEvent(userId, createdWallet.getId()));
 
         log.info(WALLET_CREATED_SUCCESS, createdWallet.getId());
         return createdWallet;
     }
 
     private void checkDuplicateWallet(User user, String walletName) {
-        boolean duplicateExists = user.getWallets().stream()
-                .anyMatch(wallet -> wallet.getName().equalsIgnoreCase(walletName));
-
-        if (duplicateExists) {
-            log.error(DUPLICATE_WALLET_NAME_ERROR, walletName, user.getId());
-            throw new DuplicateWalletException(BusinessException.DuplicateWalletException, walletName, user.getId());
+        if (walletRepository.existsByUserIdAndNormalizedName(user.getId(),
+                WalletValidationHelper.normalizeWalletName(walletName))) {
+            throw duplicateWallet(user, walletName);
         }
     }
 
+    private DuplicateWalletException duplicateWallet(User user, String walletName) {
+        log.error(DUPLICATE_WALLET_NAME_ERROR, walletName, user.getId());
+        return new DuplicateWalletException(BusinessException.DuplicateWalletException, walletName, user.getId());
+    }
+
     private Wallet buildWallet(User user, String walletName) {
         Wallet wallet = new Wallet();
         wallet.setUser(user);
         wallet.setName(walletName);
-        wallet.setBalance(BigDecimal.valueOf(1000));  // Set initial balance
+        wallet.setBalance(INITIAL_BALANCE);
         return wallet;
     }
 
@@ -86,9 +120,9 @@ public class WalletServiceImpl implements WalletService {
      */
     @Override
     public void save(Wallet wallet) {
-        log.info(WALLET_SAVE_REQUEST, wallet.getId());
+        log.debug(WALLET_SAVE_REQUEST, wallet.getId());
         walletRepository.save(wallet);
-        log.info(WALLET_SAVE_SUCCESS, wallet.getId());
+        log.debug(WALLET_SAVE_SUCCESS, wallet.getId());
     }
 
     /**
@@ -99,22 +133,50 @@ public class WalletServiceImpl implements WalletService {
      */
     @Override
     public List<Wallet> getWalletsByUserId(Long userId) {
-        log.info(WALLET_FIND_BY_USER_ID, userId);
+        log.debug(WALLET_FIND_BY_USER_ID, userId);
         List<Wallet> wallets = walletRepository.findByUserId(userId);
-        log.info(WALLET_FIND_BY_USER_SUCCESS, wallets.size(), userId);
+        log.debug(WALLET_FIND_BY_USER_SUCCESS, wallets.size(), userId);
         return wallets;
     }
 
     /**
-     * Finds a wallet by its ID and applies a database lock for concurrency control.
+     * Finds a wallet by its ID without locking it.
+     *
+     * @param walletId the ID of the wallet to be found.
+     * @return the Wallet object if found, or null if not found.
+     */
+    @Override
+    public Wallet findWalletById(Long walletId) {
+        log.debug(WALLET_FIND_BY_ID, walletId);
+        return walletRepository.findById(walletId).orElse(null);
+    }
+
+    /**
+     * Finds a wallet by its ID and applies a database lock for concurrency control. The time spent in the locking
+     * read is recorded under {@code tms.wallet.lock.wait}; under contention it is mostly the wait for the row lock.
+     * The read is also emitted as a {@link WalletLockAcquiredEvent} when a flight recording enables it.
      *
      * @param walletId the ID of the wallet to be found.
      * @return the Wallet object if found, or null if not found.
      */
     @Override
     public Wallet findWalletByIdWithLock(Long walletId) {
-        log.info(WALLET_FIND_BY_ID_LOCK, walletId);
-        return walletRepository.findByIdWithLock(walletId);
+        log.debug(WALLET_FIND_BY_ID_LOCK, walletId);
+        WalletLockAcquiredEvent event = new WalletLockAcquiredEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Wallet wallet;
+        try {
+            wallet = walletRepository.findByIdWithLock(walletId);
+        } finally {
+            lockWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (event.shouldCommit()) {
+            event.setWalletId(walletId);
+            event.setFound(wallet != null);
+            event.commit();
+        }
+        return wallet;
     }
 
     /**
@@ -125,14 +187,98 @@ public class WalletServiceImpl implements WalletService {
      * @param transactionType the type of transaction (DEBIT or CREDIT).
      */
     @Override
-    public void updateWalletBalance(Wallet wallet, BigDecimal amount, TransactionType transactionType) {
-        log.info(WALLET_UPDATE_BALANCE, wallet.getId(), amount, transactionType);
+    public void updateWalletBalance(Wallet wallet, long amount, TransactionType transactionType) {
+        if (log.isDebugEnabled()) {
+            log.debug(WALLET_UPDATE_BALANCE, wallet.getId(), amount, transactionType);
+        }
         if (transactionType == TransactionType.DEBIT) {
             decreaseBalance(wallet, amount);
         } else if (transactionType == TransactionType.CREDIT) {
             increaseBalance(wallet, amount);
         }
         save(wallet);
+        eventPublisher.publishEvent(new WalletChangedEvent(wallet.getUser() == null ? null : wallet.getUser().getId(),
+                wallet.getId()));
+    }
+
+    /**
+     * Adds the amount of a debit transaction that is not applied yet to the wallet's reserved amount.
+     * The reserved amount is what the effective balance check subtracts from the balance, so it has to be
+     * kept in step with every debit entering the PENDING or AWAITING_APPROVAL status.
+     *
+     * @param wallet the locked wallet the debit belongs to.
+     * @param amount the debit amount to reserve.
+     */
+    @Override
+    public void reserveFunds(Wallet wallet, long amount) {
+        log.debug(WALLET_RESERVE_FUNDS, wallet.getId(), amount);
+        wallet.setReservedAmount(MoneyUtil.add(wallet.getReservedAmount(), amount));
+        save(wallet);
+    }
+
+    /**
+     * Decreases the balance of the wallet with a single guarded UPDATE that only matches when the
+     * effective balance (balance minus reserved debits) covers the amount.
+     *
+     * @param walletId the ID of the wallet to debit.
+     * @param amount   the amount to debit.
+     * @return true if the wallet was debited, false if the effective balance was insufficient.
+     */
+    @Override
+    public boolean debitIfSufficient(Long walletId, long amount) {
+        log.debug(WALLET_CONDITIONAL_DEBIT, walletId, amount);
+        return walletChanged(walletId, walletRepository.debitIfSufficient(walletId, amount) > 0);
+    }
+
+    /**
+     * Adds the amount to the reserved amount of the wallet with a single guarded UPDATE that only matches
+     * when the effective balance (balance minus reserved debits) covers the amount.
+     *
+     * @param walletId the ID of the wallet to reserve the amount on.
+     * @param amount   the amount to reserve.
+     * @return true if the amount was reserved, false if the effective balance was insufficient.
+     */
+    @Override
+    public boolean reserveIfSufficient(Long walletId, long amount) {
+        log.debug(WALLET_CONDITIONAL_RESERVE, walletId, amount);
+        return walletRepository.reserveIfSufficient(walletId, amount) > 0;
+    }
+
+    /**
+     * Increases the balance of the wallet with a single UPDATE statement.
+     *
+     * @param walletId the ID of the wallet to credit.
+     * @param amount   the amount to credit.
+     */
+    @Override
+    public void creditBalance(Long walletId, long amount) {
+        log.debug(WALLET_INCREASE_BALANCE_REQUEST, walletId, amount);
+        walletRepository.credit(walletId, amount);
+        walletChanged(walletId, true);
+    }
+
+    /**
+     * Applies the net result of a group of settled transactions to the wallet with a single UPDATE, and releases
+     * the amount their debits had reserved.
+     *
+     * @param walletId            the ID of the wallet to update.
+     * @param balanceDelta        the sum of credits minus the sum of debits.
+     * @param releasedReservation the sum of debits whose reservation is released.
+     * @return true if the wallet was updated, false if it does not exist.
+     */
+    @Override
+    public boolean applySettlement(Long walletId, long balanceDelta, long releasedReservation) {
+        if (log.isDebugEnabled()) {
+            log.debug(WALLET_APPLY_SETTLEMENT, walletId, balanceDelta, releasedReservation);
+        }
+        return walletChanged(walletId, walletRepository.applySettlement(walletId, balanceDelta, releasedReservation) > 0);
+    }
+
+    private boolean walletChanged(Long walletId, boolean changed) {
+        if (changed) {
+            eventPublisher.publishEvent(new WalletChangedEvent(null, walletId));
+        }
+        return changed;
     }
 
     /**
@@ -141,9 +287,9 @@ public class WalletServiceImpl implements WalletService {
      * @param wallet the wallet whose balance is to be decreased.
      * @param amount the amount to decrease the balance by.
      */
-    private void decreaseBalance(Wallet wallet, BigDecimal amount) {
-        log.info(WALLET_DECREASE_BALANCE, wallet.getId(), amount);
-        wallet.setBalance(wallet.getBalance().subtract(amount));
+    private void decreaseBalance(Wallet wallet, long amount) {
+        log.debug(WALLET_DECREASE_BALANCE, wallet.getId(), amount);
+        wallet.setBalance(MoneyUtil.subtract(wallet.getBalance(), amount));
     }
 
     /**
@@ -152,8 +298,8 @@ public class WalletServiceImpl implements WalletService {
      * @param wallet the wallet whose balance is to be increased.
      * @param amount the amount to increase the balance by.
      */
-    private void increaseBalance(Wallet wallet, BigDecimal amount) {
-        log.info(WALLET_INCREASE_BALANCE_REQUEST, wallet.getId(), amount);
-        wallet.setBalance(wallet.getBalance().add(amount));
+    private void increaseBalance(Wallet wallet, long amount) {
+        log.debug(WALLET_INCREASE_BALANCE_REQUEST, wallet.getId(), amount);
+        wallet.setBalance(MoneyUtil.add(wallet.getBalance(), amount));
     }
 }
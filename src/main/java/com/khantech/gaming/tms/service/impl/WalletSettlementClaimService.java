@@ -0,0 +1,71 @@
+package com.khantech.gaming.tms.service.impl;
+
+import com.khantech.gaming.tms.dto.SettlementClaimDto;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.khantech.gaming.tms.util.LogMessages.SETTLEMENT_CLAIM_RELEASED;
+import static com.khantech.gaming.tms.util.LogMessages.SETTLEMENT_WALLETS_CLAIMED;
+
+/**
+ * Leases wallets to one settlement at a time, so several application instances can settle the backlog in
+ * parallel without processing the same wallet twice. Claims are committed in their own transaction to be visible
+ * to other instances right away, and expire after {@code transaction.settlement.claim-lease} so the wallets of
+ * an instance that crashed are picked up again.
+ */
+@Service
+public class WalletSettlementClaimService {
+    private static final Logger log = LoggerFactory.getLogger(WalletSettlementClaimService.class);
+
+    private final WalletRepository walletRepository;
+
+    @Value("${transaction.settlement.claim-lease:PT5M}")
+    private Duration claimLease;
+
+    public WalletSettlementClaimService(WalletRepository walletRepository) {
+        this.walletRepository = walletRepository;
+    }
+
+    /**
+     * Claims every wallet that is not leased by another settlement, or whose lease has expired.
+     *
+     * @param walletIds the wallets to claim.
+     * @return the claim with its token and the wallets actually claimed.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public SettlementClaimDto claim(Collection<Long> walletIds) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = walletRepository.claimForSettlement(walletIds, token, now, now.plus(claimLease));
+        SettlementClaimDto claim = new SettlementClaimDto(token, claimed == 0
+                ? Set.of()
+                : new HashSet<>(walletRepository.findIdsBySettlementClaim(walletIds, token)));
+        log.debug(SETTLEMENT_WALLETS_CLAIMED, claim.walletIds().size(), walletIds.size(), token);
+        return claim;
+    }
+
+    /**
+     * Releases the wallets of a claim once their settlement has committed or failed.
+     *
+     * @param claim the claim to release.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void release(SettlementClaimDto claim) {
+        if (claim.walletIds().isEmpty()) {
+            return;
+        }
+        walletRepository.releaseSettlementClaim(claim.token());
+        log.debug(SETTLEMENT_CLAIM_RELEASED, claim.token());
+    }
+}
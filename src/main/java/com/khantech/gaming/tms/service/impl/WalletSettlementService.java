@@ -0,0 +1,101 @@
+package com.khantech.gaming.tms.service.impl;
+
+import com.khantech.gaming.tms.dto.ChunkSettlementDto;
+import com.khantech.gaming.tms.dto.PendingTransactionDto;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import com.khantech.gaming.tms.service.WalletService;
+import com.khantech.gaming.tms.util.MoneyUtil;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.khantech.gaming.tms.util.Constants.WALLET_SETTLEMENT_SERVICE;
+import static com.khantech.gaming.tms.util.LogMessages.*;
+
+@Service
+@Qualifier(WALLET_SETTLEMENT_SERVICE)
+public class WalletSettlementService implements TransactionOperation<List<PendingTransactionDto>, ChunkSettlementDto> {
+    private static final Logger log = LoggerFactory.getLogger(WalletSettlementService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final WalletService walletService;
+
+    public WalletSettlementService(TransactionRepository transactionRepository, WalletService walletService) {
+        this.transactionRepository = transactionRepository;
+        this.walletService = walletService;
+    }
+
+    /**
+     * Settles one chunk of pending transactions in its own transaction, so a failure only rolls back this chunk
+     * and the persistence context does not grow across chunks. The caller must hold the settlement claim of the
+     * wallets in the chunk. The steps are:
+     * <ul>
+     *     <li>Re-reads the transactions of the chunk that are still PENDING, so rows settled by another instance
+     *     before the claim was taken are not applied twice.</li>
+     *     <li>Groups the transactions by wallet, keeping the ascending wallet order of the chunk so wallets are
+     *     always locked in the same order.</li>
+     *     <li>For each wallet, sums the credits minus the debits into one net balance delta and the debits into the
+     *     reservation to release, and applies both with a single UPDATE.</li>
+     *     <li>Marks the transactions of every updated wallet as APPROVED with one UPDATE for the whole chunk.</li>
+     * </ul>
+     * Transactions of a wallet that does not exist stay pending.
+     *
+     * @param chunk the chunk of pending transactions, ordered by wallet ID.
+     * @return the number of wallets updated and transactions approved.
+     */
+    @Override
+    @Transactional
+    public ChunkSettlementDto execute(List<PendingTransactionDto> chunk) {
+        // Rows settled by another instance between reading the chunk and claiming its wallets are dropped here
+        List<PendingTransactionDto> transactions = transactionRepository.findSettlementViewsByIdInAndStatus(
+                chunk.stream().map(PendingTransactionDto::id).toList(), TransactionStatus.PENDING);
+        Map<Long, List<PendingTransactionDto>> transactionsByWallet = transactions.stream()
+                .collect(Collectors.groupingBy(PendingTransactionDto::walletId, LinkedHashMap::new, Collectors.toList()));
+
+        List<Long> approvedTransactionIds = new ArrayList<>(transactions.size());
+        int updatedWallets = 0;
+        for (Map.Entry<Long, List<PendingTransactionDto>> entry : transactionsByWallet.entrySet()) {
+            if (applyToWallet(entry.getKey(), entry.getValue())) {
+                entry.getValue().forEach(transaction -> approvedTransactionIds.add(transaction.id()));
+                updatedWallets++;
+            }
+        }
+
+        if (!approvedTransactionIds.isEmpty()) {
+            transactionRepository.updateStatusByIdIn(approvedTransactionIds, TransactionStatus.PENDING, TransactionStatus.APPROVED);
+        }
+        log.debug(SETTLEMENT_CHUNK_SETTLED, approvedTransactionIds.size(), updatedWallets);
+        return new ChunkSettlementDto(updatedWallets, approvedTransactionIds.size());
+    }
+
+    private boolean applyToWallet(Long walletId, List<PendingTransactionDto> transactionsForWallet) {
+        log.debug(TRANSACTION_PROCESSING_WALLET, transactionsForWallet.size(), walletId);
+        long balanceDelta = 0L;
+        long releasedReservation = 0L;
+        for (PendingTransactionDto transaction : transactionsForWallet) {
+            if (transaction.transactionType() == TransactionType.DEBIT) {
+                balanceDelta = MoneyUtil.subtract(balanceDelta, transaction.amount());
+                releasedReservation = MoneyUtil.add(releasedReservation, transaction.amount());
+            } else {
+                balanceDelta = MoneyUtil.add(balanceDelta, transaction.amount());
+            }
+        }
+
+        if (!walletService.applySettlement(walletId, balanceDelta, releasedReservation)) {
+            log.error(WALLET_NOT_FOUND_FOR_TRANSACTIONS, walletId);
+            return false;
+        }
+        return true;
+    }
+}
@@ -35,9 +35,27 @@ public enum BusinessException {
     DuplicateWalletException("Wallet with name '%s' already exists for user with ID %s.",
             "DUPLICATE_WALLET_NAME",
             "Duplicate wallet name detected for the same user."),
+    ConcurrentWalletUpdateException("Wallet was updated concurrently, please retry the request.",
+            "CONCURRENT_WALLET_UPDATE",
+            "The wallet was modified by other requests during %s attempts."),
     InvalidTransactionTypeException("Invalid transaction type: %s. Transaction type can be DEBIT or CREDIT only",
             "INVALID_TRANSACTION_TYPE",
-            "The transaction type provided is invalid.");
+            "The transaction type provided is invalid."),
+    SettlementRunNotFoundException("Settlement run with ID %s not found",
+            "SETTLEMENT_RUN_NOT_FOUND",
+            "The settlement run does not exist."),
+    SettlementRunInProgressException("A settlement run is already in progress",
+            "SETTLEMENT_RUN_IN_PROGRESS",
+            "Wait for the current settlement run to finish before starting another one."),
+    InvalidHistoryCursorException("Invalid transaction history cursor: %s",
+            "INVALID_HISTORY_CURSOR",
+            "The cursor has to be the nextCursor value of a previous page."),
+    IdempotencyKeyConflictException("Idempotency key %s was already used for a different transaction",
+            "IDEMPOTENCY_KEY_CONFLICT",
+            "The stored transaction has a different wallet, amount or transaction type."),
+    ServiceBusyException("The service is busy, please retry the request.",
+            "SERVICE_BUSY",
+            "No database connection became available in time.");
 
     BusinessException(String message, String code, String reason) {
         this.message = message;
@@ -8,6 +8,12 @@ public final class Constants {
     public static final String TRANSACTION_CREATION_SERVICE = "transactionCreationService";
     public static final String TRANSACTION_APPROVAL_SERVICE = "transactionApprovalService";
     public static final String TRANSACTION_BATCH_PROCESSOR = "transactionBatchProcessor";
+    public static final String TRANSACTION_BATCH_CREATION_SERVICE = "transactionBatchCreationService";
+    public static final String WALLET_SETTLEMENT_SERVICE = "walletSettlementService";
+    public static final String TRANSACTION_ARCHIVAL_PROCESSOR = "transactionArchivalProcessor";
+    public static final String TRANSACTION_ARCHIVAL_SERVICE = "transactionArchivalService";
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     //Transaction Message
     public static final String TRANSACTION_REJECTION_DUE_TO_INSUFFICIENT_BALANCE =
@@ -17,4 +23,6 @@ public final class Constants {
                     + "but the transaction amount is %s.";
     public static final String TRANSACTION_NEGATIVE_AMOUNT = "The amount can not be less than zero.";
     public static final String TRANSACTION_ZERO_AMOUNT = "The amount can not be zero.";
+    // Rejection reason of a debit refused by the guarded UPDATE in CONDITIONAL_UPDATE mode
+    public static final String CONDITIONAL_UPDATE_REJECTION_REASON = "ConditionalUpdate";
 }
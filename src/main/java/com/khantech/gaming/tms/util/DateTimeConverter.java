@@ -1,5 +1,6 @@
 package com.khantech.gaming.tms.util;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
@@ -13,4 +14,10 @@ public final class DateTimeConverter {
             return localDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
         return null;
     }
+
+    public static LocalDateTime convertMillisToDate(Long millis) {
+        if (millis != null)
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        return null;
+    }
 }
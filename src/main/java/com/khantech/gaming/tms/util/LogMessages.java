@@ -6,19 +6,38 @@ public final class LogMessages {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
 
+    // Amounts and balances are logged in minor units (cents), except the amount of an incoming request
     // Transaction log messages
     public static final String TRANSACTION_CREATE = "Creating transaction for wallet ID: {}, amount: {}, transaction type: {}";
     public static final String TRANSACTION_APPROVED = "Transaction approved. Updating wallet balance for wallet ID: {}";
+    public static final String TRANSACTION_AWAITING_APPROVAL = "Transaction awaiting approval. Reserving debit amount for wallet ID: {}";
     public static final String TRANSACTION_SAVED = "Transaction successfully saved with ID: {}";
     public static final String TRANSACTION_PROCESSING_WALLET = "Processing {} transactions for wallet ID: {}";
-    public static final String TRANSACTION_APPROVED_LIST = "Transaction ID: {} approved and added to the approved transactions list";
+    public static final String SETTLEMENT_CHUNK_SETTLED = "{} transactions approved across {} wallets in settlement chunk";
+    public static final String SETTLEMENT_WALLETS_CLAIMED = "Claimed {} of {} wallets for settlement with token: {}";
+    public static final String SETTLEMENT_CLAIM_RELEASED = "Released settlement claim with token: {}";
+    public static final String SETTLEMENT_CHUNK_SKIPPED = "Skipped {} pending transactions of wallets claimed by another settlement";
+    public static final String SETTLEMENT_COMPLETED = "Settlement completed: {} transactions approved for {} wallets in {} ms, {} wallets/s, worker skew: {}, failed chunks: {}";
+    public static final String SETTLEMENT_RUN_STARTED = "Started settlement run {} with {} workers";
+    public static final String SETTLEMENT_RUN_RESUMED = "Resuming settlement run {} from its checkpoints with {} workers";
+    public static final String SETTLEMENT_RUN_SUPERSEDED = "Settlement run {} was started with {} workers and can not be resumed with {} workers. Starting a new run";
+    public static final String SETTLEMENT_RUN_CHECKPOINT = "Settlement checkpoint {} moved to Wallet ID: {}, Transaction ID: {}";
+    public static final String SETTLEMENT_RUN_FINISHED = "Settlement run {} finished with status {}";
+    public static final String SETTLEMENT_RUN_HELD = "Settlement run {} is held by another settlement. Skipping this run";
+    public static final String SETTLEMENT_RUN_STARTED_CONCURRENTLY = "Another settlement started a run at the same time. Skipping this run";
+    public static final String SETTLEMENT_RUN_TRIGGERED = "Settlement run triggered manually";
+    public static final String SETTLEMENT_RUN_HELD_ELSEWHERE = "Settlement run not triggered, a run is held by another settlement";
     public static final String TRANSACTION_APPROVE = "Approving transaction with ID: {}";
-    public static final String TRANSACTION_PROCESS_ALL_PENDING = "Processing all pending transactions";
-    public static final String TRANSACTION_PROCESS_SINGLE = "Processing transaction ID: {}, amount: {}, type: {}";
+    public static final String TRANSACTION_PROCESS_ALL_PENDING = "Processing all pending transactions with {} workers";
+    public static final String TRANSACTION_IDEMPOTENT_REPLAY = "Transaction with idempotency key: {} already exists with ID: {}. Returning it";
+    public static final String TRANSACTION_IDEMPOTENT_RACE = "Transaction with idempotency key: {} was inserted by a concurrent request. Returning the stored one";
+    public static final String TRANSACTION_BATCH_CREATE = "Creating batch of {} transactions for {} wallets";
+    public static final String TRANSACTION_BATCH_SAVED = "Batch of {} transactions successfully saved";
+    public static final String TRANSACTION_ARCHIVE_CHUNK = "Archived {} of {} settled transactions in archival chunk";
+    public static final String TRANSACTION_ARCHIVAL_COMPLETED = "Archival completed: {} settled transactions moved to history in {} chunks, {} ms, failed chunks: {}";
 
     //Transaction balance check log messages
-    public static final String FOUND_PENDING_TRANSACTIONS = "Found {} pending transactions for wallet ID: {}. Calculating pending debit total...";
-    public static final String PENDING_DEBIT_TOTAL = "Total pending debit for wallet ID: {} is {}";
+    public static final String RESERVED_DEBIT_TOTAL = "Total reserved debit for wallet ID: {} is {}";
     public static final String EFFECTIVE_BALANCE_CALCULATED = "Effective balance for wallet ID: {} is {}. Wallet current balance: {}";
 
     // Wallet log messages
@@ -32,18 +51,42 @@ public final class LogMessages {
     public static final String WALLET_SAVE_SUCCESS = "Wallet with ID: {} saved successfully";
     public static final String WALLET_FIND_BY_USER_ID = "Fetching wallets for user ID: {}";
     public static final String WALLET_FIND_BY_USER_SUCCESS = "Fetched {} wallets for user ID: {}";
+    public static final String WALLET_FIND_BY_ID = "Fetching wallet with ID: {}";
     public static final String WALLET_FIND_BY_ID_LOCK = "Fetching wallet with ID: {} with lock";
+    public static final String TRANSACTION_HISTORY_FETCH = "Fetching transaction history page for wallet ID: {}, status: {}, type: {}";
     public static final String WALLET_INCREASE_BALANCE_REQUEST = "Increasing balance for wallet ID: {}, amount: {}";
     public static final String WALLET_DECREASE_BALANCE = "Decreasing balance for wallet ID: {}, amount: {}";
     public static final String WALLET_UPDATE_BALANCE = "Updating balance for wallet ID: {}, amount: {}, transaction type: {}";
+    public static final String WALLET_RESERVE_FUNDS = "Reserving funds for wallet ID: {}, amount: {}";
+    public static final String WALLET_APPLY_SETTLEMENT = "Applying settlement to wallet ID: {}, balance delta: {}, released reservation: {}";
+    public static final String WALLET_CONDITIONAL_DEBIT = "Debiting wallet ID: {} with a guarded update, amount: {}";
+    public static final String WALLET_CONDITIONAL_RESERVE = "Reserving funds for wallet ID: {} with a guarded update, amount: {}";
+
+    // Optimistic locking
+    public static final String OPTIMISTIC_LOCK_RETRY = "Optimistic lock conflict in {} on attempt {} of {}. Retrying after backoff";
+    public static final String OPTIMISTIC_LOCK_RETRIES_EXHAUSTED = "Optimistic lock conflict in {} persisted after {} attempts";
+
+    // Instrumentation
+    public static final String SERVICE_METHOD_TRACE = "{} completed in {} ns with arguments {}";
+    public static final String INSTRUMENTATION_COMPONENT_TOGGLED = "Instrumentation of {} enabled: {}";
+    public static final String INSTRUMENTATION_TRACE_SAMPLE_RATE_CHANGED = "Trace sample rate set to {}";
+    public static final String FLIGHT_RECORDING_STARTED = "Flight recording started with {} settings, writing to {} on shutdown";
+    public static final String FLIGHT_RECORDING_STOPPED = "Flight recording written to {}";
 
     // Error log messages
-    public static final String ERROR_PROCESSING_TRANSACTIONS = "Failed to process transactions for Wallet ID: {}";
+    public static final String TRANSACTION_ARCHIVE_CHUNK_FAILED = "Failed to archive chunk of {} transactions starting at Transaction ID: {}";
+    public static final String SETTLEMENT_CHUNK_FAILED = "Failed to settle chunk of {} transactions starting at Wallet ID: {}";
+    public static final String SETTLEMENT_RUN_FAILED = "Settlement run {} failed and will be resumed from its checkpoints";
+    public static final String SETTLEMENT_RUN_LAUNCH_FAILED = "Manually triggered settlement run failed";
+    public static final String SETTLEMENT_RUN_LEASE_LOST = "Settlement run {} was taken over by another settlement after its lease expired";
+    public static final String SETTLEMENT_RUN_NOT_FOUND_LOG = "Settlement run with ID {} not found.";
     public static final String USER_NOT_FOUND_LOG = "User with ID {} not found.";
     public static final String TRANSACTION_NOT_FOUND_LOG = "Transaction with ID {} not found.";
 
 
     // Transaction Validation Messages
+    public static final String VALIDATION_PIPELINE_ORDER = "Transaction validation rules will run in order: {}";
+    public static final String VALIDATION_RULE_REJECTED = "Transaction rejected by validation rule: {}. Reason: {}";
     public static final String START_NEGATIVE_AMOUNT_CHECK = "Starting validation: Checking if the transaction amount is negative. Amount: {}";
     public static final String NEGATIVE_AMOUNT_CHECK_PASSED = "Validation passed: The transaction amount is not negative. Amount: {}";
     public static final String NEGATIVE_AMOUNT_CHECK_FAILED = "Validation failed: Negative transaction amount. Amount: {}";
@@ -58,16 +101,22 @@ public final class LogMessages {
     public static final String ZERO_AMOUNT_CHECK_PASSED = "Validation passed: The transaction amount is not zero. Amount: {}";
     public static final String ZERO_AMOUNT_CHECK_FAILED = "Validation failed: Zero transaction amount. Amount: {}";
     public static final String START_EFFECTIVE_BALANCE_CHECK = "Starting validation: Checking balance for wallet ID: {}, transaction type: {}, transaction amount: {}";
+    public static final String CONDITIONAL_UPDATE_REJECTED = "Guarded update matched no row for wallet ID: {}. Rejecting transaction with amount: {}";
     public static final String EFFECTIVE_BALANCE_CHECK_FAILED = "Insufficient effective balance for wallet ID: {}. Required: {}, Available balance (with pending transactions): {}";
 
     // General
     public static final String TRANSACTION_STATUS_CHANGED = "Transaction status changed to PENDING for transaction ID: {}";
     public static final String TRANSACTION_NOT_AWAITING_APPROVAL = "Transaction with ID {} is not awaiting approval. Current status: {}";
-    public static final String FETCHING_PENDING_TRANSACTIONS = "Fetching all pending transactions";
-    public static final String GROUPING_PENDING_TRANSACTIONS = "Fetching and grouping all pending transactions by wallet ID";
+    public static final String FETCHING_PENDING_TRANSACTIONS = "Settlement worker {} fetching pending transactions after Wallet ID: {}, Transaction ID: {}";
+    public static final String DATABASE_CONNECTION_UNAVAILABLE = "No database connection available, rejecting request as busy: {}";
 
     //Scheduler
     public static final String SCHEDULER_START_PROCESSING = "Scheduled task started: Processing pending transactions";
+    public static final String SCHEDULER_SETTLEMENT_MODE = "Pending transactions will be settled in {} mode";
+    public static final String SCHEDULER_MICRO_BATCH_SETTLED = "Settlement micro-batch approved {} transactions in {} ms";
+    public static final String SCHEDULER_MICRO_BATCH_FAILED = "Settlement micro-batch failed";
+    public static final String SCHEDULER_MICRO_BATCH_DELAY_CHANGED = "Settlement micro-batch delay set to {} ms, pending: {}, oldest pending age: {} s";
+    public static final String SCHEDULER_ARCHIVAL_START = "Scheduled task started: Archiving settled transactions created before {}";
     public static final String SCHEDULER_END_PROCESSING = "Scheduled task completed: Finished processing pending transactions";
 
 }
@@ -0,0 +1,52 @@
+package com.khantech.gaming.tms.util;
+
+public final class MetricNames {
+    private MetricNames() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    // Tags
+    public static final String TAG_METHOD = "method";
+    public static final String TAG_RULE = "rule";
+    public static final String TAG_CLASS = "class";
+    public static final String TAG_TYPE = "type";
+    public static final String TAG_STATUS = "status";
+    public static final String TAG_REASON = "reason";
+    public static final String TAG_MODE = "mode";
+
+    // Transactions
+    // Not "created": the Prometheus registry drops a _created suffix, which OpenMetrics reserves
+    public static final String TRANSACTIONS_SUBMITTED = "tms.transactions.submitted";
+    public static final String TRANSACTIONS_REJECTED = "tms.transactions.rejected";
+    public static final String TRANSACTIONS_APPROVED = "tms.transactions.approved";
+    public static final String TRANSACTION_SAVE = "tms.transaction.save";
+    public static final String TRANSACTIONS_ARCHIVED = "tms.transactions.archived";
+
+    // Services
+    public static final String SERVICE_METHOD_DURATION = "tms.service.method.duration";
+
+    // Wallet concurrency
+    public static final String OPTIMISTIC_LOCK_RETRIES = "tms.wallet.optimistic.retries";
+    public static final String OPTIMISTIC_LOCK_EXHAUSTED = "tms.wallet.optimistic.exhausted";
+    public static final String WALLET_LOCK_WAIT = "tms.wallet.lock.wait";
+
+    // Validation
+    public static final String VALIDATION_RULE_DURATION = "tms.validation.rule.duration";
+    public static final String VALIDATION_RULE_REJECTIONS = "tms.validation.rule.rejections";
+
+    // Settlement
+    public static final String SETTLEMENT_BACKLOG_PENDING = "tms.settlement.backlog.pending";
+    public static final String SETTLEMENT_BACKLOG_OLDEST_AGE = "tms.settlement.backlog.oldest.age";
+    public static final String SETTLEMENT_BACKLOG_AWAITING_APPROVAL = "tms.settlement.backlog.awaiting.approval";
+    public static final String SETTLEMENT_PENDING_SCAN = "tms.settlement.pending.scan";
+    public static final String SETTLEMENT_TRANSACTIONS = "tms.settlement.transactions";
+    public static final String SETTLEMENT_WALLETS = "tms.settlement.wallets";
+    public static final String SETTLEMENT_FAILED_CHUNKS = "tms.settlement.failed.chunks";
+    public static final String SETTLEMENT_RUN_DURATION = "tms.settlement.run.duration";
+    public static final String SETTLEMENT_RUN_THROUGHPUT = "tms.settlement.run.throughput";
+    public static final String SETTLEMENT_MICRO_BATCH_DELAY = "tms.settlement.micro.batch.delay";
+
+    // Caches
+    public static final String TRANSACTION_IDEMPOTENCY_CACHE = "transactionIdempotency";
+    public static final String WALLET_CACHE = "wallets";
+}
@@ -0,0 +1,39 @@
+package com.khantech.gaming.tms.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Money is kept internally as a {@code long} number of minor units (cents), so balance checks and settlement sums
+ * are plain integer arithmetic without allocating {@link BigDecimal} instances. Sums use exact arithmetic and throw
+ * {@link ArithmeticException} on overflow instead of wrapping around. {@link BigDecimal} is only used at the API
+ * boundary, through {@link #toMinorUnits(BigDecimal)} and {@link #toDecimal(long)}.
+ */
+public final class MoneyUtil {
+    private MoneyUtil() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    // Number of decimal places of a minor unit
+    public static final int SCALE = 2;
+
+    /**
+     * @param amount a decimal amount with at most {@link #SCALE} decimal places.
+     * @return the amount in minor units.
+     * @throws ArithmeticException if the amount has more decimal places or does not fit in a {@code long}.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long add(long firstValue, long secondValue) {
+        return Math.addExact(firstValue, secondValue);
+    }
+
+    public static long subtract(long firstValue, long secondValue) {
+        return Math.subtractExact(firstValue, secondValue);
+    }
+}
@@ -2,42 +2,52 @@ package com.khantech.gaming.tms.validation;
 
 import com.khantech.gaming.tms.model.Transaction;
 import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.util.MoneyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.Set;
 
-import static com.khantech.gaming.tms.util.BigDecimalUtil.greaterThanSecond;
 import static com.khantech.gaming.tms.util.LogMessages.*;
 
 @Component
-public class ThresholdHandler implements TransactionValidationHandler {
-    private static final Logger log = LoggerFactory.getLogger(NegativeAmountHandler.class);
+public class ThresholdHandler implements TransactionValidationRule {
+    private static final Logger log = LoggerFactory.getLogger(ThresholdHandler.class);
+
+    // In minor units, the property is configured as a decimal amount
+    private long approvalThreshold;
 
-    private TransactionValidationHandler nextHandler;
     @Value("${transaction.approval.threshold}")
-    private BigDecimal approvalThreshold;
+    void setApprovalThreshold(BigDecimal approvalThreshold) {
+        this.approvalThreshold = MoneyUtil.toMinorUnits(approvalThreshold);
+    }
+
+    @Override
+    public ValidationCost cost() {
+        return ValidationCost.PURE;
+    }
 
+    /**
+     * The threshold decides between approval and manual review, so it runs after every check that can reject.
+     */
     @Override
-    public void setNext(TransactionValidationHandler nextHandler) {
-        this.nextHandler = nextHandler;
+    public Set<Class<? extends TransactionValidationRule>> dependsOn() {
+        return Set.of(NegativeAmountHandler.class, ZeroAmountHandler.class, InsufficientBalanceHandler.class);
     }
 
     @Override
     public void validate(Transaction transaction) {
-        BigDecimal amount = transaction.getAmount();
-        log.info(START_TRANSACTION_THRESHOLD_CHECK, amount);
-        if (greaterThanSecond(amount, approvalThreshold)) {
-            log.info(TRANSACTION_AMOUNT_EXCEEDS_THRESHOLD, amount, approvalThreshold);
+        long amount = transaction.getAmount();
+        log.debug(START_TRANSACTION_THRESHOLD_CHECK, amount);
+        if (amount > approvalThreshold) {
+            log.debug(TRANSACTION_AMOUNT_EXCEEDS_THRESHOLD, amount, approvalThreshold);
             transaction.setStatus(TransactionStatus.AWAITING_APPROVAL);
         } else {
-            log.info(TRANSACTION_AMOUNT_WITHIN_THRESHOLD, amount, approvalThreshold);
+            log.debug(TRANSACTION_AMOUNT_WITHIN_THRESHOLD, amount, approvalThreshold);
             transaction.setStatus(TransactionStatus.APPROVED);
         }
-        if (nextHandler != null) {
-            nextHandler.validate(transaction);
-        }
     }
 }
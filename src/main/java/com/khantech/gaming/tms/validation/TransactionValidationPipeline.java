@@ -0,0 +1,158 @@
+package com.khantech.gaming.tms.validation;
+
+import com.khantech.gaming.tms.config.InstrumentationSettings;
+import com.khantech.gaming.tms.jfr.ValidationRuleExecutedEvent;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.khantech.gaming.tms.util.LogMessages.VALIDATION_PIPELINE_ORDER;
+import static com.khantech.gaming.tms.util.LogMessages.VALIDATION_RULE_REJECTED;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_RULE;
+import static com.khantech.gaming.tms.util.MetricNames.VALIDATION_RULE_DURATION;
+import static com.khantech.gaming.tms.util.MetricNames.VALIDATION_RULE_REJECTIONS;
+
+/**
+ * Runs every {@link TransactionValidationRule} bean against a transaction. The order is computed once at startup:
+ * rules are sorted topologically by their declared dependencies, and among the rules that are ready to run the one
+ * with the lowest {@link ValidationCost} goes first, ties being broken by name to keep the order stable. Validation
+ * stops at the first rule that rejects the transaction.
+ *
+ * <p>Each rule is timed under {@code tms.validation.rule.duration}, with a percentile histogram, and its rejections
+ * are counted under {@code tms.validation.rule.rejections}, both tagged with the rule name. Timing a rule can be
+ * switched off at runtime in {@link InstrumentationSettings}, under the rule name. Every rule execution is also
+ * emitted as a {@link ValidationRuleExecutedEvent} when a flight recording enables it.
+ */
+@Component
+public class TransactionValidationPipeline implements TransactionValidationHandler {
+    private static final Logger log = LoggerFactory.getLogger(TransactionValidationPipeline.class);
+
+    private final List<Stage> stages;
+    private final InstrumentationSettings instrumentationSettings;
+
+    public TransactionValidationPipeline(List<TransactionValidationRule> rules, MeterRegistry meterRegistry,
+                                         InstrumentationSettings instrumentationSettings) {
+        this.instrumentationSettings = instrumentationSettings;
+        this.stages = order(rules).stream()
+                .map(rule -> new Stage(
+                        rule,
+                        Timer.builder(VALIDATION_RULE_DURATION)
+                                .tag(TAG_RULE, rule.name())
+                                .publishPercentileHistogram()
+                                .register(meterRegistry),
+                        meterRegistry.counter(VALIDATION_RULE_REJECTIONS, TAG_RULE, rule.name())))
+                .toList();
+        log.info(VALIDATION_PIPELINE_ORDER, stages.stream().map(stage -> stage.rule().name()).toList());
+    }
+
+    /**
+     * Validates the transaction with the ordered rules, stopping as soon as one of them rejects it.
+     *
+     * @param transaction The {@link Transaction} to be validated.
+     */
+    @Override
+    public void validate(Transaction transaction) {
+        for (Stage stage : stages) {
+            ValidationRuleExecutedEvent event = new ValidationRuleExecutedEvent();
+            event.begin();
+            if (instrumentationSettings.isEnabled(stage.rule().name())) {
+                long start = System.nanoTime();
+                stage.rule().validate(transaction);
+                stage.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } else {
+                stage.rule().validate(transaction);
+            }
+            boolean rejected = transaction.getStatus() == TransactionStatus.REJECTED;
+            if (event.shouldCommit()) {
+                event.setRule(stage.rule().name());
+                event.setRejected(rejected);
+                event.commit();
+            }
+            if (rejected) {
+                transaction.setRejectionReason(stage.rule().name());
+                log.debug(VALIDATION_RULE_REJECTED, stage.rule().name(), transaction.getMessage());
+                stage.rejections().increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the rule names in the order they are applied.
+     */
+    public List<String> ruleOrder() {
+        return stages.stream().map(stage -> stage.rule().name()).toList();
+    }
+
+    private static List<TransactionValidationRule> order(List<TransactionValidationRule> rules) {
+        Map<Class<?>, TransactionValidationRule> rulesByType = new HashMap<>();
+        for (TransactionValidationRule rule : rules) {
+            rulesByType.put(rule.getClass(), rule);
+        }
+
+        Map<TransactionValidationRule, Integer> unresolvedDependencies = new HashMap<>();
+        Map<TransactionValidationRule, List<TransactionValidationRule>> dependents = new HashMap<>();
+        for (TransactionValidationRule rule : rules) {
+            unresolvedDependencies.put(rule, rule.dependsOn().size());
+            for (Class<? extends TransactionValidationRule> dependency : rule.dependsOn()) {
+                TransactionValidationRule dependencyRule = findRule(rulesByType, dependency);
+                if (dependencyRule == null) {
+                    throw new IllegalStateException(
+                            "Validation rule " + rule.name() + " depends on missing rule " + dependency.getSimpleName());
+                }
+                dependents.computeIfAbsent(dependencyRule, key -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        PriorityQueue<TransactionValidationRule> ready = new PriorityQueue<>(
+                Comparator.comparing(TransactionValidationRule::cost).thenComparing(TransactionValidationRule::name));
+        unresolvedDependencies.forEach((rule, count) -> {
+            if (count == 0) {
+                ready.add(rule);
+            }
+        });
+
+        List<TransactionValidationRule> ordered = new ArrayList<>(rules.size());
+        while (!ready.isEmpty()) {
+            TransactionValidationRule rule = ready.poll();
+            ordered.add(rule);
+            for (TransactionValidationRule dependent : dependents.getOrDefault(rule, List.of())) {
+                if (unresolvedDependencies.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (ordered.size() != rules.size()) {
+            List<String> cyclic = rules.stream().filter(rule -> !ordered.contains(rule))
+                    .map(TransactionValidationRule::name).toList();
+            throw new IllegalStateException("Validation rules have cyclic dependencies: " + cyclic);
+        }
+        return ordered;
+    }
+
+    // Rule beans may be proxies, so a dependency matches any rule assignable to the declared type
+    private static TransactionValidationRule findRule(Map<Class<?>, TransactionValidationRule> rulesByType,
+                                                      Class<? extends TransactionValidationRule> type) {
+        TransactionValidationRule rule = rulesByType.get(type);
+        if (rule != null) {
+            return rule;
+        }
+        return rulesByType.entrySet().stream()
+                .filter(entry -> type.isAssignableFrom(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private record Stage(TransactionValidationRule rule, Timer timer, Counter rejections) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.khantech.gaming.tms.validation;
+
+import com.khantech.gaming.tms.model.Transaction;
+
+import java.util.Set;
+
+/**
+ * A single check applied to a {@link Transaction} before it is saved. A rule that fails sets the transaction status
+ * to {@link com.khantech.gaming.tms.model.TransactionStatus#REJECTED} together with a message, which stops the
+ * {@link TransactionValidationPipeline}. Every rule bean is picked up by the pipeline automatically.
+ */
+public interface TransactionValidationRule {
+    /**
+     * @return the cost class used to order the rule, cheaper rules run first.
+     */
+    ValidationCost cost();
+
+    /**
+     * @return the rules that have to run before this one, regardless of their cost.
+     */
+    default Set<Class<? extends TransactionValidationRule>> dependsOn() {
+        return Set.of();
+    }
+
+    /**
+     * @return the name used in logs and metric tags.
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    void validate(Transaction transaction);
+}
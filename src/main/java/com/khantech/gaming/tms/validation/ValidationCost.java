@@ -0,0 +1,20 @@
+package com.khantech.gaming.tms.validation;
+
+/**
+ * Cost class of a {@link TransactionValidationRule}. The {@link TransactionValidationPipeline} runs cheaper
+ * classes first, so a request that fails a pure check never reaches a rule that reads state or queries the database.
+ */
+public enum ValidationCost {
+    /**
+     * Only looks at the values carried by the transaction itself.
+     */
+    PURE,
+    /**
+     * Reads state that is already loaded, such as the wallet attached to the transaction.
+     */
+    IN_MEMORY,
+    /**
+     * Issues one or more database queries.
+     */
+    DB
+}
@@ -5,6 +5,8 @@ import com.khantech.gaming.tms.util.BusinessException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Locale;
+
 import static com.khantech.gaming.tms.util.LogMessages.WALLET_NAME_EMPTY_ERROR;
 import static com.khantech.gaming.tms.util.LogMessages.WALLET_NAME_INVALID_CHAR_ERROR;
 
@@ -31,4 +33,15 @@ public final class WalletValidationHelper {
             throw new InvalidWalletNameException(BusinessException.InvalidWalletNameFormatException);
         }
     }
+
+    /**
+     * Normalizes a wallet name for the duplicate check. Valid names are ASCII only, so lower-casing matches
+     * {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param walletName The name of the wallet.
+     * @return the lower-cased name, or {@code null} for a {@code null} name.
+     */
+    public static String normalizeWalletName(String walletName) {
+        return walletName == null ? null : walletName.toLowerCase(Locale.ROOT);
+    }
 }
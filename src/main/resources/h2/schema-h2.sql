@@ -1,12 +1,24 @@
+-- Ids are allocated by Hibernate in blocks of 50 (pooled-lo), so the increment must match the allocation size.
+-- Sequences start after the ids used by the seed data.
+-- Money columns hold minor units (cents).
+CREATE SEQUENCE users_seq START WITH 51 INCREMENT BY 50;
+CREATE SEQUENCE wallet_seq START WITH 51 INCREMENT BY 50;
+
 CREATE TABLE users (
-                       id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                       id BIGINT PRIMARY KEY,
                        name VARCHAR(255) NOT NULL
 );
 
 CREATE TABLE wallet (
-                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        id BIGINT PRIMARY KEY,
                         user_id BIGINT,
                         name VARCHAR(255) NOT NULL,
-                        balance DECIMAL(19, 2) NOT NULL,
-                        CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users(id)
+                        normalized_name VARCHAR(255) NOT NULL,
+                        balance_minor BIGINT NOT NULL,
+                        reserved_amount_minor BIGINT NOT NULL DEFAULT 0,
+                        version BIGINT NOT NULL DEFAULT 0,
+                        settlement_claimed_by VARCHAR(36),
+                        settlement_claim_expires_at TIMESTAMP,
+                        CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users(id),
+                        CONSTRAINT ux_wallet_user_normalized_name UNIQUE (user_id, normalized_name)
 );
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.khantech.gaming.benchmark.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Mirror of a transaction row keyed by an IDENTITY column, the id generation used before pooled sequences.
+ */
+@Entity
+@Table(name = "benchmark_identity_row")
+public class IdentityBenchmarkRow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private BigDecimal amount;
+
+    private String status;
+
+    public IdentityBenchmarkRow() {
+    }
+
+    public IdentityBenchmarkRow(BigDecimal amount, String status) {
+        this.amount = amount;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
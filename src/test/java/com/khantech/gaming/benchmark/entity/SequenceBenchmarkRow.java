@@ -0,0 +1,33 @@
+package com.khantech.gaming.benchmark.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Mirror of a transaction row keyed by a pooled sequence, the id generation used by the application entities.
+ */
+@Entity
+@Table(name = "benchmark_sequence_row")
+public class SequenceBenchmarkRow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_sequence_row_seq")
+    @SequenceGenerator(name = "benchmark_sequence_row_seq", sequenceName = "benchmark_sequence_row_seq", allocationSize = 50)
+    private Long id;
+
+    private BigDecimal amount;
+
+    private String status;
+
+    public SequenceBenchmarkRow() {
+    }
+
+    public SequenceBenchmarkRow(BigDecimal amount, String status) {
+        this.amount = amount;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,87 @@
+package com.khantech.gaming.tms.aop;
+
+import com.khantech.gaming.tms.exception.ConcurrentWalletUpdateException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static com.khantech.gaming.tms.util.MetricNames.OPTIMISTIC_LOCK_EXHAUSTED;
+import static com.khantech.gaming.tms.util.MetricNames.OPTIMISTIC_LOCK_RETRIES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OptimisticLockRetryAspectTest {
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetryAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new OptimisticLockRetryAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "backoffMillis", 0L);
+    }
+
+    @Test
+    void retryOnOptimisticLock_whenConflictClears_shouldRetryAndReturnResult() {
+        //given - precondition or setup
+        ConflictingOperation operation = proxy(new ConflictingOperation(2));
+
+        //when - action or the behaviour that we are going to test
+        String result = operation.run();
+
+        //then - verify the output
+        assertEquals("done", result);
+        assertEquals(3, operation.getAttempts());
+        assertEquals(2.0, meterRegistry.get(OPTIMISTIC_LOCK_RETRIES).counter().count());
+    }
+
+    @Test
+    void retryOnOptimisticLock_whenConflictPersists_shouldThrowConcurrentWalletUpdateException() {
+        //given - precondition or setup
+        ConflictingOperation operation = proxy(new ConflictingOperation(Integer.MAX_VALUE));
+
+        //when - action or the behaviour that we are going to test
+        assertThrows(ConcurrentWalletUpdateException.class, operation::run);
+
+        //then - verify the output
+        assertEquals(3, operation.getAttempts());
+        assertEquals(1.0, meterRegistry.get(OPTIMISTIC_LOCK_EXHAUSTED).counter().count());
+    }
+
+    private ConflictingOperation proxy(ConflictingOperation target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    static class ConflictingOperation {
+        private final int conflicts;
+        private int attempts;
+
+        ConflictingOperation() {
+            this(0);
+        }
+
+        ConflictingOperation(int conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @RetryOnOptimisticLock
+        public String run() {
+            attempts++;
+            if (attempts <= conflicts) {
+                throw new OptimisticLockingFailureException("Wallet was updated by another transaction");
+            }
+            return "done";
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.khantech.gaming.tms.aop;
+
+import com.khantech.gaming.tms.config.InstrumentationSettings;
+import com.khantech.gaming.tms.exception.UserNotFoundException;
+import com.khantech.gaming.tms.model.User;
+import com.khantech.gaming.tms.repository.UserRepository;
+import com.khantech.gaming.tms.service.UserService;
+import com.khantech.gaming.tms.service.impl.UserServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static com.khantech.gaming.tms.util.MetricNames.SERVICE_METHOD_DURATION;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_CLASS;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_METHOD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ServiceMetricsAspectTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstrumentationSettings instrumentationSettings;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        instrumentationSettings = new InstrumentationSettings(Set.of(), 0);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new UserServiceImpl(userRepository));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry, instrumentationSettings));
+        userService = factory.getProxy();
+    }
+
+    @Test
+    void time_whenServiceMethodIsCalled_shouldRecordDurationTaggedWithClassAndMethod() {
+        //given - precondition or setup
+        when(userRepository.findById(1L)).thenReturn(Optional.of(new User()));
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        //when - action or the behaviour that we are going to test
+        userService.fetchUserById(1L);
+        assertThrows(UserNotFoundException.class, () -> userService.fetchUserById(2L));
+
+        //then - verify the output
+        assertEquals(2L, meterRegistry.get(SERVICE_METHOD_DURATION)
+                .tag(TAG_CLASS, "UserServiceImpl")
+                .tag(TAG_METHOD, "fetchUserById")
+                .timer().count());
+    }
+
+    @Test
+    void time_whenServiceIsDisabled_shouldNotRecordDuration() {
+        //given - precondition or setup
+        when(userRepository.findById(1L)).thenReturn(Optional.of(new User()));
+        instrumentationSettings.setEnabled("UserServiceImpl", false);
+
+        //when - action or the behaviour that we are going to test
+        userService.fetchUserById(1L);
+
+        //then - verify the output
+        assertEquals(0L, meterRegistry.get(SERVICE_METHOD_DURATION).tag(TAG_CLASS, "UserServiceImpl").timer().count());
+    }
+}
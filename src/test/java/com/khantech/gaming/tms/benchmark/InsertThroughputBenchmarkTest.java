@@ -0,0 +1,107 @@
+package com.khantech.gaming.tms.benchmark;
+
+import com.khantech.gaming.benchmark.entity.IdentityBenchmarkRow;
+import com.khantech.gaming.benchmark.entity.SequenceBenchmarkRow;
+import com.khantech.gaming.tms.TransactionManagementSystemApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares insert throughput of IDENTITY keyed rows against pooled sequence keyed rows on the H2 profile.
+ * IDENTITY forces Hibernate to execute every INSERT on persist to read the generated key, so the JDBC batch
+ * size has no effect, while sequence ids are known up front and the inserts are sent in batches on flush.
+ *
+ * <p>The row entities live outside the application package so only this test's context maps their tables.
+ * Excluded from the regular test run, run it with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class InsertThroughputBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(InsertThroughputBenchmarkTest.class);
+
+    private static final int ROWS = 20_000;
+    private static final int ROWS_PER_TRANSACTION = 500;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @TestConfiguration
+    @EntityScan(basePackageClasses = {TransactionManagementSystemApplication.class, IdentityBenchmarkRow.class})
+    static class BenchmarkEntityScanConfig {
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void insertThroughput_identityVersusPooledSequence() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            insert(ROWS_PER_TRANSACTION, i -> new IdentityBenchmarkRow(BigDecimal.valueOf(i), "PENDING"));
+            insert(ROWS_PER_TRANSACTION, i -> new SequenceBenchmarkRow(BigDecimal.valueOf(i), "PENDING"));
+        }
+
+        statistics.clear();
+        long identityNanos = insert(ROWS, i -> new IdentityBenchmarkRow(BigDecimal.valueOf(i), "PENDING"));
+        long identityStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        long sequenceNanos = insert(ROWS, i -> new SequenceBenchmarkRow(BigDecimal.valueOf(i), "PENDING"));
+        long sequenceStatements = statistics.getPrepareStatementCount();
+
+        log.info("IDENTITY: {} rows in {} ms ({} rows/s, {} statements)",
+                ROWS, identityNanos / 1_000_000, rowsPerSecond(identityNanos), identityStatements);
+        log.info("SEQUENCE pooled-lo: {} rows in {} ms ({} rows/s, {} statements)",
+                ROWS, sequenceNanos / 1_000_000, rowsPerSecond(sequenceNanos), sequenceStatements);
+
+        assertTrue(sequenceStatements < identityStatements,
+                "Sequence ids should let Hibernate batch the inserts into fewer statements");
+    }
+
+    private long insert(int rows, IntFunction<Object> rowFactory) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += ROWS_PER_TRANSACTION) {
+            int from = offset;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < Math.min(from + ROWS_PER_TRANSACTION, rows); i++) {
+                    entityManager.persist(rowFactory.apply(i));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(nanos, 1);
+    }
+}
@@ -0,0 +1,168 @@
+package com.khantech.gaming.tms.cache;
+
+import com.khantech.gaming.tms.dto.WalletResponseDto;
+import com.khantech.gaming.tms.event.WalletChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class WalletCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private WalletCache walletCache;
+    private AtomicInteger loads;
+    private Function<Long, List<WalletResponseDto>> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        walletCache = new WalletCache(100, Duration.ofMinutes(1), meterRegistry);
+        loads = new AtomicInteger();
+        loader = userId -> {
+            loads.incrementAndGet();
+            return List.of(wallet(10L, userId), wallet(11L, userId));
+        };
+    }
+
+    @Test
+    void getWallets_whenCached_shouldNotLoadAgain() {
+        //when - action or the behaviour that we are going to test
+        walletCache.getWallets(1L, loader);
+        List<WalletResponseDto> wallets = walletCache.getWallets(1L, loader);
+
+        //then - verify the output
+        assertEquals(2, wallets.size());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "wallets").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void onWalletChanged_whenOnlyWalletIdIsKnown_shouldEvictListOfOwner() {
+        //given - precondition or setup
+        walletCache.getWallets(1L, loader);
+        walletCache.getWallets(2L, userId -> List.of(wallet(20L, userId)));
+
+        //when - action or the behaviour that we are going to test
+        walletCache.onWalletChanged(new WalletChangedEvent(null, 11L));
+        walletCache.getWallets(1L, loader);
+        walletCache.getWallets(2L, loader);
+
+        //then - verify the output
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onWalletChanged_whenListWasReloadedAfterExpiry_shouldStillEvictListOfOwner() {
+        //given - precondition or setup
+        AtomicLong nanos = new AtomicLong();
+        // Maintenance is left to the cache operations, so the expired list is still present when the new one replaces it
+        walletCache = new WalletCache(100, Duration.ofMinutes(1), meterRegistry, nanos::get, task -> {
+        });
+        walletCache.getWallets(1L, loader);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        walletCache.getWallets(1L, loader);
+
+        //when - action or the behaviour that we are going to test
+        walletCache.onWalletChanged(new WalletChangedEvent(null, 11L));
+        walletCache.getWallets(1L, loader);
+
+        //then - verify the output
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void onWalletChanged_whenUserIdIsKnown_shouldEvictListOfUser() {
+        //given - precondition or setup
+        walletCache.getWallets(1L, loader);
+
+        //when - action or the behaviour that we are going to test
+        walletCache.onWalletChanged(new WalletChangedEvent(1L, 12L));
+        walletCache.getWallets(1L, loader);
+
+        //then - verify the output
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onWalletChanged_whenFiredWhileListIsLoading_shouldNotCacheTheLoadedList() throws Exception {
+        //given - precondition or setup
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, List<WalletResponseDto>> blockingLoader = userId -> {
+            List<WalletResponseDto> wallets = loader.apply(userId);
+            loading.countDown();
+            await(release);
+            return wallets;
+        };
+
+        //when - action or the behaviour that we are going to test
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<List<WalletResponseDto>> poll = executor.submit(() -> walletCache.getWallets(1L, blockingLoader));
+            loading.await();
+            walletCache.onWalletChanged(new WalletChangedEvent(1L, 10L));
+            release.countDown();
+            assertEquals(2, poll.get().size());
+        }
+        walletCache.getWallets(1L, loader);
+
+        //then - verify the output
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onWalletChanged_whenOnlyWalletIdIsKnownWhileListIsLoading_shouldNotCacheTheLoadedList() throws Exception {
+        //given - precondition or setup
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, List<WalletResponseDto>> blockingLoader = userId -> {
+            List<WalletResponseDto> wallets = loader.apply(userId);
+            loading.countDown();
+            await(release);
+            return wallets;
+        };
+
+        //when - action or the behaviour that we are going to test
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<List<WalletResponseDto>> poll = executor.submit(() -> walletCache.getWallets(1L, blockingLoader));
+            loading.await();
+            walletCache.onWalletChanged(new WalletChangedEvent(null, 11L));
+            release.countDown();
+            poll.get();
+        }
+        walletCache.getWallets(1L, loader);
+        walletCache.getWallets(1L, loader);
+
+        //then - verify the output
+        assertEquals(2, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static WalletResponseDto wallet(Long id, Long userId) {
+        WalletResponseDto wallet = new WalletResponseDto();
+        wallet.setId(id);
+        wallet.setUserId(userId);
+        wallet.setName("Wallet " + id);
+        wallet.setBalance(BigDecimal.TEN);
+        return wallet;
+    }
+}
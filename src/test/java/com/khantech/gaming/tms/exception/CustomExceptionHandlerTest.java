@@ -0,0 +1,44 @@
+package com.khantech.gaming.tms.exception;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.SQLTransientConnectionException;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class CustomExceptionHandlerTest {
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+                .setControllerAdvice(new CustomExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void handle_whenNoDatabaseConnectionIsAvailable_shouldReturnServiceBusy() throws Exception {
+        mockMvc.perform(get("/pool-exhausted"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.info.success").value(false))
+                .andExpect(jsonPath("$.info.errors[0].code").value("SERVICE_BUSY"))
+                .andExpect(jsonPath("$.info.errors[0].reason").value("No database connection became available in time."));
+    }
+
+    @RestController
+    static class FailingController {
+        @GetMapping("/pool-exhausted")
+        public String poolExhausted() {
+            throw new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                    new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 5000ms."));
+        }
+    }
+}
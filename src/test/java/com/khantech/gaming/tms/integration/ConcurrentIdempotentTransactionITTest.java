@@ -0,0 +1,114 @@
+package com.khantech.gaming.tms.integration;
+
+import com.khantech.gaming.tms.config.WalletConcurrencyPolicy;
+import com.khantech.gaming.tms.dto.TransactionRequestDto;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.model.WalletConcurrencyMode;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_CREATION_SERVICE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sends the same idempotent request from several threads at once in the modes that do not lock the wallet, so the
+ * requests race past the idempotency key lookup and only the unique index keeps the transaction from being applied
+ * twice.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ConcurrentIdempotentTransactionITTest {
+    private static final int REQUESTS = 4;
+    private static final String IDEMPOTENCY_KEY = "concurrent-retry";
+
+    @Autowired
+    @Qualifier(TRANSACTION_CREATION_SERVICE)
+    private TransactionOperation<TransactionRequestDto, Transaction> transactionCreationService;
+
+    @Autowired
+    private WalletConcurrencyPolicy walletConcurrencyPolicy;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        wallet = new Wallet();
+        wallet.setBalance(100_000L);
+        wallet.setName("Test Wallet");
+        wallet = walletRepository.save(wallet);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ReflectionTestUtils.setField(walletConcurrencyPolicy, "concurrencyMode", WalletConcurrencyMode.PESSIMISTIC);
+        transactionRepository.deleteAll();
+        walletRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = WalletConcurrencyMode.class, names = {"OPTIMISTIC", "CONDITIONAL_UPDATE"})
+    void execute_whenSameIdempotencyKeyIsSentConcurrently_shouldApplyTheTransactionOnce(WalletConcurrencyMode mode)
+            throws Exception {
+        //given - precondition or setup
+        ReflectionTestUtils.setField(walletConcurrencyPolicy, "concurrencyMode", mode);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Transaction>> results = new ArrayList<>();
+
+        //when - action or the behaviour that we are going to test
+        try (ExecutorService executor = Executors.newFixedThreadPool(REQUESTS)) {
+            for (int i = 0; i < REQUESTS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return transactionCreationService.execute(request());
+                }));
+            }
+            start.countDown();
+        }
+
+        //then - verify the output
+        Transaction stored = transactionRepository.findByIdempotencyKey(IDEMPOTENCY_KEY).orElseThrow();
+        for (Future<Transaction> result : results) {
+            assertEquals(stored.getId(), result.get().getId());
+        }
+        assertEquals(1, transactionRepository.count());
+        Wallet updatedWallet = walletRepository.findById(wallet.getId()).orElseThrow();
+        assertEquals(90_000L, updatedWallet.getBalance());
+        assertEquals(0L, updatedWallet.getReservedAmount());
+    }
+
+    private TransactionRequestDto request() {
+        TransactionRequestDto request = new TransactionRequestDto();
+        request.setWalletId(wallet.getId());
+        request.setAmount(BigDecimal.valueOf(100));
+        request.setTransactionType(TransactionType.DEBIT);
+        request.setIdempotencyKey(IDEMPOTENCY_KEY);
+        return request;
+    }
+}
@@ -0,0 +1,210 @@
+package com.khantech.gaming.tms.integration;
+
+import com.khantech.gaming.tms.dto.SettlementReportDto;
+import com.khantech.gaming.tms.dto.SettlementRequestDto;
+import com.khantech.gaming.tms.model.SettlementRun;
+import com.khantech.gaming.tms.model.SettlementRunCheckpoint;
+import com.khantech.gaming.tms.model.SettlementRunStatus;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.SettlementRunRepository;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_BATCH_PROCESSOR;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs several settlements at the same time against H2, each standing in for one application instance.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "transaction.settlement.chunk-size=7")
+public class ConcurrentSettlementITTest {
+    private static final int WALLETS = 12;
+    private static final int TRANSACTIONS_PER_WALLET = 10;
+    private static final int INSTANCES = 4;
+
+    @Autowired
+    @Qualifier(TRANSACTION_BATCH_PROCESSOR)
+    private TransactionOperation<SettlementRequestDto, SettlementReportDto> transactionBatchProcessor;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SettlementRunRepository settlementRunRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Long> expectedBalances = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int w = 0; w < WALLETS; w++) {
+                Wallet wallet = new Wallet();
+                wallet.setName("Wallet " + w);
+                wallet.setBalance(1_000_000L);
+                long reserved = 0L;
+                long expected = wallet.getBalance();
+                List<Transaction> transactions = new ArrayList<>();
+                for (int t = 0; t < TRANSACTIONS_PER_WALLET; t++) {
+                    long amount = 1_000L * (t + 1);
+                    TransactionType type = t % 3 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT;
+                    if (type == TransactionType.DEBIT) {
+                        reserved += amount;
+                        expected -= amount;
+                    } else {
+                        expected += amount;
+                    }
+                    Transaction transaction = new Transaction();
+                    transaction.setAmount(amount);
+                    transaction.setTransactionType(type);
+                    transaction.setStatus(TransactionStatus.PENDING);
+                    transactions.add(transaction);
+                }
+                wallet.setReservedAmount(reserved);
+                Wallet savedWallet = walletRepository.save(wallet);
+                transactions.forEach(transaction -> transaction.setWallet(savedWallet));
+                transactionRepository.saveAll(transactions);
+                expectedBalances.put(savedWallet.getId(), expected);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        settlementRunRepository.deleteAll();
+        transactionRepository.deleteAll();
+        walletRepository.deleteAll();
+    }
+
+    @Test
+    void execute_whenSeveralInstancesSettleAtTheSameTime_shouldSettleEveryTransactionExactlyOnceInOneRun() throws Exception {
+        //given - precondition or setup
+        // The first wallet stays locked so the run that wins is still settling while the other instances start
+        Long firstWalletId = Collections.min(expectedBalances.keySet());
+        CountDownLatch walletLocked = new CountDownLatch(1);
+        CountDownLatch releaseWallet = new CountDownLatch(1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<SettlementReportDto> reports = new ArrayList<>();
+        List<SettlementRun> runsWhileSettling;
+
+        //when - action or the behaviour that we are going to test
+        try (ExecutorService executor = Executors.newFixedThreadPool(INSTANCES + 1)) {
+            Future<?> lock = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                walletRepository.claimForSettlement(List.of(firstWalletId), "test-lock", now, now);
+                walletLocked.countDown();
+                try {
+                    releaseWallet.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                status.setRollbackOnly();
+            }));
+            CompletionService<SettlementReportDto> instances = new ExecutorCompletionService<>(executor);
+            for (int i = 0; i < INSTANCES; i++) {
+                instances.submit(() -> {
+                    start.await();
+                    return transactionBatchProcessor.execute(null);
+                });
+            }
+            walletLocked.await();
+            start.countDown();
+            for (int i = 0; i < INSTANCES - 1; i++) {
+                reports.add(nextReport(instances));
+            }
+            runsWhileSettling = settlementRunRepository.findAll();
+            releaseWallet.countDown();
+            reports.add(nextReport(instances));
+            lock.get();
+        }
+
+        //then - verify the output
+        assertEquals(1, runsWhileSettling.size());
+        assertEquals(SettlementRunStatus.RUNNING, runsWhileSettling.get(0).getStatus());
+        assertEquals(WALLETS * TRANSACTIONS_PER_WALLET, reports.stream().mapToInt(SettlementReportDto::transactions).sum());
+        assertEquals(INSTANCES - 1, reports.stream().filter(report -> report.workers().isEmpty()).count());
+        assertEquals(0, transactionRepository.countByStatus(TransactionStatus.PENDING));
+        for (Wallet wallet : walletRepository.findAll()) {
+            assertEquals(expectedBalances.get(wallet.getId()), wallet.getBalance());
+            assertEquals(0L, wallet.getReservedAmount());
+            assertNull(wallet.getSettlementClaimedBy());
+        }
+        List<SettlementRun> runs = settlementRunRepository.findByOrderByIdDesc(Limit.of(INSTANCES));
+        assertEquals(1, runs.size());
+        SettlementRun run = runs.get(0);
+        assertEquals(SettlementRunStatus.COMPLETED, run.getStatus());
+        assertEquals(WALLETS * TRANSACTIONS_PER_WALLET,
+                run.getCheckpoints().stream().mapToLong(SettlementRunCheckpoint::getTransactions).sum());
+        assertEquals(WALLETS, run.getCheckpoints().stream().mapToLong(SettlementRunCheckpoint::getWallets).sum());
+        for (SettlementRunCheckpoint checkpoint : run.getCheckpoints()) {
+            assertFalse(checkpoint.getUpdatedAt().isAfter(run.getFinishedAt()));
+        }
+    }
+
+    @Test
+    void execute_whenWalletClaimsAreHeldOrExpired_shouldSkipHeldAndTakeOverExpiredClaims() {
+        //given - precondition or setup
+        List<Long> walletIds = new ArrayList<>(expectedBalances.keySet());
+        Long heldWalletId = walletIds.get(0);
+        Long expiredWalletId = walletIds.get(1);
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            walletRepository.claimForSettlement(List.of(heldWalletId), "other-instance", now, now.plusMinutes(5));
+            walletRepository.claimForSettlement(List.of(expiredWalletId), "crashed-instance", now, now.minusMinutes(1));
+        });
+
+        //when - action or the behaviour that we are going to test
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
+
+        //then - verify the output
+        assertEquals((WALLETS - 1) * TRANSACTIONS_PER_WALLET, report.transactions());
+        Wallet heldWallet = walletRepository.findById(heldWalletId).orElseThrow();
+        assertEquals("other-instance", heldWallet.getSettlementClaimedBy());
+        assertEquals(1_000_000L, heldWallet.getBalance());
+        Wallet expiredWallet = walletRepository.findById(expiredWalletId).orElseThrow();
+        assertNull(expiredWallet.getSettlementClaimedBy());
+        assertEquals(0, expectedBalances.get(expiredWalletId).compareTo(expiredWallet.getBalance()));
+    }
+
+    private static SettlementReportDto nextReport(CompletionService<SettlementReportDto> instances) throws Exception {
+        Future<SettlementReportDto> report = instances.poll(10, TimeUnit.SECONDS);
+        assertNotNull(report);
+        return report.get();
+    }
+}
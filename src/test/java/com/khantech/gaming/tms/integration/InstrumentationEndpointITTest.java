@@ -0,0 +1,72 @@
+package com.khantech.gaming.tms.integration;
+
+import com.khantech.gaming.tms.config.InstrumentationSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class InstrumentationEndpointITTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InstrumentationSettings instrumentationSettings;
+
+    @AfterEach
+    void cleanUp() {
+        instrumentationSettings.setEnabled("InsufficientBalanceHandler", true);
+        instrumentationSettings.setTraceSampleRate(0.01);
+    }
+
+    @Test
+    void configure_whenComponentAndSampleRateAreChanged_shouldApplyThemAtRuntime() throws Exception {
+        //when - action or the behaviour that we are going to test
+        mockMvc.perform(post("/actuator/instrumentation/InsufficientBalanceHandler")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\": false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.disabledComponents[0]").value("InsufficientBalanceHandler"));
+        mockMvc.perform(post("/actuator/instrumentation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"traceSampleRate\": 0.5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.traceSampleRate").value(0.5));
+
+        //then - verify the output
+        assertFalse(instrumentationSettings.isEnabled("InsufficientBalanceHandler"));
+        assertEquals(0.5, instrumentationSettings.getTraceSampleRate());
+    }
+
+    @Test
+    void prometheus_whenScraped_shouldExposeTransactionAndSettlementMetrics() throws Exception {
+        //when - action or the behaviour that we are going to test
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //then - verify the output
+        assertTrue(body.contains("tms_transactions_submitted_total"));
+        assertTrue(body.contains("tms_wallet_lock_wait_seconds"));
+        assertTrue(body.contains("tms_settlement_backlog_awaiting_approval"));
+        assertTrue(body.contains("tms_settlement_pending_scan_seconds_bucket"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.khantech.gaming.tms.integration;
+
+import com.khantech.gaming.tms.model.SettlementRun;
+import com.khantech.gaming.tms.model.SettlementRunStatus;
+import com.khantech.gaming.tms.repository.SettlementRunRepository;
+import com.khantech.gaming.tms.service.SettlementRunService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SettlementRunControllerITTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SettlementRunService settlementRunService;
+
+    @Autowired
+    private SettlementRunRepository settlementRunRepository;
+
+    @BeforeEach
+    void setUp() {
+        settlementRunRepository.deleteAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        settlementRunRepository.deleteAll();
+    }
+
+    @Test
+    void getSettlementRun_whenRunIsInProgress_shouldReturnItsCheckpointsAndProgress() throws Exception {
+        //given - precondition or setup
+        SettlementRun run = settlementRunService.startOrResume(2).orElseThrow();
+        settlementRunService.checkpoint(run.getOwner(), run.getCheckpoints().get(0).getId(), 10L, 100L, 3, 7, 0);
+        settlementRunService.checkpoint(run.getOwner(), run.getCheckpoints().get(1).getId(), 11L, 101L, 2, 5, 1);
+
+        //then - verify the output
+        mockMvc.perform(get("/api/v1/admin/settlement-runs/{runId}", run.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.status").value(SettlementRunStatus.RUNNING.name()))
+                .andExpect(jsonPath("$.item.workers").value(2))
+                .andExpect(jsonPath("$.item.wallets").value(5))
+                .andExpect(jsonPath("$.item.transactions").value(12))
+                .andExpect(jsonPath("$.item.failedChunks").value(1))
+                .andExpect(jsonPath("$.item.checkpoints", hasSize(2)))
+                .andExpect(jsonPath("$.item.checkpoints[1].lastWalletId").value(11));
+    }
+
+    @Test
+    void getSettlementRuns_whenRunsExist_shouldReturnNewestFirst() throws Exception {
+        //given - precondition or setup
+        SettlementRun firstRun = settlementRunService.startOrResume(1).orElseThrow();
+        settlementRunService.finish(firstRun.getId(), firstRun.getOwner(), SettlementRunStatus.COMPLETED, null);
+        SettlementRun secondRun = settlementRunService.startOrResume(1).orElseThrow();
+
+        //then - verify the output
+        mockMvc.perform(get("/api/v1/admin/settlement-runs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id").value(secondRun.getId()))
+                .andExpect(jsonPath("$.items[1].status").value(SettlementRunStatus.COMPLETED.name()));
+    }
+
+    @Test
+    void triggerSettlementRun_whenRunIsHeldByAnotherSettlement_shouldReturnConflict() throws Exception {
+        //given - precondition or setup
+        SettlementRun heldRun = settlementRunService.startOrResume(1).orElseThrow();
+
+        //then - verify the output
+        mockMvc.perform(post("/api/v1/admin/settlement-runs"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.info.errors[0].code").value("SETTLEMENT_RUN_IN_PROGRESS"));
+        assertEquals(SettlementRunStatus.RUNNING, settlementRunService.findRun(heldRun.getId()).getStatus());
+    }
+
+    @Test
+    void getSettlementRun_whenRunDoesNotExist_shouldReturnNotFound() throws Exception {
+        //then - verify the output
+        mockMvc.perform(get("/api/v1/admin/settlement-runs/{runId}", 999_999L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.info.errors[0].code").value("SETTLEMENT_RUN_NOT_FOUND"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.khantech.gaming.tms.integration;
+
+import com.khantech.gaming.tms.dto.ArchivalReportDto;
+import com.khantech.gaming.tms.model.ArchivedTransaction;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.ArchivedTransactionRepository;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_ARCHIVAL_PROCESSOR;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class TransactionArchivalITTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    @Qualifier(TRANSACTION_ARCHIVAL_PROCESSOR)
+    private TransactionOperation<LocalDateTime, ArchivalReportDto> transactionArchivalProcessor;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Wallet wallet;
+    private final List<Long> transactionIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        archivedTransactionRepository.deleteAll();
+        walletRepository.deleteAll();
+
+        wallet = new Wallet();
+        wallet.setName("Archival Wallet");
+        wallet.setBalance(100_000L);
+        wallet = walletRepository.save(wallet);
+
+        // Oldest first: approved, rejected and pending 60 days ago, then approved and pending today
+        saveTransaction(TransactionStatus.APPROVED, LocalDateTime.now().minusDays(60).minusMinutes(2));
+        saveTransaction(TransactionStatus.REJECTED, LocalDateTime.now().minusDays(60).minusMinutes(1));
+        saveTransaction(TransactionStatus.PENDING, LocalDateTime.now().minusDays(60));
+        saveTransaction(TransactionStatus.APPROVED, null);
+        saveTransaction(TransactionStatus.PENDING, null);
+        entityManager.clear();
+    }
+
+    @Test
+    void execute_whenSettledTransactionsAreOlderThanCutoff_shouldMoveOnlyThemToHistory() {
+        //when - action or the behaviour that we are going to test
+        ArchivalReportDto report = transactionArchivalProcessor.execute(LocalDateTime.now().minusDays(30));
+
+        //then - verify the output
+        assertEquals(2, report.transactions());
+        assertEquals(0, report.failedChunks());
+        assertEquals(List.of(transactionIds.get(0), transactionIds.get(1)),
+                archivedTransactionRepository.findAll().stream().map(ArchivedTransaction::getId).sorted().toList());
+        assertEquals(List.of(transactionIds.get(2), transactionIds.get(3), transactionIds.get(4)),
+                transactionRepository.findAll().stream().map(Transaction::getId).sorted().toList());
+        ArchivedTransaction archived = archivedTransactionRepository.findById(transactionIds.get(1)).orElseThrow();
+        assertEquals(TransactionStatus.REJECTED, archived.getStatus());
+        assertEquals(wallet.getId(), archived.getWalletId());
+        assertTrue(archived.getArchivedAt().isAfter(archived.getCreatedAt()));
+    }
+
+    @Test
+    void getTransactionHistory_whenTransactionsAreArchived_shouldReadThroughHistoryTable() throws Exception {
+        //given - precondition or setup
+        transactionArchivalProcessor.execute(LocalDateTime.now().minusDays(30));
+        entityManager.clear();
+
+        //then - verify the output
+        mockMvc.perform(get("/api/v1/wallets/{walletId}/transactions", wallet.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(5)))
+                .andExpect(jsonPath("$.items[0].id").value(transactionIds.get(4)))
+                .andExpect(jsonPath("$.items[1].id").value(transactionIds.get(3)))
+                .andExpect(jsonPath("$.items[2].id").value(transactionIds.get(2)))
+                .andExpect(jsonPath("$.items[3].id").value(transactionIds.get(1)))
+                .andExpect(jsonPath("$.items[3].walletId").value(wallet.getId()))
+                .andExpect(jsonPath("$.items[4].id").value(transactionIds.get(0)));
+        mockMvc.perform(get("/api/v1/wallets/{walletId}/transactions", wallet.getId())
+                        .param("status", "APPROVED")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(transactionIds.get(3)))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    private void saveTransaction(TransactionStatus status, LocalDateTime createdAt) {
+        Transaction transaction = new Transaction();
+        transaction.setWallet(wallet);
+        transaction.setAmount(1_000L);
+        transaction.setStatus(status);
+        transaction.setTransactionType(TransactionType.CREDIT);
+        Long id = transactionRepository.saveAndFlush(transaction).getId();
+        if (createdAt != null) {
+            // The creation time is not updatable through the entity
+            entityManager.createQuery("UPDATE Transaction t SET t.createdAt = :createdAt WHERE t.id = :id")
+                    .setParameter("createdAt", createdAt)
+                    .setParameter("id", id)
+                    .executeUpdate();
+        }
+        transactionIds.add(id);
+    }
+}
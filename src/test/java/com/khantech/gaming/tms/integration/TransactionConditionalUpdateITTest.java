@@ -0,0 +1,95 @@
+package com.khantech.gaming.tms.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khantech.gaming.tms.dto.TransactionRequestDto;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@TestPropertySource(properties = "wallet.concurrency.mode=CONDITIONAL_UPDATE")
+public class TransactionConditionalUpdateITTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Wallet wallet;
+    private TransactionRequestDto transactionRequestDto;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        walletRepository.deleteAll();
+
+        wallet = new Wallet();
+        wallet.setBalance(100_000L);
+        wallet.setReservedAmount(30_000L);
+        wallet.setName("Test Wallet");
+        wallet = walletRepository.saveAndFlush(wallet);
+
+        transactionRequestDto = new TransactionRequestDto();
+        transactionRequestDto.setWalletId(wallet.getId());
+        transactionRequestDto.setTransactionType(TransactionType.DEBIT);
+    }
+
+    @Test
+    void createTransaction_whenEffectiveBalanceCoversDebit_shouldDebitWallet() throws Exception {
+        transactionRequestDto.setAmount(BigDecimal.valueOf(700));
+
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionRequestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.status").value("APPROVED"));
+
+        entityManager.clear();
+        assertEquals(30_000L, walletRepository.findById(wallet.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void createTransaction_whenEffectiveBalanceIsInsufficient_shouldRejectTransaction() throws Exception {
+        transactionRequestDto.setAmount(BigDecimal.valueOf(800));
+
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionRequestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.status").value("REJECTED"));
+
+        entityManager.clear();
+        assertEquals(100_000L, walletRepository.findById(wallet.getId()).orElseThrow().getBalance());
+    }
+}
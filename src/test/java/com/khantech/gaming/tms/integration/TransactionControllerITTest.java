@@ -1,6 +1,8 @@
 package com.khantech.gaming.tms.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.khantech.gaming.tms.dto.TransactionBatchRequestDto;
 import com.khantech.gaming.tms.dto.TransactionRequestDto;
 import com.khantech.gaming.tms.model.Transaction;
 import com.khantech.gaming.tms.model.TransactionStatus;
@@ -16,10 +18,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
 
+import static com.khantech.gaming.tms.util.Constants.IDEMPOTENCY_KEY_HEADER;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -51,13 +60,13 @@ public class TransactionControllerITTest {
         transactionRepository.deleteAll();
 
         wallet = new Wallet();
-        wallet.setBalance(BigDecimal.valueOf(1000));
+        wallet.setBalance(100_000L);
         wallet.setName("Test Wallet");
         wallet = walletRepository.save(wallet);
 
         transaction = new Transaction();
         transaction.setWallet(wallet);
-        transaction.setAmount(BigDecimal.valueOf(100));
+        transaction.setAmount(10_000L);
         transaction.setTransactionType(TransactionType.DEBIT);
         transaction.setStatus(TransactionStatus.AWAITING_APPROVAL);
         transaction = transactionRepository.save(transaction);
@@ -79,6 +88,50 @@ public class TransactionControllerITTest {
                 .andExpect(jsonPath("$.item.message").value((Object) null));
     }
 
+    @Test
+    void createTransaction_whenIdempotencyKeyIsRepeated_shouldCreateTransactionOnce() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        MvcResult firstResult = mockMvc.perform(post("/api/v1/transactions")
+                        .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionRequestDto)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Number transactionId = JsonPath.read(firstResult.getResponse().getContentAsString(), "$.item.id");
+
+        mockMvc.perform(post("/api/v1/transactions")
+                        .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionRequestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.id").value(transactionId.longValue()))
+                .andExpect(jsonPath("$.item.status").value("APPROVED"));
+
+        assertTrue(transactionRepository.findByIdempotencyKey(idempotencyKey).isPresent());
+        assertEquals(90_000L, walletRepository.findById(wallet.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void createTransaction_whenIdempotencyKeyIsReusedForDifferentAmount_shouldReturnConflict() throws Exception {
+        String idempotencyKey = UUID.randomUUID().toString();
+        mockMvc.perform(post("/api/v1/transactions")
+                        .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionRequestDto)))
+                .andExpect(status().isOk());
+
+        transactionRequestDto.setAmount(BigDecimal.valueOf(200));
+        mockMvc.perform(post("/api/v1/transactions")
+                        .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionRequestDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.info.errors[0].code").value("IDEMPOTENCY_KEY_CONFLICT"));
+
+        assertEquals(90_000L, walletRepository.findById(wallet.getId()).orElseThrow().getBalance());
+    }
+
     @Test
     void approveTransaction_whenValidRequest_shouldApproveTransaction() throws Exception {
         mockMvc.perform(post("/api/v1/transactions/" + transaction.getId() + "/approve")
@@ -99,10 +152,50 @@ public class TransactionControllerITTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createTransaction_whenAmountHasFractionsOfACent_shouldReturnBadRequest() throws Exception {
+        transactionRequestDto.setAmount(new BigDecimal("10.005"));
+
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionRequestDto)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void approveTransaction_whenInvalidTransactionId_shouldReturnNotFound() throws Exception {
         mockMvc.perform(post("/api/v1/transactions/99/approve")  // Non-existent ID
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void createTransactions_whenValidBatch_shouldReturnResultPerItem() throws Exception {
+        TransactionRequestDto overdraft = new TransactionRequestDto();
+        overdraft.setWalletId(wallet.getId());
+        overdraft.setAmount(BigDecimal.valueOf(5000));
+        overdraft.setTransactionType(TransactionType.DEBIT);
+
+        TransactionBatchRequestDto batchRequestDto = new TransactionBatchRequestDto();
+        batchRequestDto.setTransactions(List.of(transactionRequestDto, overdraft));
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"));
+    }
+
+    @Test
+    void createTransactions_whenBatchIsEmpty_shouldReturnBadRequest() throws Exception {
+        TransactionBatchRequestDto batchRequestDto = new TransactionBatchRequestDto();
+        batchRequestDto.setTransactions(List.of());
+
+        mockMvc.perform(post("/api/v1/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequestDto)))
+                .andExpect(status().isBadRequest());
+    }
 }
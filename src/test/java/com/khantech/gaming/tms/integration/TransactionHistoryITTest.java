@@ -0,0 +1,143 @@
+package com.khantech.gaming.tms.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class TransactionHistoryITTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Wallet wallet;
+    private final List<Long> transactionIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        walletRepository.deleteAll();
+
+        wallet = new Wallet();
+        wallet.setName("History Wallet");
+        wallet.setBalance(100_000L);
+        wallet = walletRepository.save(wallet);
+
+        for (int i = 0; i < 5; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setWallet(wallet);
+            transaction.setAmount(1_000L * (i + 1));
+            transaction.setStatus(i % 2 == 0 ? TransactionStatus.APPROVED : TransactionStatus.PENDING);
+            transaction.setTransactionType(i < 3 ? TransactionType.CREDIT : TransactionType.DEBIT);
+            transactionIds.add(transactionRepository.save(transaction).getId());
+        }
+        transactionRepository.flush();
+    }
+
+    @Test
+    void getTransactionHistory_whenPagedWithCursor_shouldReturnEveryTransactionOnceNewestFirst() throws Exception {
+        //when - action or the behaviour that we are going to test
+        List<Long> readIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = getPage("?limit=2" + (cursor == null ? "" : "&cursor=" + cursor));
+            page.get("items").forEach(item -> readIds.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        //then - verify the output
+        assertEquals(3, pages);
+        assertEquals(transactionIds.reversed(), readIds);
+    }
+
+    @Test
+    void getTransactionHistory_whenFilteredByStatusAndType_shouldReturnMatchingTransactions() throws Exception {
+        //then - verify the output
+        mockMvc.perform(get("/api/v1/wallets/{walletId}/transactions", wallet.getId())
+                        .param("status", "APPROVED")
+                        .param("type", "CREDIT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id").value(transactionIds.get(2)))
+                .andExpect(jsonPath("$.items[0].transactionType").value("CREDIT"))
+                .andExpect(jsonPath("$.items[1].id").value(transactionIds.get(0)))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    void getTransactionHistory_whenCursorIsInvalid_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/wallets/{walletId}/transactions", wallet.getId()).param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTransactionHistory_whenWalletDoesNotExist_shouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/wallets/{walletId}/transactions", wallet.getId() + 1000))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void historyIndexes_whenSchemaIsCreated_shouldCoverWalletStatusAndCreationTime() {
+        //when - action or the behaviour that we are going to test
+        List<?> byStatus = indexColumns("IX_TRANSACTION_WALLET_STATUS_CREATED");
+        List<?> anyStatus = indexColumns("IX_TRANSACTION_WALLET_CREATED");
+
+        //then - verify the output
+        assertEquals(List.of("WALLET_ID", "STATUS", "CREATED_AT", "ID"), byStatus);
+        assertEquals(List.of("WALLET_ID", "CREATED_AT", "ID"), anyStatus);
+    }
+
+    private JsonNode getPage(String query) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/wallets/" + wallet.getId() + "/transactions" + query))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private List<?> indexColumns(String index) {
+        return entityManager.createNativeQuery("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                        "WHERE INDEX_NAME = :index ORDER BY ORDINAL_POSITION")
+                .setParameter("index", index)
+                .getResultList();
+    }
+}
@@ -0,0 +1,149 @@
+package com.khantech.gaming.tms.integration;
+
+import com.khantech.gaming.tms.dto.SettlementReportDto;
+import com.khantech.gaming.tms.dto.SettlementRequestDto;
+import com.khantech.gaming.tms.model.SettlementRun;
+import com.khantech.gaming.tms.model.SettlementRunStatus;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.SettlementRunRepository;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import com.khantech.gaming.tms.service.SettlementRunService;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+
+import static com.khantech.gaming.tms.util.Constants.TRANSACTION_BATCH_PROCESSOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TransactionSettlementITTest {
+    @Autowired
+    @Qualifier(TRANSACTION_BATCH_PROCESSOR)
+    private TransactionOperation<SettlementRequestDto, SettlementReportDto> transactionBatchProcessor;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SettlementRunRepository settlementRunRepository;
+
+    @Autowired
+    private SettlementRunService settlementRunService;
+
+    private Wallet wallet;
+
+    // Settlement claims wallets in their own transactions, so the test data has to be committed
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        wallet = new Wallet();
+        wallet.setBalance(500_000L);
+        wallet.setReservedAmount(350_000L);
+        wallet.setName("Test Wallet");
+        wallet = walletRepository.save(wallet);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        settlementRunRepository.deleteAll();
+        transactionRepository.deleteAll();
+        walletRepository.deleteAll();
+    }
+
+    @Test
+    void execute_whenWalletHasPendingTransactions_shouldApplyNetDeltaAndApproveThem() {
+        //given - precondition or setup
+        Transaction debit = saveTransaction(200_000L, TransactionType.DEBIT, TransactionStatus.PENDING);
+        Transaction credit = saveTransaction(120_000L, TransactionType.CREDIT, TransactionStatus.PENDING);
+        Transaction awaiting = saveTransaction(150_000L, TransactionType.DEBIT, TransactionStatus.AWAITING_APPROVAL);
+
+        //when - action or the behaviour that we are going to test
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
+
+        //then - verify the output
+        assertEquals(1, report.wallets());
+        assertEquals(2, report.transactions());
+        Wallet settledWallet = walletRepository.findById(wallet.getId()).orElseThrow();
+        assertEquals(420_000L, settledWallet.getBalance());
+        assertEquals(150_000L, settledWallet.getReservedAmount());
+        assertEquals(TransactionStatus.APPROVED, transactionRepository.findById(debit.getId()).orElseThrow().getStatus());
+        assertEquals(TransactionStatus.APPROVED, transactionRepository.findById(credit.getId()).orElseThrow().getStatus());
+        assertEquals(TransactionStatus.AWAITING_APPROVAL, transactionRepository.findById(awaiting.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void execute_whenUnboundedRunCompletes_shouldRecordItInTheRunLedger() {
+        //given - precondition or setup
+        saveTransaction(wallet, 200_000L, TransactionType.DEBIT, TransactionStatus.PENDING);
+        saveTransaction(wallet, 120_000L, TransactionType.CREDIT, TransactionStatus.PENDING);
+
+        //when - action or the behaviour that we are going to test
+        transactionBatchProcessor.execute(null);
+
+        //then - verify the output
+        SettlementRun run = settlementRunService.findRecentRuns(1).get(0);
+        assertEquals(SettlementRunStatus.COMPLETED, run.getStatus());
+        assertNotNull(run.getFinishedAt());
+        assertEquals(1, run.getCheckpoints().size());
+        assertEquals(1, run.getCheckpoints().get(0).getWallets());
+        assertEquals(2, run.getCheckpoints().get(0).getTransactions());
+        assertEquals(wallet.getId(), run.getCheckpoints().get(0).getLastWalletId());
+    }
+
+    @Test
+    void execute_whenPreviousRunFailed_shouldResumeItAfterItsLastCheckpoint() {
+        //given - precondition or setup
+        Transaction settledBeforeFailure = saveTransaction(wallet, 10_000L, TransactionType.CREDIT, TransactionStatus.PENDING);
+        Wallet nextWallet = new Wallet();
+        nextWallet.setBalance(100_000L);
+        nextWallet.setName("Next Wallet");
+        nextWallet = walletRepository.save(nextWallet);
+        Transaction afterCheckpoint = saveTransaction(nextWallet, 30_000L, TransactionType.CREDIT, TransactionStatus.PENDING);
+
+        SettlementRun failedRun = settlementRunService.startOrResume(1).orElseThrow();
+        settlementRunService.checkpoint(failedRun.getOwner(), failedRun.getCheckpoints().get(0).getId(),
+                wallet.getId(), settledBeforeFailure.getId(), 1, 1, 0);
+        settlementRunService.finish(failedRun.getId(), failedRun.getOwner(), SettlementRunStatus.FAILED, "Connection lost");
+
+        //when - action or the behaviour that we are going to test
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
+
+        //then - verify the output
+        assertEquals(1, report.transactions());
+        assertEquals(TransactionStatus.PENDING, transactionRepository.findById(settledBeforeFailure.getId()).orElseThrow().getStatus());
+        assertEquals(TransactionStatus.APPROVED, transactionRepository.findById(afterCheckpoint.getId()).orElseThrow().getStatus());
+        SettlementRun resumedRun = settlementRunService.findRun(failedRun.getId());
+        assertEquals(SettlementRunStatus.COMPLETED, resumedRun.getStatus());
+        assertEquals(2, resumedRun.getCheckpoints().get(0).getTransactions());
+        assertEquals(afterCheckpoint.getId(), resumedRun.getCheckpoints().get(0).getLastTransactionId());
+    }
+
+    private Transaction saveTransaction(long amount, TransactionType transactionType, TransactionStatus status) {
+        return saveTransaction(wallet, amount, transactionType, status);
+    }
+
+    private Transaction saveTransaction(Wallet wallet, long amount, TransactionType transactionType, TransactionStatus status) {
+        Transaction transaction = new Transaction();
+        transaction.setWallet(wallet);
+        transaction.setAmount(amount);
+        transaction.setTransactionType(transactionType);
+        transaction.setStatus(status);
+        return transactionRepository.save(transaction);
+    }
+}
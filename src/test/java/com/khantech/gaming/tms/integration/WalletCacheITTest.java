@@ -0,0 +1,109 @@
+package com.khantech.gaming.tms.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khantech.gaming.tms.dto.TransactionRequestDto;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.User;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.repository.UserRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional: the wallet cache is only evicted once the balance change is committed
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WalletCacheITTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        user = new User();
+        user.setName("Fuad");
+        user = userRepository.save(user);
+
+        wallet = new Wallet();
+        wallet.setUser(user);
+        wallet.setName("Cached Wallet");
+        wallet.setBalance(100_000L);
+        wallet = walletRepository.save(wallet);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionRepository.deleteAll();
+        walletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getWallets_whenPolledRepeatedly_shouldServeCachedListUntilBalanceChanges() throws Exception {
+        //given - precondition or setup
+        double hitsBefore = cacheHits();
+        TransactionRequestDto credit = new TransactionRequestDto();
+        credit.setWalletId(wallet.getId());
+        credit.setAmount(BigDecimal.valueOf(100));
+        credit.setTransactionType(TransactionType.CREDIT);
+
+        //when - action or the behaviour that we are going to test
+        mockMvc.perform(get("/api/v1/wallets/{userId}", user.getId()))
+                .andExpect(jsonPath("$.items[0].balance").value(1000));
+        mockMvc.perform(get("/api/v1/wallets/{userId}", user.getId()))
+                .andExpect(jsonPath("$.items[0].balance").value(1000));
+        mockMvc.perform(post("/api/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(credit)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.item.status").value("APPROVED"));
+
+        //then - verify the output
+        assertEquals(1.0, cacheHits() - hitsBefore);
+        mockMvc.perform(get("/api/v1/wallets/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].balance").value(1100));
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "wallets").tag("result", "hit").functionCounter().count();
+    }
+}
@@ -11,15 +11,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -72,6 +73,46 @@ class WalletControllerITTest {
                 .andExpect(jsonPath("$.item.balance").value(1000));
     }
 
+    @Test
+    void createWallet_whenNameDiffersOnlyInCase_shouldReturnBadRequest() throws Exception {
+        //given - precondition or setup
+        Wallet wallet = new Wallet();
+        wallet.setUser(testUser);
+        wallet.setName("Test Wallet");
+        wallet.setBalance(100_000L);
+        walletRepository.saveAndFlush(wallet);
+
+        WalletRequestDto walletRequestDto = new WalletRequestDto();
+        walletRequestDto.setUserId(testUser.getId());
+        walletRequestDto.setWalletName("TEST wallet");
+
+        //then - verify the output
+        mockMvc.perform(post("/api/v1/wallets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(walletRequestDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.info.errors[0].code").value("DUPLICATE_WALLET_NAME"));
+    }
+
+    @Test
+    void save_whenNameDiffersOnlyInCase_shouldBeRejectedByUniqueIndex() {
+        //given - precondition or setup
+        Wallet wallet = new Wallet();
+        wallet.setUser(testUser);
+        wallet.setName("Test Wallet");
+        wallet.setBalance(100_000L);
+        walletRepository.saveAndFlush(wallet);
+
+        Wallet duplicate = new Wallet();
+        duplicate.setUser(testUser);
+        duplicate.setName("test WALLET");
+        duplicate.setBalance(100_000L);
+
+        //when - action or the behaviour that we are going to test
+        //then - verify the output
+        assertThrows(DataIntegrityViolationException.class, () -> walletRepository.saveAndFlush(duplicate));
+    }
+
     @Test
     void createWallet_whenInvalidRequest_shouldReturnBadRequest() throws Exception {
         //given - precondition or setup
@@ -91,13 +132,13 @@ class WalletControllerITTest {
         Wallet wallet1 = new Wallet();
         wallet1.setUser(testUser);
         wallet1.setName("Wallet 1");
-        wallet1.setBalance(BigDecimal.valueOf(1000));
+        wallet1.setBalance(100_000L);
         walletRepository.save(wallet1);
 
         Wallet wallet2 = new Wallet();
         wallet2.setUser(testUser);
         wallet2.setName("Wallet 2");
-        wallet2.setBalance(BigDecimal.valueOf(2000));
+        wallet2.setBalance(200_000L);
         walletRepository.save(wallet2);
 
         //then - verify the output
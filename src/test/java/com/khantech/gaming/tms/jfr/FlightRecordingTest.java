@@ -0,0 +1,75 @@
+package com.khantech.gaming.tms.jfr;
+
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import com.khantech.gaming.tms.service.UserService;
+import com.khantech.gaming.tms.service.impl.WalletServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FlightRecordingTest {
+    private static final String WALLET_LOCK_ACQUIRED = "com.khantech.gaming.tms.WalletLockAcquired";
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private UserService userService;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void settings_whenMergedWithJdkConfiguration_shouldEnableApplicationEvents() throws Exception {
+        //when - action or the behaviour that we are going to test
+        Map<String, String> settings = FlightRecording.settings("profile");
+
+        //then - verify the output
+        assertEquals("true", settings.get(WALLET_LOCK_ACQUIRED + "#enabled"));
+        assertEquals("1 ms", settings.get(WALLET_LOCK_ACQUIRED + "#threshold"));
+        assertEquals("true", settings.get("com.khantech.gaming.tms.SettlementChunkCompleted#enabled"));
+        assertEquals("true", settings.get("jdk.ThreadPark#enabled"));
+    }
+
+    @Test
+    void findWalletByIdWithLock_whenRecording_shouldEmitWalletLockAcquiredEvent() throws Exception {
+        //given - precondition or setup
+        WalletServiceImpl walletService = new WalletServiceImpl(walletRepository, userService, new SimpleMeterRegistry(),
+                event -> { });
+        when(walletRepository.findByIdWithLock(7L)).thenReturn(new Wallet());
+        Path file = directory.resolve("wallet-lock.jfr");
+
+        //when - action or the behaviour that we are going to test
+        try (Recording recording = new Recording()) {
+            recording.enable(WalletLockAcquiredEvent.class).withoutThreshold();
+            recording.start();
+            walletService.findWalletByIdWithLock(7L);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //then - verify the output
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(WALLET_LOCK_ACQUIRED))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals(7L, events.get(0).getLong("walletId"));
+        assertTrue(events.get(0).getBoolean("found"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.khantech.gaming.tms.metrics;
+
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.khantech.gaming.tms.util.MetricNames.TAG_REASON;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_STATUS;
+import static com.khantech.gaming.tms.util.MetricNames.TAG_TYPE;
+import static com.khantech.gaming.tms.util.MetricNames.TRANSACTIONS_APPROVED;
+import static com.khantech.gaming.tms.util.MetricNames.TRANSACTIONS_REJECTED;
+import static com.khantech.gaming.tms.util.MetricNames.TRANSACTIONS_SUBMITTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TransactionMetricsTest {
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionMetrics transactionMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transactionMetrics = new TransactionMetrics(meterRegistry);
+    }
+
+    @Test
+    void created_whenTransactionIsRejected_shouldCountItByStatusAndReason() {
+        //given - precondition or setup
+        Transaction approved = transaction(TransactionType.CREDIT, TransactionStatus.APPROVED, null);
+        Transaction rejected = transaction(TransactionType.DEBIT, TransactionStatus.REJECTED, "InsufficientBalanceHandler");
+
+        //when - action or the behaviour that we are going to test
+        transactionMetrics.created(approved);
+        transactionMetrics.created(rejected);
+        transactionMetrics.created(rejected);
+
+        //then - verify the output
+        assertEquals(1.0, meterRegistry.get(TRANSACTIONS_SUBMITTED)
+                .tag(TAG_TYPE, "CREDIT").tag(TAG_STATUS, "APPROVED").counter().count());
+        assertEquals(2.0, meterRegistry.get(TRANSACTIONS_SUBMITTED)
+                .tag(TAG_TYPE, "DEBIT").tag(TAG_STATUS, "REJECTED").counter().count());
+        assertEquals(2.0, meterRegistry.get(TRANSACTIONS_REJECTED)
+                .tag(TAG_TYPE, "DEBIT").tag(TAG_REASON, "InsufficientBalanceHandler").counter().count());
+    }
+
+    @Test
+    void approved_whenTransactionIsApproved_shouldCountItByType() {
+        //given - precondition or setup
+        Transaction transaction = transaction(TransactionType.DEBIT, TransactionStatus.PENDING, null);
+
+        //when - action or the behaviour that we are going to test
+        transactionMetrics.approved(transaction);
+
+        //then - verify the output
+        assertEquals(1.0, meterRegistry.get(TRANSACTIONS_APPROVED).tag(TAG_TYPE, "DEBIT").counter().count());
+        assertEquals(0.0, meterRegistry.get(TRANSACTIONS_APPROVED).tag(TAG_TYPE, "CREDIT").counter().count());
+    }
+
+    private static Transaction transaction(TransactionType type, TransactionStatus status, String rejectionReason) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionType(type);
+        transaction.setStatus(status);
+        transaction.setRejectionReason(rejectionReason);
+        return transaction;
+    }
+}
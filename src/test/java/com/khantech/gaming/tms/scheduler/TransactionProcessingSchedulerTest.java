@@ -0,0 +1,111 @@
+package com.khantech.gaming.tms.scheduler;
+
+import com.khantech.gaming.tms.dto.SettlementReportDto;
+import com.khantech.gaming.tms.dto.SettlementRequestDto;
+import com.khantech.gaming.tms.service.TransactionOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionProcessingSchedulerTest {
+    @Mock
+    private TransactionOperation<SettlementRequestDto, SettlementReportDto> transactionBatchProcessor;
+
+    @Mock
+    private SettlementBacklogMonitor settlementBacklogMonitor;
+
+    private TransactionProcessingScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new TransactionProcessingScheduler(transactionBatchProcessor, settlementBacklogMonitor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scheduler, "microBatchMaxTransactions", 500);
+        ReflectionTestUtils.setField(scheduler, "baseDelay", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(scheduler, "minDelay", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(scheduler, "maxDelay", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(scheduler, "backlogThreshold", 5000L);
+        ReflectionTestUtils.setField(scheduler, "ageThreshold", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(scheduler, "currentDelay", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void runMicroBatch_shouldSettleBoundedBatchAndSampleBacklog() {
+        //given - precondition or setup
+        when(transactionBatchProcessor.execute(any())).thenReturn(new SettlementReportDto(Duration.ofMillis(10), List.of()));
+        when(settlementBacklogMonitor.sample()).thenReturn(new SettlementBacklogMonitor.Backlog(100, Duration.ofSeconds(30)));
+
+        //when - action or the behaviour that we are going to test
+        scheduler.runMicroBatch();
+
+        //then - verify the output
+        verify(transactionBatchProcessor, times(1)).execute(new SettlementRequestDto(500));
+        assertEquals(Duration.ofSeconds(5), scheduler.currentDelay());
+    }
+
+    @Test
+    void runMicroBatch_whenBacklogCrossesThreshold_shouldSpeedUp() {
+        //given - precondition or setup
+        when(settlementBacklogMonitor.sample()).thenReturn(new SettlementBacklogMonitor.Backlog(6000, Duration.ofSeconds(30)));
+
+        //when - action or the behaviour that we are going to test
+        scheduler.runMicroBatch();
+
+        //then - verify the output
+        assertEquals(Duration.ofMillis(500), scheduler.currentDelay());
+    }
+
+    @Test
+    void runMicroBatch_whenOldestPendingIsTooOld_shouldSpeedUp() {
+        //given - precondition or setup
+        when(settlementBacklogMonitor.sample()).thenReturn(new SettlementBacklogMonitor.Backlog(10, Duration.ofMinutes(6)));
+
+        //when - action or the behaviour that we are going to test
+        scheduler.runMicroBatch();
+
+        //then - verify the output
+        assertEquals(Duration.ofMillis(500), scheduler.currentDelay());
+    }
+
+    @Test
+    void runMicroBatch_whenIdle_shouldBackOffUpToMaxDelay() {
+        //given - precondition or setup
+        when(settlementBacklogMonitor.sample()).thenReturn(new SettlementBacklogMonitor.Backlog(0, Duration.ZERO));
+
+        //when - action or the behaviour that we are going to test
+        scheduler.runMicroBatch();
+        Duration firstDelay = scheduler.currentDelay();
+        for (int i = 0; i < 5; i++) {
+            scheduler.runMicroBatch();
+        }
+
+        //then - verify the output
+        assertEquals(Duration.ofSeconds(10), firstDelay);
+        assertEquals(Duration.ofSeconds(60), scheduler.currentDelay());
+    }
+
+    @Test
+    void runMicroBatch_whenSettlementFails_shouldStillSampleBacklog() {
+        //given - precondition or setup
+        when(transactionBatchProcessor.execute(any())).thenThrow(new RuntimeException("Error"));
+        when(settlementBacklogMonitor.sample()).thenReturn(new SettlementBacklogMonitor.Backlog(100, Duration.ZERO));
+
+        //when - action or the behaviour that we are going to test
+        scheduler.runMicroBatch();
+
+        //then - verify the output
+        verify(settlementBacklogMonitor, times(1)).sample();
+        assertEquals(Duration.ofSeconds(5), scheduler.currentDelay());
+    }
+}
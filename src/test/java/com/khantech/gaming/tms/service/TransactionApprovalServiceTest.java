@@ -1,5 +1,8 @@
 package com.khantech.gaming.tms.service;
 
+import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.khantech.gaming.tms.metrics.TransactionMetrics;
 import com.khantech.gaming.tms.exception.TransactionNotFoundException;
 import com.khantech.gaming.tms.model.Transaction;
 import com.khantech.gaming.tms.model.TransactionStatus;
@@ -26,6 +29,9 @@ public class TransactionApprovalServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Spy
+    private TransactionMetrics transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private TransactionApprovalService transactionApprovalService;
 
@@ -52,6 +58,7 @@ public class TransactionApprovalServiceTest {
         assertNotNull(result);
         assertEquals(TransactionStatus.PENDING, result.getStatus());
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionMetrics).approved(result);
     }
 
     @Test
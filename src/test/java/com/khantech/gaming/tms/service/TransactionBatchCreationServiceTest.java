@@ -0,0 +1,121 @@
+package com.khantech.gaming.tms.service;
+
+import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.khantech.gaming.tms.metrics.TransactionMetrics;
+import com.khantech.gaming.tms.dto.TransactionRequestDto;
+import com.khantech.gaming.tms.exception.WalletNotFoundException;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.service.impl.TransactionBatchCreationService;
+import com.khantech.gaming.tms.service.impl.TransactionCreationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class TransactionBatchCreationServiceTest {
+    @Mock
+    private WalletService walletService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionCreationService transactionCreationService;
+
+    @Spy
+    private TransactionMetrics transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private TransactionBatchCreationService transactionBatchCreationService;
+
+    private Wallet wallet1;
+    private Wallet wallet2;
+
+    @BeforeEach
+    void setUp() {
+        wallet1 = new Wallet();
+        wallet1.setId(1L);
+        wallet1.setBalance(100_000L);
+
+        wallet2 = new Wallet();
+        wallet2.setId(2L);
+        wallet2.setBalance(200_000L);
+    }
+
+    @Test
+    void execute_whenWalletsExist_shouldLockEachWalletOnceInAscendingOrder() {
+        //given - precondition or setup
+        List<TransactionRequestDto> requests = List.of(
+                request(2L, TransactionType.DEBIT), request(1L, TransactionType.CREDIT), request(2L, TransactionType.CREDIT));
+
+        when(walletService.findWalletByIdWithLock(1L)).thenReturn(wallet1);
+        when(walletService.findWalletByIdWithLock(2L)).thenReturn(wallet2);
+        when(transactionCreationService.applyToWallet(any(Wallet.class), any(TransactionRequestDto.class)))
+                .thenAnswer(invocation -> {
+                    Transaction transaction = new Transaction();
+                    transaction.setWallet(invocation.getArgument(0));
+                    transaction.setStatus(TransactionStatus.APPROVED);
+                    return transaction;
+                });
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when - action or the behaviour that we are going to test
+        List<Transaction> result = transactionBatchCreationService.execute(requests);
+
+        //then - verify the output
+        assertEquals(3, result.size());
+        assertEquals(2L, result.get(0).getWallet().getId());
+        assertEquals(1L, result.get(1).getWallet().getId());
+
+        InOrder lockOrder = inOrder(walletService);
+        lockOrder.verify(walletService).findWalletByIdWithLock(1L);
+        lockOrder.verify(walletService).findWalletByIdWithLock(2L);
+        verify(walletService, times(2)).findWalletByIdWithLock(any());
+        verify(transactionRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void execute_whenWalletIsNotFound_shouldThrowWalletNotFoundExceptionAndSaveNothing() {
+        //given - precondition or setup
+        List<TransactionRequestDto> requests = List.of(request(1L, TransactionType.DEBIT), request(3L, TransactionType.DEBIT));
+
+        when(walletService.findWalletByIdWithLock(1L)).thenReturn(wallet1);
+        when(walletService.findWalletByIdWithLock(3L)).thenReturn(null);
+
+        //when - action or the behaviour that we are going to test
+        WalletNotFoundException exception = assertThrows(WalletNotFoundException.class, () ->
+                transactionBatchCreationService.execute(requests));
+
+        //then - verify the output
+        assertEquals("Wallet with ID 3 not found", exception.getMessage());
+        verify(transactionCreationService, never()).applyToWallet(any(Wallet.class), any(TransactionRequestDto.class));
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    private TransactionRequestDto request(Long walletId, TransactionType transactionType) {
+        TransactionRequestDto request = new TransactionRequestDto();
+        request.setWalletId(walletId);
+        request.setAmount(BigDecimal.valueOf(100));
+        request.setTransactionType(transactionType);
+        return request;
+    }
+}
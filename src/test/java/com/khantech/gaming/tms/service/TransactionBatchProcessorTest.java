@@ -1,26 +1,47 @@
 package com.khantech.gaming.tms.service;
 
-import com.khantech.gaming.tms.model.Transaction;
+import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.khantech.gaming.tms.metrics.SettlementMetrics;
+import com.khantech.gaming.tms.dto.ChunkSettlementDto;
+import com.khantech.gaming.tms.dto.PendingTransactionDto;
+import com.khantech.gaming.tms.dto.SettlementClaimDto;
+import com.khantech.gaming.tms.dto.SettlementReportDto;
+import com.khantech.gaming.tms.dto.SettlementRequestDto;
+import com.khantech.gaming.tms.model.SettlementRun;
+import com.khantech.gaming.tms.model.SettlementRunCheckpoint;
+import com.khantech.gaming.tms.model.SettlementRunStatus;
 import com.khantech.gaming.tms.model.TransactionStatus;
 import com.khantech.gaming.tms.model.TransactionType;
-import com.khantech.gaming.tms.model.Wallet;
 import com.khantech.gaming.tms.repository.TransactionRepository;
 import com.khantech.gaming.tms.service.impl.TransactionBatchProcessor;
+import com.khantech.gaming.tms.service.impl.WalletSettlementClaimService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.math.BigDecimal;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -31,148 +52,322 @@ public class TransactionBatchProcessorTest {
     private TransactionRepository transactionRepository;
 
     @Mock
-    private WalletService walletService;
+    private TransactionOperation<List<PendingTransactionDto>, ChunkSettlementDto> walletSettlementService;
+
+    @Mock
+    private WalletSettlementClaimService walletSettlementClaimService;
+
+    @Mock
+    private SettlementRunService settlementRunService;
+
+    @Spy
+    private SettlementMetrics settlementMetrics = new SettlementMetrics(new SimpleMeterRegistry());
 
     @InjectMocks
     private TransactionBatchProcessor transactionBatchProcessor;
 
-    private Wallet wallet;
-    private Transaction transaction;
+    private PendingTransactionDto transaction1;
+    private PendingTransactionDto transaction2;
+    private PendingTransactionDto transaction3;
 
     @BeforeEach
     void setUp() {
-        wallet = new Wallet();
-        wallet.setId(1L);
-        wallet.setBalance(BigDecimal.valueOf(1000));
+        ReflectionTestUtils.setField(transactionBatchProcessor, "chunkSize", 2);
+        lenient().when(walletSettlementClaimService.claim(anyCollection()))
+                .thenAnswer(invocation -> new SettlementClaimDto("token", new HashSet<>(invocation.<Collection<Long>>getArgument(0))));
+        lenient().when(settlementRunService.startOrResume(anyInt()))
+                .thenAnswer(invocation -> Optional.of(settlementRun(invocation.getArgument(0), 0L, 0L)));
+        lenient().when(settlementRunService.checkpoint(anyString(), anyLong(), anyLong(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(true);
+        transaction1 = new PendingTransactionDto(1L, 1L, 20_000L, TransactionType.DEBIT);
+        transaction2 = new PendingTransactionDto(2L, 1L, 30_000L, TransactionType.CREDIT);
+        transaction3 = new PendingTransactionDto(3L, 2L, 50_000L, TransactionType.DEBIT);
+    }
+
+    @Test
+    void execute_whenPendingTransactionsSpanSeveralChunks_shouldSettleEachChunkAndAdvanceTheKeyset() {
+        //given - precondition or setup
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(0L), eq(0L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction1, transaction2));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(1L), eq(2L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction3));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(2L), eq(3L), any(), eq(Limit.of(2))))
+                .thenReturn(Collections.emptyList());
+        when(walletSettlementService.execute(List.of(transaction1, transaction2))).thenReturn(new ChunkSettlementDto(1, 2));
+        when(walletSettlementService.execute(List.of(transaction3))).thenReturn(new ChunkSettlementDto(1, 1));
+
+        //when - action or the behaviour that we are going to test
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
 
-        transaction = new Transaction();
-        transaction.setId(1L);
-        transaction.setAmount(BigDecimal.valueOf(200));
-        transaction.setTransactionType(TransactionType.DEBIT);
-        transaction.setWallet(wallet);
-        transaction.setStatus(TransactionStatus.PENDING);
+        //then - verify the output
+        assertEquals(2, report.wallets());
+        assertEquals(3, report.transactions());
+        assertEquals(0, report.failedChunks());
+        verify(walletSettlementService, times(1)).execute(List.of(transaction1, transaction2));
+        verify(walletSettlementService, times(1)).execute(List.of(transaction3));
+        verify(settlementMetrics, times(3)).recordPendingScan(anyLong());
+        verify(settlementMetrics).recordChunk(1, 2, 0);
+        verify(settlementMetrics).recordChunk(1, 1, 0);
+        verify(settlementMetrics).recordRun(report, false);
     }
 
     @Test
-    void execute_whenTransactionsAreProcessedSuccessfully_shouldProcessTransactions() {
+    void execute_whenNoPendingTransactions_shouldNotSettleAnything() {
         //given - precondition or setup
-        when(transactionRepository.findTransactionsWithWalletsByStatus(TransactionStatus.PENDING))
-                .thenReturn(Arrays.asList(transaction));
-        when(walletService.findWalletByIdWithLock(anyLong())).thenReturn(wallet);
+        when(transactionRepository.findPendingChunk(any(), anyInt(), anyInt(), any(), any(), any(), any())).thenReturn(Collections.emptyList());
 
         //when - action or the behaviour that we are going to test
         assertDoesNotThrow(() -> transactionBatchProcessor.execute(null));
 
         //then - verify the output
-        verify(walletService, times(1)).updateWalletBalance(any(Wallet.class), any(BigDecimal.class), any(TransactionType.class));
-        verify(walletService, times(1)).save(wallet);
-        verify(transactionRepository, times(1)).saveAll(anyList());
+        verify(walletSettlementService, never()).execute(anyList());
     }
 
     @Test
-    void execute_whenNoPendingTransactions_shouldNotProcessAnyTransactions() {
+    void execute_whenChunkFails_shouldLogErrorAndContinueWithNextChunk() {
         //given - precondition or setup
-        when(transactionRepository.findTransactionsWithWalletsByStatus(TransactionStatus.PENDING))
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(0L), eq(0L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction1, transaction2));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(1L), eq(2L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction3));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(2L), eq(3L), any(), eq(Limit.of(2))))
                 .thenReturn(Collections.emptyList());
+        when(walletSettlementService.execute(List.of(transaction1, transaction2))).thenThrow(new RuntimeException("Error"));
+        when(walletSettlementService.execute(List.of(transaction3))).thenReturn(new ChunkSettlementDto(1, 1));
 
         //when - action or the behaviour that we are going to test
-        assertDoesNotThrow(() -> transactionBatchProcessor.execute(null));
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
 
         //then - verify the output
-        verify(walletService, never()).updateWalletBalance(any(Wallet.class), any(BigDecimal.class), any(TransactionType.class));
-        verify(walletService, never()).save(wallet);
-        verify(transactionRepository, never()).saveAll(anyList());
+        assertEquals(1, report.failedChunks());
+        assertEquals(1, report.transactions());
+        verify(walletSettlementService, times(1)).execute(List.of(transaction3));
     }
 
     @Test
-    void execute_whenMultipleWalletsWithTransactions_shouldProcessAllTransactions() {
+    void execute_whenSeveralWorkersAreConfigured_shouldSettleEachWalletPartitionOnItsOwnWorker() {
         //given - precondition or setup
-        Wallet wallet2 = new Wallet();
-        wallet2.setId(2L);
-        wallet2.setBalance(new BigDecimal("2000"));
-
-        Transaction transaction2 = new Transaction();
-        transaction2.setId(2L);
-        transaction2.setAmount(new BigDecimal("300"));
-        transaction2.setTransactionType(TransactionType.CREDIT);
-        transaction2.setWallet(wallet);
-        transaction2.setStatus(TransactionStatus.PENDING);
-
-        Transaction transaction3 = new Transaction();
-        transaction3.setId(3L);
-        transaction3.setAmount(new BigDecimal("500"));
-        transaction3.setTransactionType(TransactionType.DEBIT);
-        transaction3.setWallet(wallet2);
-        transaction3.setStatus(TransactionStatus.PENDING);
-
-        List<Transaction> pendingTransactions = Arrays.asList(transaction, transaction2, transaction3);
-
-        when(transactionRepository.findTransactionsWithWalletsByStatus(TransactionStatus.PENDING))
-                .thenReturn(pendingTransactions);
-        when(walletService.findWalletByIdWithLock(1L)).thenReturn(wallet);
-        when(walletService.findWalletByIdWithLock(2L)).thenReturn(wallet2);
+        ReflectionTestUtils.setField(transactionBatchProcessor, "workers", 2);
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(1), eq(2), eq(0L), eq(0L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction1, transaction2));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(1), eq(2), eq(1L), eq(2L), any(), eq(Limit.of(2))))
+                .thenReturn(Collections.emptyList());
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(2), eq(0L), eq(0L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction3));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(2), eq(2L), eq(3L), any(), eq(Limit.of(2))))
+                .thenReturn(Collections.emptyList());
+        when(walletSettlementService.execute(List.of(transaction1, transaction2))).thenReturn(new ChunkSettlementDto(1, 2));
+        when(walletSettlementService.execute(List.of(transaction3))).thenReturn(new ChunkSettlementDto(1, 1));
+
+        //when - action or the behaviour that we are going to test
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
+
+        //then - verify the output
+        assertEquals(2, report.workers().size());
+        assertEquals(2, report.wallets());
+        assertEquals(3, report.transactions());
+        assertEquals(1, report.workers().get(0).transactions());
+        assertEquals(2, report.workers().get(1).transactions());
+    }
+
+    @Test
+    void execute_whenRequestIsBounded_shouldStopOnceTheBudgetIsRead() {
+        //given - precondition or setup
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(0L), eq(0L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction1, transaction2));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(1L), eq(2L), any(), eq(Limit.of(1))))
+                .thenReturn(List.of(transaction3));
+        when(walletSettlementService.execute(anyList())).thenReturn(new ChunkSettlementDto(1, 1));
+
+        //when - action or the behaviour that we are going to test
+        transactionBatchProcessor.execute(new SettlementRequestDto(3));
+
+        //then - verify the output
+        verify(transactionRepository, times(2)).findPendingChunk(any(), anyInt(), anyInt(), any(), any(), any(), any());
+        verify(walletSettlementService, times(2)).execute(anyList());
+    }
+
+    @Test
+    void execute_whenNextMicroBatchRuns_shouldContinueAfterThePreviousOne() {
+        //given - precondition or setup
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(0L), eq(0L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction1, transaction2));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(1L), eq(2L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction3));
+        when(walletSettlementService.execute(List.of(transaction1, transaction2))).thenReturn(new ChunkSettlementDto(1, 2));
+        when(walletSettlementService.execute(List.of(transaction3))).thenReturn(new ChunkSettlementDto(1, 1));
+        transactionBatchProcessor.execute(new SettlementRequestDto(2));
+
+        //when - action or the behaviour that we are going to test
+        SettlementReportDto report = transactionBatchProcessor.execute(new SettlementRequestDto(2));
+
+        //then - verify the output
+        assertEquals(1, report.wallets());
+        assertEquals(1, report.transactions());
+        verify(walletSettlementService, times(1)).execute(List.of(transaction1, transaction2));
+        verify(walletSettlementService, times(1)).execute(List.of(transaction3));
+    }
+
+    @Test
+    void execute_whenMicroBatchExhaustsTheScan_shouldStartTheNextOneFromTheFirstWallet() {
+        //given - precondition or setup
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(0L), eq(0L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction3));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(2L), eq(3L), any(), eq(Limit.of(1))))
+                .thenReturn(Collections.emptyList());
+        when(walletSettlementService.execute(List.of(transaction3))).thenReturn(new ChunkSettlementDto(1, 1));
+        transactionBatchProcessor.execute(new SettlementRequestDto(2));
+
+        //when - action or the behaviour that we are going to test
+        transactionBatchProcessor.execute(new SettlementRequestDto(2));
+
+        //then - verify the output
+        verify(transactionRepository, times(2)).findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(0L), eq(0L), any(), eq(Limit.of(2)));
+        verify(walletSettlementService, times(2)).execute(List.of(transaction3));
+    }
+
+    @Test
+    void execute_whenWalletIsClaimedByAnotherSettlement_shouldSkipItsTransactionsAndReleaseTheClaim() {
+        //given - precondition or setup
+        SettlementClaimDto claim = new SettlementClaimDto("token", Set.of(2L));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(0L), eq(0L), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(transaction1, transaction2, transaction3));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(2L), eq(3L), any(), eq(Limit.of(3))))
+                .thenReturn(Collections.emptyList());
+        when(walletSettlementClaimService.claim(anyCollection())).thenReturn(claim);
+        when(walletSettlementService.execute(List.of(transaction3))).thenReturn(new ChunkSettlementDto(1, 1));
+        ReflectionTestUtils.setField(transactionBatchProcessor, "chunkSize", 3);
+
+        //when - action or the behaviour that we are going to test
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
+
+        //then - verify the output
+        assertEquals(1, report.transactions());
+        verify(walletSettlementClaimService).claim(Set.of(1L, 2L));
+        verify(walletSettlementService, never()).execute(List.of(transaction1, transaction2, transaction3));
+        verify(walletSettlementClaimService).release(claim);
+    }
+
+    @Test
+    void execute_whenUnboundedRunSettlesChunks_shouldCheckpointEveryChunkAndCompleteTheRun() {
+        //given - precondition or setup
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(0L), eq(0L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction1, transaction2));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(1L), eq(2L), any(), eq(Limit.of(2))))
+                .thenReturn(Collections.emptyList());
+        when(walletSettlementService.execute(List.of(transaction1, transaction2))).thenReturn(new ChunkSettlementDto(1, 2));
 
         //when - action or the behaviour that we are going to test
         transactionBatchProcessor.execute(null);
 
         //then - verify the output
-        verify(walletService).updateWalletBalance(wallet, new BigDecimal("200"), TransactionType.DEBIT);
-        verify(walletService).updateWalletBalance(wallet, new BigDecimal("300"), TransactionType.CREDIT);
-        verify(walletService).updateWalletBalance(wallet2, new BigDecimal("500"), TransactionType.DEBIT);
+        verify(settlementRunService).checkpoint("owner", 10L, 1L, 2L, 1, 2, 0);
+        verify(settlementRunService).finish(1L, "owner", SettlementRunStatus.COMPLETED, null);
+    }
+
+    @Test
+    void execute_whenUnfinishedRunIsResumed_shouldContinueAfterItsCheckpoint() {
+        //given - precondition or setup
+        when(settlementRunService.startOrResume(1)).thenReturn(Optional.of(settlementRun(1, 1L, 2L)));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(1L), eq(2L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction3));
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(2L), eq(3L), any(), eq(Limit.of(2))))
+                .thenReturn(Collections.emptyList());
+        when(walletSettlementService.execute(List.of(transaction3))).thenReturn(new ChunkSettlementDto(1, 1));
+
+        //when - action or the behaviour that we are going to test
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
+
+        //then - verify the output
+        assertEquals(1, report.transactions());
+        verify(walletSettlementService, never()).execute(List.of(transaction1, transaction2));
+        verify(settlementRunService).checkpoint("owner", 10L, 2L, 3L, 1, 1, 0);
+    }
 
-        verify(walletService, times(1)).save(wallet);
-        verify(walletService, times(1)).save(wallet2);
+    @Test
+    void execute_whenRunStopsOnAnError_shouldMarkTheRunAsFailed() {
+        //given - precondition or setup
+        when(transactionRepository.findPendingChunk(any(), anyInt(), anyInt(), any(), any(), any(), any()))
+                .thenThrow(new RuntimeException("Connection lost"));
+
+        //when - action or the behaviour that we are going to test
+        assertThrows(RuntimeException.class, () -> transactionBatchProcessor.execute(null));
 
-        verify(transactionRepository).saveAll(anyList());
-        verify(walletService).save(wallet);
-        verify(walletService).save(wallet2);
+        //then - verify the output
+        verify(settlementRunService).finish(1L, "owner", SettlementRunStatus.FAILED, "Connection lost");
+        verify(settlementRunService, never()).finish(1L, "owner", SettlementRunStatus.COMPLETED, null);
     }
 
     @Test
-    void execute_whenWalletNotFound_shouldLogErrorAndSkipProcessing() {
+    void execute_whenRunIsHeldByAnotherSettlement_shouldSettleNothing() {
         //given - precondition or setup
-        when(transactionRepository.findTransactionsWithWalletsByStatus(TransactionStatus.PENDING))
-                .thenReturn(Arrays.asList(transaction));
-        when(walletService.findWalletByIdWithLock(anyLong())).thenReturn(null);
+        when(settlementRunService.startOrResume(1)).thenReturn(Optional.empty());
 
         //when - action or the behaviour that we are going to test
-        assertDoesNotThrow(() -> transactionBatchProcessor.execute(null));
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
 
         //then - verify the output
-        verify(walletService, never()).updateWalletBalance(any(Wallet.class), any(BigDecimal.class), any(TransactionType.class));
-        verify(walletService, never()).save(wallet);
-        verify(transactionRepository, never()).saveAll(anyList());
+        assertEquals(0, report.transactions());
+        verifyNoInteractions(transactionRepository, walletSettlementService);
+        verify(settlementRunService, never()).finish(any(), any(), any(), any());
     }
 
     @Test
-    void execute_whenExceptionOccursDuringProcessing_shouldLogErrorAndContinue() {
+    void execute_whenAnotherSettlementStartsARunAtTheSameTime_shouldSettleNothing() {
         //given - precondition or setup
-        when(transactionRepository.findTransactionsWithWalletsByStatus(TransactionStatus.PENDING))
-                .thenReturn(Arrays.asList(transaction));
+        when(settlementRunService.startOrResume(1)).thenThrow(new DataIntegrityViolationException("Unique index violation"));
 
-        when(walletService.findWalletByIdWithLock(anyLong())).thenThrow(new RuntimeException("Error"));
+        //when - action or the behaviour that we are going to test
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
+
+        //then - verify the output
+        assertEquals(0, report.transactions());
+        verifyNoInteractions(transactionRepository, walletSettlementService);
+    }
+
+    @Test
+    void execute_whenRunIsTakenOverBetweenChunks_shouldStopTheWorker() {
+        //given - precondition or setup
+        when(transactionRepository.findPendingChunk(eq(TransactionStatus.PENDING), eq(0), eq(1), eq(0L), eq(0L), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(transaction1, transaction2));
+        when(walletSettlementService.execute(List.of(transaction1, transaction2))).thenReturn(new ChunkSettlementDto(1, 2));
+        when(settlementRunService.checkpoint("owner", 10L, 1L, 2L, 1, 2, 0)).thenReturn(false);
 
         //when - action or the behaviour that we are going to test
-        assertDoesNotThrow(() -> transactionBatchProcessor.execute(null));
+        SettlementReportDto report = transactionBatchProcessor.execute(null);
 
         //then - verify the output
-        verify(walletService, times(1)).findWalletByIdWithLock(anyLong());
-        verify(walletService, never()).updateWalletBalance(any(Wallet.class), any(BigDecimal.class), any(TransactionType.class));
-        verify(walletService, never()).save(wallet);
-        verify(transactionRepository, never()).saveAll(anyList());
+        assertEquals(2, report.transactions());
+        verify(transactionRepository, times(1)).findPendingChunk(any(), anyInt(), anyInt(), any(), any(), any(), any());
     }
 
     @Test
-    void processSingleTransaction_shouldUpdateWalletBalanceAndApproveTransaction() {
+    void execute_whenRequestIsBounded_shouldNotRecordASettlementRun() {
         //given - precondition or setup
-        List<Transaction> approvedTransactions = mock(List.class);
+        when(transactionRepository.findPendingChunk(any(), anyInt(), anyInt(), any(), any(), any(), any())).thenReturn(Collections.emptyList());
 
         //when - action or the behaviour that we are going to test
-        transactionBatchProcessor.processSingleTransaction(transaction, wallet, approvedTransactions);
+        transactionBatchProcessor.execute(new SettlementRequestDto(10));
 
         //then - verify the output
-        verify(walletService, times(1)).updateWalletBalance(any(Wallet.class), eq(transaction.getAmount()), eq(TransactionType.DEBIT));
-        verify(approvedTransactions, times(1)).add(transaction);
-        verify(transactionRepository, never()).saveAll(anyList());
+        verify(settlementRunService, never()).startOrResume(anyInt());
+        verify(settlementRunService, never()).finish(any(), any(), any(), anyString());
+    }
+
+    private SettlementRun settlementRun(int workers, long lastWalletId, long lastTransactionId) {
+        SettlementRun run = new SettlementRun();
+        run.setId(1L);
+        run.setWorkers(workers);
+        run.setStatus(SettlementRunStatus.RUNNING);
+        run.setOwner("owner");
+        for (int worker = 0; worker < workers; worker++) {
+            SettlementRunCheckpoint checkpoint = new SettlementRunCheckpoint();
+            checkpoint.setId(10L + worker);
+            checkpoint.setWorker(worker);
+            checkpoint.setLastWalletId(lastWalletId);
+            checkpoint.setLastTransactionId(lastTransactionId);
+            run.addCheckpoint(checkpoint);
+        }
+        return run;
     }
 }
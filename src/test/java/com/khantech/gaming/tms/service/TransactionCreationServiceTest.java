@@ -1,11 +1,17 @@
 package com.khantech.gaming.tms.service;
 
+import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.khantech.gaming.tms.metrics.TransactionMetrics;
+import com.khantech.gaming.tms.config.WalletConcurrencyPolicy;
 import com.khantech.gaming.tms.dto.TransactionRequestDto;
+import com.khantech.gaming.tms.exception.IdempotencyKeyConflictException;
 import com.khantech.gaming.tms.exception.WalletNotFoundException;
 import com.khantech.gaming.tms.model.Transaction;
 import com.khantech.gaming.tms.model.TransactionStatus;
 import com.khantech.gaming.tms.model.TransactionType;
 import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.model.WalletConcurrencyMode;
 import com.khantech.gaming.tms.repository.TransactionRepository;
 import com.khantech.gaming.tms.service.impl.TransactionCreationService;
 import com.khantech.gaming.tms.validation.TransactionValidationHandler;
@@ -15,10 +21,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
+import static com.khantech.gaming.tms.util.Constants.CONDITIONAL_UPDATE_REJECTION_REASON;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -36,6 +47,15 @@ public class TransactionCreationServiceTest {
     @Mock
     private TransactionValidationHandler transactionValidationHandler;
 
+    @Mock
+    private WalletConcurrencyPolicy walletConcurrencyPolicy;
+
+    @Spy
+    private TransactionMetrics transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private TransactionCreationService transactionCreationService;
 
@@ -46,7 +66,7 @@ public class TransactionCreationServiceTest {
     void setUp() {
         wallet = new Wallet();
         wallet.setId(1L);
-        wallet.setBalance(BigDecimal.valueOf(1000));
+        wallet.setBalance(100_000L);
 
         transactionRequestDto = new TransactionRequestDto();
         transactionRequestDto.setWalletId(1L);
@@ -65,7 +85,7 @@ public class TransactionCreationServiceTest {
             return null;
         }).when(transactionValidationHandler).validate(any(Transaction.class));
 
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction transaction = invocation.getArgument(0);
             transaction.setId(1L);
             return transaction;
@@ -78,11 +98,12 @@ public class TransactionCreationServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getWallet().getId());
         assertEquals(TransactionStatus.APPROVED, result.getStatus());
-        assertEquals(BigDecimal.valueOf(100), result.getAmount());
+        assertEquals(10_000L, result.getAmount());
         assertEquals(TransactionType.DEBIT, result.getTransactionType());
 
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionRepository, times(1)).saveAndFlush(any(Transaction.class));
         verify(transactionValidationHandler, times(1)).validate(any(Transaction.class));
+        verify(transactionMetrics).created(result);
     }
 
     @Test
@@ -96,10 +117,83 @@ public class TransactionCreationServiceTest {
 
         //then - verify the output
         assertEquals("Wallet with ID 1 not found", exception.getMessage());
-        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository, never()).saveAndFlush(any(Transaction.class));
         verify(transactionValidationHandler, never()).validate(any(Transaction.class));
     }
 
+    @Test
+    void execute_whenIdempotencyKeyAlreadyExists_shouldReturnExistingTransaction() {
+        //given - precondition or setup
+        Transaction existingTransaction = storedTransaction(5L, "key-1");
+        transactionRequestDto.setIdempotencyKey("key-1");
+
+        when(walletService.findWalletByIdWithLock(anyLong())).thenReturn(wallet);
+        when(transactionRepository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(existingTransaction));
+
+        //when - action or the behaviour that we are going to test
+        Transaction result = transactionCreationService.execute(transactionRequestDto);
+
+        //then - verify the output
+        assertSame(existingTransaction, result);
+        verify(transactionValidationHandler, never()).validate(any(Transaction.class));
+        verify(walletService, never()).updateWalletBalance(any(Wallet.class), anyLong(), any(TransactionType.class));
+        verify(transactionRepository, never()).saveAndFlush(any(Transaction.class));
+    }
+
+    @Test
+    void execute_whenIdempotencyKeyExistsForDifferentAmount_shouldThrowIdempotencyKeyConflictException() {
+        //given - precondition or setup
+        Transaction existingTransaction = storedTransaction(5L, "key-1");
+        existingTransaction.setAmount(20_000L);
+        transactionRequestDto.setIdempotencyKey("key-1");
+
+        when(walletService.findWalletByIdWithLock(anyLong())).thenReturn(wallet);
+        when(transactionRepository.findByIdempotencyKey("key-1")).thenReturn(Optional.of(existingTransaction));
+
+        //when - action or the behaviour that we are going to test
+        IdempotencyKeyConflictException exception = assertThrows(IdempotencyKeyConflictException.class,
+                () -> transactionCreationService.execute(transactionRequestDto));
+
+        //then - verify the output
+        assertEquals("Idempotency key key-1 was already used for a different transaction", exception.getMessage());
+        verify(transactionRepository, never()).saveAndFlush(any(Transaction.class));
+    }
+
+    @Test
+    void execute_whenConcurrentRequestInsertsSameIdempotencyKey_shouldReturnStoredTransaction() {
+        //given - precondition or setup
+        Transaction storedTransaction = storedTransaction(5L, "key-1");
+        transactionRequestDto.setIdempotencyKey("key-1");
+
+        when(walletConcurrencyPolicy.modeFor(1L)).thenReturn(WalletConcurrencyMode.OPTIMISTIC);
+        when(walletService.findWalletById(anyLong())).thenReturn(wallet);
+        when(transactionRepository.findByIdempotencyKey("key-1"))
+                .thenReturn(Optional.empty(), Optional.of(storedTransaction));
+        when(transactionRepository.saveAndFlush(any(Transaction.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_transaction_idempotency_key"));
+
+        //when - action or the behaviour that we are going to test
+        Transaction result = transactionCreationService.execute(transactionRequestDto);
+
+        //then - verify the output
+        assertSame(storedTransaction, result);
+        verify(transactionRepository, times(2)).findByIdempotencyKey("key-1");
+    }
+
+    @Test
+    void execute_whenInsertFailsWithoutIdempotencyKey_shouldRethrowException() {
+        //given - precondition or setup
+        when(walletService.findWalletByIdWithLock(anyLong())).thenReturn(wallet);
+        when(transactionRepository.saveAndFlush(any(Transaction.class)))
+                .thenThrow(new DataIntegrityViolationException("constraint"));
+
+        //when - action or the behaviour that we are going to test
+        assertThrows(DataIntegrityViolationException.class, () -> transactionCreationService.execute(transactionRequestDto));
+
+        //then - verify the output
+        verify(transactionRepository, never()).findByIdempotencyKey(any());
+    }
+
     @Test
     void execute_whenTransactionIsApproved_shouldUpdateWalletBalance() {
         //given - precondition or setup
@@ -111,7 +205,7 @@ public class TransactionCreationServiceTest {
             return null;
         }).when(transactionValidationHandler).validate(any(Transaction.class));
 
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction transaction = invocation.getArgument(0);
             transaction.setId(1L);
             transaction.setStatus(TransactionStatus.APPROVED);
@@ -125,8 +219,8 @@ public class TransactionCreationServiceTest {
         assertNotNull(result);
         assertEquals(TransactionStatus.APPROVED, result.getStatus());
 
-        verify(walletService, times(1)).updateWalletBalance(wallet, BigDecimal.valueOf(100), TransactionType.DEBIT);
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(walletService, times(1)).updateWalletBalance(wallet, 10_000L, TransactionType.DEBIT);
+        verify(transactionRepository, times(1)).saveAndFlush(any(Transaction.class));
     }
 
     @Test
@@ -140,7 +234,7 @@ public class TransactionCreationServiceTest {
             return null;
         }).when(transactionValidationHandler).validate(any(Transaction.class));
 
-        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction transaction = invocation.getArgument(0);
             transaction.setId(1L);  // Simulate that the transaction is saved with an ID
             return transaction;
@@ -153,8 +247,118 @@ public class TransactionCreationServiceTest {
         assertNotNull(result);
         assertEquals(TransactionStatus.REJECTED, result.getStatus());
 
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionRepository, times(1)).saveAndFlush(any(Transaction.class));
+
+        verify(walletService, never()).updateWalletBalance(any(Wallet.class), anyLong(), any(TransactionType.class));
+    }
+
+    @Test
+    void execute_whenDebitIsAwaitingApproval_shouldReserveFunds() {
+        //given - precondition or setup
+        when(walletService.findWalletByIdWithLock(anyLong())).thenReturn(wallet);
+
+        doAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setStatus(TransactionStatus.AWAITING_APPROVAL);
+            return null;
+        }).when(transactionValidationHandler).validate(any(Transaction.class));
+
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when - action or the behaviour that we are going to test
+        Transaction result = transactionCreationService.execute(transactionRequestDto);
+
+        //then - verify the output
+        assertEquals(TransactionStatus.AWAITING_APPROVAL, result.getStatus());
+        verify(walletService, times(1)).reserveFunds(wallet, 10_000L);
+        verify(walletService, never()).updateWalletBalance(any(Wallet.class), anyLong(), any(TransactionType.class));
+    }
+
+    @Test
+    void execute_whenConditionalUpdateSucceeds_shouldDebitWithoutLock() {
+        //given - precondition or setup
+        when(walletConcurrencyPolicy.modeFor(1L)).thenReturn(WalletConcurrencyMode.CONDITIONAL_UPDATE);
+        when(walletService.findWalletById(anyLong())).thenReturn(wallet);
+        when(walletService.debitIfSufficient(1L, 10_000L)).thenReturn(true);
+
+        doAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setStatus(TransactionStatus.APPROVED);
+            return null;
+        }).when(transactionValidationHandler).validate(any(Transaction.class));
+
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when - action or the behaviour that we are going to test
+        Transaction result = transactionCreationService.execute(transactionRequestDto);
+
+        //then - verify the output
+        assertEquals(TransactionStatus.APPROVED, result.getStatus());
+        verify(walletService, never()).findWalletByIdWithLock(anyLong());
+        verify(walletService, never()).updateWalletBalance(any(Wallet.class), anyLong(), any(TransactionType.class));
+        verify(transactionRepository, times(1)).saveAndFlush(any(Transaction.class));
+    }
+
+    @Test
+    void execute_whenConditionalUpdateMatchesNoRow_shouldRejectTransaction() {
+        //given - precondition or setup
+        Wallet currentWallet = new Wallet();
+        currentWallet.setId(1L);
+        currentWallet.setBalance(5_000L);
+        currentWallet.setReservedAmount(2_000L);
+        when(walletConcurrencyPolicy.modeFor(1L)).thenReturn(WalletConcurrencyMode.CONDITIONAL_UPDATE);
+        when(walletService.findWalletById(anyLong())).thenReturn(wallet, currentWallet);
+        when(walletService.debitIfSufficient(1L, 10_000L)).thenReturn(false);
+
+        doAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setStatus(TransactionStatus.APPROVED);
+            return null;
+        }).when(transactionValidationHandler).validate(any(Transaction.class));
+
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when - action or the behaviour that we are going to test
+        Transaction result = transactionCreationService.execute(transactionRequestDto);
+
+        //then - verify the output
+        assertEquals(TransactionStatus.REJECTED, result.getStatus());
+        assertEquals(CONDITIONAL_UPDATE_REJECTION_REASON, result.getRejectionReason());
+        assertEquals("The wallet has insufficient funds. Current balance is 50.00, pending debit transactions total "
+                + "20.00, but the transaction amount is 100.00.", result.getMessage());
+        verify(transactionRepository, times(1)).saveAndFlush(any(Transaction.class));
+    }
+
+    @Test
+    void execute_whenOptimisticMode_shouldUpdateWalletWithoutLock() {
+        //given - precondition or setup
+        when(walletConcurrencyPolicy.modeFor(1L)).thenReturn(WalletConcurrencyMode.OPTIMISTIC);
+        when(walletService.findWalletById(anyLong())).thenReturn(wallet);
+
+        doAnswer(invocation -> {
+            Transaction transaction = invocation.getArgument(0);
+            transaction.setStatus(TransactionStatus.APPROVED);
+            return null;
+        }).when(transactionValidationHandler).validate(any(Transaction.class));
+
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        //when - action or the behaviour that we are going to test
+        Transaction result = transactionCreationService.execute(transactionRequestDto);
+
+        //then - verify the output
+        assertEquals(TransactionStatus.APPROVED, result.getStatus());
+        verify(walletService, never()).findWalletByIdWithLock(anyLong());
+        verify(walletService, times(1)).updateWalletBalance(wallet, 10_000L, TransactionType.DEBIT);
+    }
 
-        verify(walletService, never()).updateWalletBalance(any(Wallet.class), any(BigDecimal.class), any(TransactionType.class));
+    private Transaction storedTransaction(Long id, String idempotencyKey) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setIdempotencyKey(idempotencyKey);
+        transaction.setWallet(wallet);
+        transaction.setAmount(10_000L);
+        transaction.setTransactionType(TransactionType.DEBIT);
+        return transaction;
     }
 }
@@ -0,0 +1,182 @@
+package com.khantech.gaming.tms.service;
+
+import com.khantech.gaming.tms.dto.TransactionHistoryCursor;
+import com.khantech.gaming.tms.dto.TransactionHistoryPageDto;
+import com.khantech.gaming.tms.dto.TransactionHistoryQueryDto;
+import com.khantech.gaming.tms.exception.InvalidHistoryCursorException;
+import com.khantech.gaming.tms.exception.WalletNotFoundException;
+import com.khantech.gaming.tms.model.ArchivedTransaction;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.model.Wallet;
+import com.khantech.gaming.tms.repository.ArchivedTransactionRepository;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.repository.WalletRepository;
+import com.khantech.gaming.tms.service.impl.TransactionHistoryServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class TransactionHistoryServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 10, 1, 12, 0);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @InjectMocks
+    private TransactionHistoryServiceImpl transactionHistoryService;
+
+    @Test
+    void findHistory_whenMoreRowsThanPageSize_shouldReturnCursorOfLastRow() {
+        //given - precondition or setup
+        when(walletRepository.existsById(1L)).thenReturn(true);
+        when(transactionRepository.findHistoryPageByStatus(eq(1L), eq(TransactionStatus.APPROVED),
+                eq(EnumSet.of(TransactionType.DEBIT)), any(), any(), eq(Long.MIN_VALUE), eq(Limit.of(3))))
+                .thenReturn(List.of(transaction(30L, NOW), transaction(20L, NOW), transaction(10L, NOW.minusDays(1))));
+
+        //when - action or the behaviour that we are going to test
+        TransactionHistoryPageDto page = transactionHistoryService.findHistory(1L,
+                new TransactionHistoryQueryDto(TransactionStatus.APPROVED, TransactionType.DEBIT, null, null, null, 2));
+
+        //then - verify the output
+        assertEquals(2, page.transactions().size());
+        assertEquals(new TransactionHistoryCursor(NOW, 20L), TransactionHistoryCursor.decode(page.nextCursor()));
+        verify(transactionRepository, never()).findHistoryPage(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void findHistory_whenCursorIsGiven_shouldContinueAfterItOverEveryStatus() {
+        //given - precondition or setup
+        String cursor = new TransactionHistoryCursor(NOW, 20L).encode();
+        when(walletRepository.existsById(1L)).thenReturn(true);
+        when(transactionRepository.findHistoryPage(eq(1L), eq(EnumSet.allOf(TransactionType.class)), any(),
+                eq(NOW), eq(20L), eq(Limit.of(3))))
+                .thenReturn(List.of(transaction(10L, NOW.minusDays(1))));
+
+        //when - action or the behaviour that we are going to test
+        TransactionHistoryPageDto page = transactionHistoryService.findHistory(1L,
+                new TransactionHistoryQueryDto(null, null, null, null, cursor, 2));
+
+        //then - verify the output
+        assertEquals(1, page.transactions().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void findHistory_whenRowsAreArchived_shouldMergeBothTablesNewestFirst() {
+        //given - precondition or setup
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        when(walletRepository.existsById(1L)).thenReturn(true);
+        when(walletRepository.getReferenceById(1L)).thenReturn(wallet);
+        when(transactionRepository.findHistoryPage(eq(1L), any(), any(), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(transaction(40L, NOW), transaction(30L, NOW.minusDays(2))));
+        when(archivedTransactionRepository.findHistoryPage(eq(1L), any(), any(), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(archivedTransaction(20L, NOW.minusDays(1)), archivedTransaction(10L, NOW.minusDays(40))));
+
+        //when - action or the behaviour that we are going to test
+        TransactionHistoryPageDto page = transactionHistoryService.findHistory(1L,
+                new TransactionHistoryQueryDto(null, null, null, null, null, 2));
+
+        //then - verify the output
+        assertEquals(List.of(40L, 20L), page.transactions().stream().map(Transaction::getId).toList());
+        assertEquals(1L, page.transactions().get(1).getWallet().getId());
+        assertEquals(new TransactionHistoryCursor(NOW.minusDays(1), 20L), TransactionHistoryCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void findHistory_whenRowIsArchivedBetweenBothReads_shouldReturnItOnce() {
+        //given - precondition or setup
+        when(walletRepository.existsById(1L)).thenReturn(true);
+        when(transactionRepository.findHistoryPage(eq(1L), any(), any(), any(), any(), eq(Limit.of(4))))
+                .thenReturn(List.of(transaction(40L, NOW), transaction(30L, NOW.minusDays(1)), transaction(20L, NOW.minusDays(2))));
+        // Transaction 30 is archived after the live table was read
+        when(archivedTransactionRepository.findHistoryPage(eq(1L), any(), any(), any(), any(), eq(Limit.of(4))))
+                .thenReturn(List.of(archivedTransaction(30L, NOW.minusDays(1))));
+
+        //when - action or the behaviour that we are going to test
+        TransactionHistoryPageDto page = transactionHistoryService.findHistory(1L,
+                new TransactionHistoryQueryDto(null, null, null, null, null, 3));
+
+        //then - verify the output
+        assertEquals(List.of(40L, 30L, 20L), page.transactions().stream().map(Transaction::getId).toList());
+        assertNull(page.nextCursor());
+        InOrder reads = inOrder(transactionRepository, archivedTransactionRepository);
+        reads.verify(transactionRepository).findHistoryPage(eq(1L), any(), any(), any(), any(), any());
+        reads.verify(archivedTransactionRepository).findHistoryPage(eq(1L), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void findHistory_whenStatusIsNeverArchived_shouldNotReadHistoryTable() {
+        //given - precondition or setup
+        when(walletRepository.existsById(1L)).thenReturn(true);
+
+        //when - action or the behaviour that we are going to test
+        transactionHistoryService.findHistory(1L,
+                new TransactionHistoryQueryDto(TransactionStatus.PENDING, null, null, null, null, 2));
+
+        //then - verify the output
+        verifyNoInteractions(archivedTransactionRepository);
+    }
+
+    @Test
+    void findHistory_whenCursorIsInvalid_shouldThrowInvalidHistoryCursorException() {
+        //given - precondition or setup
+        when(walletRepository.existsById(1L)).thenReturn(true);
+        TransactionHistoryQueryDto query = new TransactionHistoryQueryDto(null, null, null, null, "not-a-cursor", 2);
+
+        //when - action or the behaviour that we are going to test
+        //then - verify the output
+        assertThrows(InvalidHistoryCursorException.class, () -> transactionHistoryService.findHistory(1L, query));
+    }
+
+    @Test
+    void findHistory_whenWalletDoesNotExist_shouldThrowWalletNotFoundException() {
+        //given - precondition or setup
+        when(walletRepository.existsById(99L)).thenReturn(false);
+        TransactionHistoryQueryDto query = new TransactionHistoryQueryDto(null, null, null, null, null, 2);
+
+        //when - action or the behaviour that we are going to test
+        //then - verify the output
+        assertThrows(WalletNotFoundException.class, () -> transactionHistoryService.findHistory(99L, query));
+    }
+
+    private static Transaction transaction(Long id, LocalDateTime createdAt) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setCreatedAt(createdAt);
+        return transaction;
+    }
+
+    private static ArchivedTransaction archivedTransaction(Long id, LocalDateTime createdAt) {
+        ArchivedTransaction transaction = new ArchivedTransaction();
+        transaction.setId(id);
+        transaction.setWalletId(1L);
+        transaction.setStatus(TransactionStatus.APPROVED);
+        transaction.setCreatedAt(createdAt);
+        return transaction;
+    }
+}
@@ -1,5 +1,6 @@
 package com.khantech.gaming.tms.service;
 
+import com.khantech.gaming.tms.event.WalletChangedEvent;
 import com.khantech.gaming.tms.exception.DuplicateWalletException;
 import com.khantech.gaming.tms.model.TransactionType;
 import com.khantech.gaming.tms.model.User;
@@ -7,15 +8,19 @@ import com.khantech.gaming.tms.model.Wallet;
 import com.khantech.gaming.tms.repository.WalletRepository;
 import com.khantech.gaming.tms.service.impl.WalletServiceImpl;
 import com.khantech.gaming.tms.util.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,6 +38,12 @@ public class WalletServiceImplTest {
     @Mock
     private UserService userService;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private WalletServiceImpl walletService;
 
@@ -49,7 +60,7 @@ public class WalletServiceImplTest {
     void createWallet_whenWalletIsUnique_shouldCreateWalletSuccessfully() {
         //given - precondition or setup
         when(userService.fetchUserById(anyLong())).thenReturn(user);
-        when(walletRepository.save(any(Wallet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(walletRepository.saveAndFlush(any(Wallet.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         //when - action or the behaviour that we are going to test
         Wallet result = walletService.createWallet(1L, "New Wallet");
@@ -57,26 +68,40 @@ public class WalletServiceImplTest {
         //then - verify the output
         assertNotNull(result);
         assertEquals("New Wallet", result.getName());
-        assertEquals(BigDecimal.valueOf(1000), result.getBalance());
-        verify(walletRepository, times(1)).save(any(Wallet.class));
+        assertEquals(100_000L, result.getBalance());
+        verify(walletRepository).existsByUserIdAndNormalizedName(1L, "new wallet");
+        verify(walletRepository, times(1)).saveAndFlush(any(Wallet.class));
     }
 
     @Test
     void createWallet_whenWalletNameIsDuplicate_shouldThrowDuplicateWalletException() {
         //given - precondition or setup
-        Wallet existingWallet = new Wallet();
-        existingWallet.setName("Existing Wallet");
-        user.getWallets().add(existingWallet);
+        when(userService.fetchUserById(anyLong())).thenReturn(user);
+        when(walletRepository.existsByUserIdAndNormalizedName(1L, "existing wallet")).thenReturn(true);
+
+        //when - action or the behaviour that we are going to test
+        DuplicateWalletException exception = assertThrows(DuplicateWalletException.class, () ->
+                walletService.createWallet(1L, "Existing WALLET"));
+
+        //then - verify the output
+        assertEquals(BusinessException.DuplicateWalletException, exception.getBusinessError());
+        verify(walletRepository, never()).saveAndFlush(any(Wallet.class));
+    }
 
+    @Test
+    void createWallet_whenDuplicateIsCreatedConcurrently_shouldThrowDuplicateWalletException() {
+        //given - precondition or setup
         when(userService.fetchUserById(anyLong())).thenReturn(user);
+        when(walletRepository.saveAndFlush(any(Wallet.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_wallet_user_normalized_name"));
 
         //when - action or the behaviour that we are going to test
         DuplicateWalletException exception = assertThrows(DuplicateWalletException.class, () ->
-                walletService.createWallet(1L, "Existing Wallet"));
+                walletService.createWallet(1L, "New Wallet"));
 
         //then - verify the output
         assertEquals(BusinessException.DuplicateWalletException, exception.getBusinessError());
-        verify(walletRepository, never()).save(any(Wallet.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -132,13 +157,13 @@ public class WalletServiceImplTest {
         //given - precondition or setup
         Wallet wallet = new Wallet();
         wallet.setId(1L);
-        wallet.setBalance(BigDecimal.valueOf(5000));
+        wallet.setBalance(500_000L);
 
         //when - action or the behaviour that we are going to test
-        walletService.updateWalletBalance(wallet, BigDecimal.valueOf(2000), TransactionType.DEBIT);
+        walletService.updateWalletBalance(wallet, 200_000L, TransactionType.DEBIT);
 
         //then - verify the output
-        assertEquals(BigDecimal.valueOf(3000), wallet.getBalance());
+        assertEquals(300_000L, wallet.getBalance());
         verify(walletRepository, times(1)).save(wallet);
     }
 
@@ -147,13 +172,60 @@ public class WalletServiceImplTest {
         //given - precondition or setup
         Wallet wallet = new Wallet();
         wallet.setId(1L);
-        wallet.setBalance(BigDecimal.valueOf(5000));
+        wallet.setBalance(500_000L);
+
+        wallet.setUser(user);
 
         //when - action or the behaviour that we are going to test
-        walletService.updateWalletBalance(wallet, BigDecimal.valueOf(2000), TransactionType.CREDIT);
+        walletService.updateWalletBalance(wallet, 200_000L, TransactionType.CREDIT);
 
         //then - verify the output
-        assertEquals(BigDecimal.valueOf(7000), wallet.getBalance());
+        assertEquals(700_000L, wallet.getBalance());
         verify(walletRepository, times(1)).save(wallet);
+        verify(eventPublisher, times(1)).publishEvent(new WalletChangedEvent(1L, 1L));
+    }
+
+    @Test
+    void reserveFunds_shouldIncreaseReservedAmount() {
+        //given - precondition or setup
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        wallet.setBalance(500_000L);
+
+        //when - action or the behaviour that we are going to test
+        walletService.reserveFunds(wallet, 150_000L);
+
+        //then - verify the output
+        assertEquals(150_000L, wallet.getReservedAmount());
+        assertEquals(500_000L, wallet.getBalance());
+        verify(walletRepository, times(1)).save(wallet);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void applySettlement_whenWalletExists_shouldReturnTrue() {
+        //given - precondition or setup
+        when(walletRepository.applySettlement(1L, -70_000L, 100_000L)).thenReturn(1);
+
+        //when - action or the behaviour that we are going to test
+        boolean applied = walletService.applySettlement(1L, -70_000L, 100_000L);
+
+        //then - verify the output
+        assertTrue(applied);
+        verify(walletRepository, never()).save(any(Wallet.class));
+        verify(eventPublisher, times(1)).publishEvent(new WalletChangedEvent(null, 1L));
+    }
+
+    @Test
+    void applySettlement_whenWalletDoesNotExist_shouldReturnFalse() {
+        //given - precondition or setup
+        when(walletRepository.applySettlement(anyLong(), anyLong(), anyLong())).thenReturn(0);
+
+        //when - action or the behaviour that we are going to test
+        boolean applied = walletService.applySettlement(99L, 1_000L, 0L);
+
+        //then - verify the output
+        assertFalse(applied);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 }
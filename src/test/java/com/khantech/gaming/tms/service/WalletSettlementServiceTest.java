@@ -0,0 +1,115 @@
+package com.khantech.gaming.tms.service;
+
+import com.khantech.gaming.tms.dto.ChunkSettlementDto;
+import com.khantech.gaming.tms.dto.PendingTransactionDto;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import com.khantech.gaming.tms.model.TransactionType;
+import com.khantech.gaming.tms.repository.TransactionRepository;
+import com.khantech.gaming.tms.service.impl.WalletSettlementService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class WalletSettlementServiceTest {
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private WalletService walletService;
+
+    @InjectMocks
+    private WalletSettlementService walletSettlementService;
+
+    @Test
+    void execute_whenChunkHasSeveralWallets_shouldApplyOneNetDeltaPerWalletInOrder() {
+        //given - precondition or setup
+        List<PendingTransactionDto> chunk = List.of(
+                new PendingTransactionDto(1L, 1L, 20_000L, TransactionType.DEBIT),
+                new PendingTransactionDto(2L, 1L, 30_000L, TransactionType.CREDIT),
+                new PendingTransactionDto(4L, 1L, 5000L, TransactionType.DEBIT),
+                new PendingTransactionDto(3L, 2L, 50_000L, TransactionType.DEBIT));
+        when(transactionRepository.findSettlementViewsByIdInAndStatus(List.of(1L, 2L, 4L, 3L), TransactionStatus.PENDING))
+                .thenReturn(chunk);
+        when(walletService.applySettlement(anyLong(), anyLong(), anyLong())).thenReturn(true);
+
+        //when - action or the behaviour that we are going to test
+        ChunkSettlementDto settlement = walletSettlementService.execute(chunk);
+
+        //then - verify the output
+        assertEquals(2, settlement.wallets());
+        assertEquals(4, settlement.transactions());
+        InOrder inOrder = inOrder(walletService);
+        inOrder.verify(walletService).applySettlement(1L, 5000L, 25_000L);
+        inOrder.verify(walletService).applySettlement(2L, -50_000L, 50_000L);
+        verify(walletService, never()).updateWalletBalance(any(), anyLong(), any());
+        verify(transactionRepository, times(1))
+                .updateStatusByIdIn(List.of(1L, 2L, 4L, 3L), TransactionStatus.PENDING, TransactionStatus.APPROVED);
+    }
+
+    @Test
+    void execute_whenWalletNotFound_shouldLeaveItsTransactionsPending() {
+        //given - precondition or setup
+        List<PendingTransactionDto> chunk = List.of(
+                new PendingTransactionDto(1L, 1L, 20_000L, TransactionType.DEBIT),
+                new PendingTransactionDto(2L, 2L, 30_000L, TransactionType.CREDIT));
+        when(transactionRepository.findSettlementViewsByIdInAndStatus(anyList(), eq(TransactionStatus.PENDING))).thenReturn(chunk);
+        when(walletService.applySettlement(eq(1L), anyLong(), anyLong())).thenReturn(false);
+        when(walletService.applySettlement(eq(2L), anyLong(), anyLong())).thenReturn(true);
+
+        //when - action or the behaviour that we are going to test
+        ChunkSettlementDto settlement = walletSettlementService.execute(chunk);
+
+        //then - verify the output
+        assertEquals(1, settlement.wallets());
+        assertEquals(1, settlement.transactions());
+        verify(transactionRepository, times(1))
+                .updateStatusByIdIn(List.of(2L), TransactionStatus.PENDING, TransactionStatus.APPROVED);
+    }
+
+    @Test
+    void execute_whenNoWalletIsUpdated_shouldNotUpdateTransactionStatus() {
+        //given - precondition or setup
+        List<PendingTransactionDto> chunk = List.of(
+                new PendingTransactionDto(1L, 1L, 20_000L, TransactionType.DEBIT));
+        when(transactionRepository.findSettlementViewsByIdInAndStatus(anyList(), eq(TransactionStatus.PENDING))).thenReturn(chunk);
+        when(walletService.applySettlement(anyLong(), anyLong(), anyLong())).thenReturn(false);
+
+        //when - action or the behaviour that we are going to test
+        ChunkSettlementDto settlement = walletSettlementService.execute(chunk);
+
+        //then - verify the output
+        assertEquals(0, settlement.transactions());
+        verify(transactionRepository, never()).updateStatusByIdIn(anyList(), any(), any());
+    }
+
+    @Test
+    void execute_whenRowsWereSettledSinceTheChunkWasRead_shouldOnlyApplyTheRowsStillPending() {
+        //given - precondition or setup
+        PendingTransactionDto settledElsewhere = new PendingTransactionDto(1L, 1L, 20_000L, TransactionType.DEBIT);
+        PendingTransactionDto stillPending = new PendingTransactionDto(2L, 1L, 30_000L, TransactionType.CREDIT);
+        when(transactionRepository.findSettlementViewsByIdInAndStatus(List.of(1L, 2L), TransactionStatus.PENDING))
+                .thenReturn(List.of(stillPending));
+        when(walletService.applySettlement(anyLong(), anyLong(), anyLong())).thenReturn(true);
+
+        //when - action or the behaviour that we are going to test
+        ChunkSettlementDto settlement = walletSettlementService.execute(List.of(settledElsewhere, stillPending));
+
+        //then - verify the output
+        assertEquals(1, settlement.transactions());
+        verify(walletService).applySettlement(1L, 30_000L, 0L);
+        verify(transactionRepository).updateStatusByIdIn(List.of(2L), TransactionStatus.PENDING, TransactionStatus.APPROVED);
+    }
+}
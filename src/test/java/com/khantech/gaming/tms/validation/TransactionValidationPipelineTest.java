@@ -0,0 +1,162 @@
+package com.khantech.gaming.tms.validation;
+
+import com.khantech.gaming.tms.config.InstrumentationSettings;
+import com.khantech.gaming.tms.model.Transaction;
+import com.khantech.gaming.tms.model.TransactionStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.khantech.gaming.tms.util.MetricNames.TAG_RULE;
+import static com.khantech.gaming.tms.util.MetricNames.VALIDATION_RULE_DURATION;
+import static com.khantech.gaming.tms.util.MetricNames.VALIDATION_RULE_REJECTIONS;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionValidationPipelineTest {
+    private MeterRegistry meterRegistry;
+    private InstrumentationSettings instrumentationSettings;
+    private List<String> invoked;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        instrumentationSettings = new InstrumentationSettings(Set.of(), 0);
+        invoked = new ArrayList<>();
+        transaction = new Transaction();
+        transaction.setAmount(1_000L);
+        transaction.setStatus(TransactionStatus.PENDING);
+    }
+
+    @Test
+    void ruleOrder_whenApplicationRulesAreRegistered_shouldRunPureChecksBeforeBalanceAndThresholdLast() {
+        //given - precondition or setup
+        List<TransactionValidationRule> rules = List.of(
+                new ThresholdHandler(), new InsufficientBalanceHandler(), new ZeroAmountHandler(), new NegativeAmountHandler());
+
+        //when - action or the behaviour that we are going to test
+        TransactionValidationPipeline pipeline = new TransactionValidationPipeline(rules, meterRegistry, instrumentationSettings);
+
+        //then - verify the output
+        assertEquals(List.of("NegativeAmountHandler", "ZeroAmountHandler", "InsufficientBalanceHandler", "ThresholdHandler"),
+                pipeline.ruleOrder());
+    }
+
+    @Test
+    void validate_whenRuleRejects_shouldSkipRemainingRulesAndCountRejection() {
+        //given - precondition or setup
+        TransactionValidationPipeline pipeline = new TransactionValidationPipeline(List.of(
+                new TestRule("dbRule", ValidationCost.DB, false),
+                new TestRule("rejectingRule", ValidationCost.IN_MEMORY, true),
+                new TestRule("pureRule", ValidationCost.PURE, false)
+        ), meterRegistry, instrumentationSettings);
+
+        //when - action or the behaviour that we are going to test
+        pipeline.validate(transaction);
+
+        //then - verify the output
+        assertEquals(TransactionStatus.REJECTED, transaction.getStatus());
+        assertEquals(List.of("pureRule", "rejectingRule"), invoked);
+        assertEquals(1.0, meterRegistry.get(VALIDATION_RULE_REJECTIONS).tag(TAG_RULE, "rejectingRule").counter().count());
+        assertEquals(0.0, meterRegistry.get(VALIDATION_RULE_REJECTIONS).tag(TAG_RULE, "pureRule").counter().count());
+        assertEquals(0L, meterRegistry.get(VALIDATION_RULE_DURATION).tag(TAG_RULE, "dbRule").timer().count());
+    }
+
+    @Test
+    void validate_whenRuleTimingIsDisabled_shouldRunRuleWithoutTimingIt() {
+        //given - precondition or setup
+        TransactionValidationPipeline pipeline = new TransactionValidationPipeline(List.of(
+                new TestRule("timedRule", ValidationCost.PURE, false),
+                new TestRule("untimedRule", ValidationCost.IN_MEMORY, false)
+        ), meterRegistry, instrumentationSettings);
+        instrumentationSettings.setEnabled("untimedRule", false);
+
+        //when - action or the behaviour that we are going to test
+        pipeline.validate(transaction);
+
+        //then - verify the output
+        assertEquals(List.of("timedRule", "untimedRule"), invoked);
+        assertEquals(1L, meterRegistry.get(VALIDATION_RULE_DURATION).tag(TAG_RULE, "timedRule").timer().count());
+        assertEquals(0L, meterRegistry.get(VALIDATION_RULE_DURATION).tag(TAG_RULE, "untimedRule").timer().count());
+    }
+
+    @Test
+    void constructor_whenRulesDependOnEachOther_shouldThrowIllegalStateException() {
+        //given - precondition or setup
+        List<TransactionValidationRule> rules = List.of(new FirstCyclicRule(), new SecondCyclicRule());
+
+        //when - action or the behaviour that we are going to test
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new TransactionValidationPipeline(rules, meterRegistry, instrumentationSettings));
+
+        //then - verify the output
+        assertTrue(exception.getMessage().contains("cyclic"));
+    }
+
+    private class TestRule implements TransactionValidationRule {
+        private final String name;
+        private final ValidationCost cost;
+        private final boolean rejects;
+
+        TestRule(String name, ValidationCost cost, boolean rejects) {
+            this.name = name;
+            this.cost = cost;
+            this.rejects = rejects;
+        }
+
+        @Override
+        public ValidationCost cost() {
+            return cost;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void validate(Transaction transaction) {
+            invoked.add(name);
+            if (rejects) {
+                transaction.setStatus(TransactionStatus.REJECTED);
+            }
+        }
+    }
+
+    private static class FirstCyclicRule implements TransactionValidationRule {
+        @Override
+        public ValidationCost cost() {
+            return ValidationCost.PURE;
+        }
+
+        @Override
+        public Set<Class<? extends TransactionValidationRule>> dependsOn() {
+            return Set.of(SecondCyclicRule.class);
+        }
+
+        @Override
+        public void validate(Transaction transaction) {
+        }
+    }
+
+    private static class SecondCyclicRule implements TransactionValidationRule {
+        @Override
+        public ValidationCost cost() {
+            return ValidationCost.PURE;
+        }
+
+        @Override
+        public Set<Class<? extends TransactionValidationRule>> dependsOn() {
+            return Set.of(FirstCyclicRule.class);
+        }
+
+        @Override
+        public void validate(Transaction transaction) {
+        }
+    }
+}
@@ -1,4 +1,4 @@
-INSERT INTO users (name) VALUES ('Alice Brown');
+INSERT INTO users (id, name) VALUES (1, 'Alice Brown');
 
-INSERT INTO wallet (user_id, name, balance) VALUES (1, 'Wallet-1', 2000.00);
-INSERT INTO wallet (user_id, name, balance) VALUES (1, 'Wallet-2', 2500.00);
\ No newline at end of file
+INSERT INTO wallet (id, user_id, name, normalized_name, balance_minor) VALUES (1, 1, 'Wallet-1', 'wallet-1', 200000);
+INSERT INTO wallet (id, user_id, name, normalized_name, balance_minor) VALUES (2, 1, 'Wallet-2', 'wallet-2', 250000);
\ No newline at end of file